@@ -0,0 +1,34 @@
+package com.magadiflo.crud.api.app.jmh;
+
+import com.magadiflo.crud.api.app.SpringBootUnitTestingCrudRestApiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Levanta el contexto completo de la aplicación (sin servidor web) contra una base de datos H2
+ * embebida en modo MySQL, para que los benchmarks JMH no dependan de un MySQL externo.
+ */
+final class EmbeddedEmployeeApplication {
+
+    private EmbeddedEmployeeApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:jmh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        arguments.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(SpringBootUnitTestingCrudRestApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(String[]::new));
+    }
+}
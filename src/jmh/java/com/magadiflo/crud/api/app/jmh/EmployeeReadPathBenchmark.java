@@ -0,0 +1,119 @@
+package com.magadiflo.crud.api.app.jmh;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BENCHMARK JMH - LECTURA CON ENTIDADES VS PROYECCIONES
+ * *****************************************************
+ * Compara, dentro de la misma transacción readOnly que usa el servicio, cargar entidades Employee
+ * gestionadas con IEmployeeRepository (entity*) con mapear las filas a EmployeeView con
+ * EmployeeJdbcRepository (view*), para la lectura por id, una página de 100 filas y el listado
+ * completo. Sin caché, para medir solo la consulta y la hidratación.
+ * <br>
+ * Ejecutar con: mvn verify -Pjmh -DskipTests -Djmh.includes=EmployeeReadPathBenchmark -Djmh.args="-prof gc"
+ * (el perfilador gc añade gc.alloc.rate.norm, los bytes asignados por operación).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeReadPathBenchmark {
+
+    private static final int SEEDED_ROWS = 10_000;
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private IEmployeeRepository employeeRepository;
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private TransactionTemplate readOnly;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = EmbeddedEmployeeApplication.start("--spring.cache.type=none");
+        this.employeeRepository = this.context.getBean(IEmployeeRepository.class);
+        this.employeeJdbcRepository = this.context.getBean(EmployeeJdbcRepository.class);
+        this.readOnly = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.readOnly.setReadOnly(true);
+
+        List<Employee> employees = new ArrayList<>(SEEDED_ROWS);
+        for (int i = 0; i < SEEDED_ROWS; i++) {
+            employees.add(Employee.builder().firstName("Nombre" + i).lastName("Apellido" + i).email("seed" + i + "@gmail.com").build());
+        }
+        this.ids = this.employeeRepository.saveAll(employees).stream().map(Employee::getId).sorted().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> entityById() {
+        Long id = this.randomId();
+        return this.readOnly.execute(status -> this.employeeRepository.findById(id));
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> viewById() {
+        Long id = this.randomId();
+        return this.readOnly.execute(status -> this.employeeJdbcRepository.findViewById(id));
+    }
+
+    @Benchmark
+    public List<Employee> entityPage() {
+        Long afterId = this.randomPageStart();
+        return this.readOnly.execute(status -> this.employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, Pageable.ofSize(PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public List<EmployeeView> viewPage() {
+        Long afterId = this.randomPageStart();
+        return this.readOnly.execute(status -> this.employeeJdbcRepository.findViewsAfterId(afterId, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<Employee> entityAll() {
+        return this.readOnly.execute(status -> this.employeeRepository.findAll());
+    }
+
+    @Benchmark
+    public List<EmployeeView> viewAll() {
+        return this.readOnly.execute(status -> this.employeeJdbcRepository.findAllViews());
+    }
+
+    private Long randomId() {
+        return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+    }
+
+    private Long randomPageStart() {
+        return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size() - PAGE_SIZE));
+    }
+}
@@ -0,0 +1,177 @@
+package com.magadiflo.crud.api.app.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.command.EmployeeWriteQueue;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.resource.ApiExceptionHandler;
+import com.magadiflo.crud.api.app.resource.EmployeeResource;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * BENCHMARK JMH - DESPACHO DE EmployeeResource
+ * ********************************************
+ * Mide el coste de Spring MVC (resolución del handler, binding, conversión de mensajes y
+ * serialización) para los endpoints de EmployeeResource usando MockMvc en modo standalone y un
+ * servicio en memoria, de modo que la base de datos no entre en la medición.
+ * <br>
+ * Ejecutar con: mvn verify -Pjmh -DskipTests -Djmh.includes=EmployeeResourceDispatchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeResourceDispatchBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    private MockMvc mockMvc;
+    private byte[] createBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        InMemoryEmployeeService employeeService = new InMemoryEmployeeService();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            employeeService.saveEmployee(Employee.builder().firstName("Nombre" + i).lastName("Apellido" + i).email("empleado" + i + "@gmail.com").build());
+        }
+        EmployeeWriteQueue writeQueue = new EmployeeWriteQueue(employeeService, null, null, new EmployeeProperties(), new SimpleMeterRegistry());
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeResource(employeeService, objectMapper, writeQueue))
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+        this.createBody = objectMapper.writeValueAsBytes(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeById() throws Exception {
+        return this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", 1L)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getAllEmployees() throws Exception {
+        return this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createEmployee() throws Exception {
+        return this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.createBody)).andReturn();
+    }
+
+    /**
+     * Implementación mínima en memoria: solo cubre las operaciones que ejercitan los benchmarks
+     * (createEmployee no guarda nada para que el tamaño del listado no crezca durante la medición).
+     */
+    private static class InMemoryEmployeeService implements IEmployeeService {
+
+        private final Map<Long, EmployeeView> employees = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public List<EmployeeView> getAllEmployees() {
+            return new ArrayList<>(this.employees.values());
+        }
+
+        @Override
+        public EmployeeCollectionVersion getEmployeesVersion() {
+            return new EmployeeCollectionVersion((long) this.employees.size(), this.sequence.get(), 0L, this.sequence.get());
+        }
+
+        @Override
+        public EmployeePage getEmployeesPage(Long afterId, Integer size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamAllEmployees(Consumer<EmployeeView> consumer) {
+            this.employees.values().forEach(consumer);
+        }
+
+        @Override
+        public EmployeePage searchEmployees(String query, EmployeeSearchMode mode, EmployeeSearchField field, Long position, Integer size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<EmployeeView> getEmployeeById(Long id) {
+            return Optional.ofNullable(this.employees.get(id));
+        }
+
+        @Override
+        public Optional<EmployeeView> getEmployeeByEmail(String email) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Employee saveEmployee(Employee employee) {
+            if (this.employees.size() >= LIST_SIZE) {
+                return Employee.builder().id(this.sequence.get() + 1).firstName(employee.getFirstName())
+                        .lastName(employee.getLastName()).email(employee.getEmail()).version(0L).build();
+            }
+            employee.setId(this.sequence.incrementAndGet());
+            employee.setVersion(0L);
+            this.employees.put(employee.getId(), EmployeeView.of(employee));
+            return employee;
+        }
+
+        @Override
+        public Optional<Employee> updateEmployee(Long id, Employee employee) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteEmployee(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<EmployeeBatchResult> updateEmployees(List<Employee> employees) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<EmployeeBatchResult> deleteEmployees(List<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
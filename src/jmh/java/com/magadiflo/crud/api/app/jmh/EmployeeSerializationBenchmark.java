@@ -0,0 +1,73 @@
+package com.magadiflo.crud.api.app.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.magadiflo.crud.api.app.entities.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BENCHMARK JMH - SERIALIZACIÓN JSON
+ * **********************************
+ * Serializa listas de Employee con un ObjectMapper configurado como el de Spring MVC. Se escribe
+ * sobre un OutputStream nulo para medir solo el coste de Jackson y no el de acumular los bytes;
+ * writeValueAsBytes se incluye como referencia de lo que cuesta materializar la respuesta completa.
+ * <br>
+ * Ejecutar con: mvn verify -Pjmh -DskipTests -Djmh.includes=EmployeeSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+        this.employees = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.employees.add(Employee.builder()
+                    .id((long) i)
+                    .firstName("Nombre" + i)
+                    .lastName("Apellido" + i)
+                    .email("empleado" + i + "@gmail.com")
+                    .version(0L)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void writeToStream() throws IOException {
+        this.writer.writeValue(OutputStream.nullOutputStream(), this.employees);
+    }
+
+    @Benchmark
+    public byte[] writeAsBytes() throws IOException {
+        return this.writer.writeValueAsBytes(this.employees);
+    }
+}
@@ -0,0 +1,102 @@
+package com.magadiflo.crud.api.app.jmh;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BENCHMARK JMH - EmployeeServiceImpl
+ * ***********************************
+ * Mide saveEmployee, getEmployeeById y updateEmployee pasando por el proxy transaccional y de caché
+ * de Spring, contra H2 embebido. El parámetro cache permite comparar la lectura con Caffeine
+ * (caffeine) y directamente contra la base de datos (none).
+ * <br>
+ * Ejecutar con: mvn verify -Pjmh -DskipTests -Djmh.includes=EmployeeServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int SEEDED_ROWS = 10_000;
+
+    @Param({"caffeine", "none"})
+    public String cache;
+
+    private ConfigurableApplicationContext context;
+    private IEmployeeService employeeService;
+    private List<Long> ids;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = EmbeddedEmployeeApplication.start("--spring.cache.type=" + this.cache);
+        this.employeeService = this.context.getBean(IEmployeeService.class);
+        IEmployeeRepository employeeRepository = this.context.getBean(IEmployeeRepository.class);
+
+        List<Employee> employees = new ArrayList<>(SEEDED_ROWS);
+        for (int i = 0; i < SEEDED_ROWS; i++) {
+            employees.add(Employee.builder().firstName("Nombre" + i).lastName("Apellido" + i).email("seed" + i + "@gmail.com").build());
+        }
+        this.ids = employeeRepository.saveAll(employees).stream().map(Employee::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        long n = this.sequence.incrementAndGet();
+        return this.employeeService.saveEmployee(Employee.builder()
+                .firstName("Nombre" + n)
+                .lastName("Apellido" + n)
+                .email("jmh" + n + "@gmail.com")
+                .build());
+    }
+
+    @Benchmark
+    public Optional<EmployeeView> getEmployeeById() {
+        return this.employeeService.getEmployeeById(this.randomId());
+    }
+
+    @Benchmark
+    public Optional<Employee> updateEmployee() {
+        Long id = this.randomId();
+        return this.employeeService.updateEmployee(id, Employee.builder()
+                .firstName("Nombre" + this.sequence.incrementAndGet())
+                .lastName("Apellido")
+                .email("seed-" + id + "@gmail.com")
+                .build());
+    }
+
+    private Long randomId() {
+        return this.ids.get(ThreadLocalRandom.current().nextInt(this.ids.size()));
+    }
+}
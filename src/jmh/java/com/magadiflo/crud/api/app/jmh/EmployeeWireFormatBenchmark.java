@@ -0,0 +1,97 @@
+package com.magadiflo.crud.api.app.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * BENCHMARK JMH - FORMATO EN LA RED
+ * *********************************
+ * Serializa un listado de EmployeeView como lo hace GET /api/v1/employees en cada formato negociable:
+ * json (el ObjectMapper de Spring MVC sin Blackbird, la referencia), json-blackbird, smile y cbor
+ * (los dos últimos también con Blackbird), sin comprimir o con gzip como lo haría Tomcat.
+ * <br>
+ * El tiempo por operación es el coste de CPU de serializar (y comprimir) hacia un OutputStream nulo;
+ * los bytes que viajarían por la red se imprimen una vez por combinación al preparar el estado.
+ * <br>
+ * Ejecutar con: mvn verify -Pjmh -DskipTests -Djmh.includes=EmployeeWireFormatBenchmark -Djmh.args="-prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeWireFormatBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"json", "json-blackbird", "smile", "cbor"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    private ObjectWriter writer;
+    private List<EmployeeView> employees;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ObjectMapper objectMapper = switch (this.format) {
+            case "json" -> builder.build();
+            case "json-blackbird" -> builder.modulesToInstall(new BlackbirdModule()).build();
+            case "smile" -> builder.modulesToInstall(new BlackbirdModule()).factory(new SmileFactory()).build();
+            case "cbor" -> builder.modulesToInstall(new BlackbirdModule()).factory(new CBORFactory()).build();
+            default -> throw new IllegalArgumentException(this.format);
+        };
+        this.writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeView.class));
+        this.employees = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.employees.add(new EmployeeView((long) i, "Nombre" + i, "Apellido" + i, "empleado" + i + "@gmail.com", 0L));
+        }
+
+        ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        this.write(wire);
+        System.out.printf("%n%s/%s, %d employees: %d bytes on the wire%n", this.format, this.compression, this.size, wire.size());
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        this.write(OutputStream.nullOutputStream());
+    }
+
+    private void write(OutputStream outputStream) throws IOException {
+        if (this.compression.equals("gzip")) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+                this.writer.writeValue(gzip, this.employees);
+            }
+        } else {
+            this.writer.writeValue(outputStream, this.employees);
+        }
+    }
+}
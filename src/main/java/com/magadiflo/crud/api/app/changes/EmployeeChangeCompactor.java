@@ -0,0 +1,67 @@
+package com.magadiflo.crud.api.app.changes;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.repository.EmployeeChangeJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Compacta el outbox como un log por clave: de los cambios más antiguos que retention solo se
+ * conserva el último de cada empleado, y los borrados antiguos se eliminan cuando ya no queda nada
+ * anterior de ese empleado. Un consumidor que lee desde {@code since=0} sigue reconstruyendo el estado
+ * actual; uno que se quedó atrás más de retention puede perderse borrados y debe resincronizar con
+ * GET /api/v1/employees.
+ * <p>
+ * Se borra por lotes de compaction-batch-size filas, cada lote en su propia sentencia, para no
+ * mantener bloqueos largos sobre la tabla mientras se siguen escribiendo cambios.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employees.snapshot", name = "serve", havingValue = "false", matchIfMissing = true)
+public class EmployeeChangeCompactor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeChangeCompactor.class);
+
+    private final EmployeeChangeJdbcRepository employeeChangeJdbcRepository;
+    private final EmployeeProperties.Changes properties;
+    private final Counter compacted;
+
+    public EmployeeChangeCompactor(EmployeeChangeJdbcRepository employeeChangeJdbcRepository,
+                                   EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        this.employeeChangeJdbcRepository = employeeChangeJdbcRepository;
+        this.properties = employeeProperties.getChanges();
+        this.compacted = Counter.builder("employees.changes.compacted")
+                .description("Employee change feed entries removed by compaction")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${employees.changes.compaction-interval:PT1H}",
+            fixedDelayString = "${employees.changes.compaction-interval:PT1H}")
+    public void scheduledCompaction() {
+        try {
+            this.compact(Instant.now().minus(this.properties.getRetention()));
+        } catch (RuntimeException e) {
+            LOG.warn("Employee change feed compaction failed", e);
+        }
+    }
+
+    public int compact(Instant cutoff) {
+        int removed = 0;
+        List<Long> seqs;
+        while (!(seqs = this.employeeChangeJdbcRepository.findCompactableSeqs(cutoff, this.properties.getCompactionBatchSize())).isEmpty()) {
+            removed += this.employeeChangeJdbcRepository.deleteBySeqs(seqs);
+        }
+        this.compacted.increment(removed);
+        if (removed > 0) {
+            LOG.info("Compacted {} employee change feed entries older than {}", removed, cutoff);
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,237 @@
+package com.magadiflo.crud.api.app.changes;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeChange;
+import com.magadiflo.crud.api.app.dto.EmployeeChangePage;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.repository.EmployeeChangeJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entrega los cambios del outbox a los consumidores en espera (long-poll y SSE). Cada commit con
+ * cambios de empleados programa un reparto en el hilo employee-changes: se lee el outbox una sola vez
+ * desde el menor seq pendiente y cada suscriptor recibe lo posterior a su propio seq. Los commits
+ * que llegan mientras hay un reparto programado se agrupan en ese mismo reparto.
+ * <p>
+ * Un suscriptor se registra antes de programar el reparto que lo atiende, así un commit entre su
+ * primera lectura y el registro no se pierde.
+ */
+@Component
+public class EmployeeChangeFeed implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    private final EmployeeChangeJdbcRepository employeeChangeJdbcRepository;
+    private final EmployeeProperties.Changes properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ExecutorService dispatcher;
+
+    public EmployeeChangeFeed(EmployeeChangeJdbcRepository employeeChangeJdbcRepository,
+                              EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        this.employeeChangeJdbcRepository = employeeChangeJdbcRepository;
+        this.properties = employeeProperties.getChanges();
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("employees.changes.subscribers", this.subscribers, Set::size)
+                .description("Change feed consumers waiting for employee changes")
+                .register(meterRegistry);
+    }
+
+    public int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return this.properties.getDefaultPageSize();
+        }
+        return Math.min(limit, this.properties.getMaxPageSize());
+    }
+
+    public Duration waitTime(Integer waitSeconds) {
+        if (waitSeconds == null) {
+            return this.properties.getDefaultWait();
+        }
+        Duration wait = Duration.ofSeconds(Math.max(0, waitSeconds));
+        return wait.compareTo(this.properties.getMaxWait()) > 0 ? this.properties.getMaxWait() : wait;
+    }
+
+    public List<EmployeeChange> read(long since, int limit) {
+        return this.employeeChangeJdbcRepository.findAfterSeq(since, limit);
+    }
+
+    /**
+     * Responde al momento si ya hay cambios posteriores a {@code since}; si no, espera el primer
+     * commit con cambios hasta {@code wait} y, sin cambios, responde una página vacía.
+     */
+    public DeferredResult<ResponseEntity<EmployeeChangePage>> poll(long since, int limit, Duration wait) {
+        EmployeeChangePage empty = EmployeeChangePage.of(List.of(), since);
+        DeferredResult<ResponseEntity<EmployeeChangePage>> result =
+                new DeferredResult<>(Math.max(1, wait.toMillis()), ResponseEntity.ok(empty));
+        List<EmployeeChange> changes = this.read(since, limit);
+        if (!changes.isEmpty() || wait.isZero()) {
+            result.setResult(ResponseEntity.ok(EmployeeChangePage.of(changes, since)));
+            return result;
+        }
+        PollSubscriber subscriber = new PollSubscriber(since, limit, result);
+        result.onCompletion(() -> this.subscribers.remove(subscriber));
+        this.subscribe(subscriber);
+        return result;
+    }
+
+    /**
+     * Envía todo lo posterior a {@code since} y sigue enviando cada cambio confirmado hasta que el
+     * cliente se desconecta o vence stream-timeout; al reconectar, Last-Event-ID indica desde dónde seguir.
+     */
+    public SseEmitter stream(long since) {
+        SseEmitter emitter = new SseEmitter(this.properties.getStreamTimeout().toMillis());
+        StreamSubscriber subscriber = new StreamSubscriber(since, emitter);
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+        emitter.onError(error -> this.subscribers.remove(subscriber));
+        this.subscribe(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!this.subscribers.isEmpty()) {
+            this.scheduleDispatch();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.dispatcher.shutdownNow();
+        this.subscribers.forEach(Subscriber::close);
+        this.subscribers.clear();
+    }
+
+    private void subscribe(Subscriber subscriber) {
+        this.subscribers.add(subscriber);
+        this.scheduleDispatch();
+    }
+
+    private void scheduleDispatch() {
+        if (this.dispatchScheduled.compareAndSet(false, true)) {
+            this.dispatcher.execute(() -> {
+                this.dispatchScheduled.set(false);
+                try {
+                    this.dispatch();
+                } catch (RuntimeException e) {
+                    LOG.warn("Employee change dispatch failed", e);
+                }
+            });
+        }
+    }
+
+    void dispatch() {
+        if (this.subscribers.isEmpty()) {
+            return;
+        }
+        long from = this.subscribers.stream().mapToLong(Subscriber::lastSeq).min().orElseThrow();
+        int pageSize = this.properties.getMaxPageSize();
+        while (!this.subscribers.isEmpty()) {
+            List<EmployeeChange> changes = this.read(from, pageSize);
+            if (changes.isEmpty()) {
+                return;
+            }
+            for (Subscriber subscriber : this.subscribers) {
+                long lastSeq = subscriber.lastSeq();
+                List<EmployeeChange> pending = changes.stream().filter(change -> change.seq() > lastSeq).toList();
+                if (!pending.isEmpty() && !subscriber.deliver(pending)) {
+                    this.subscribers.remove(subscriber);
+                }
+            }
+            if (changes.size() < pageSize) {
+                return;
+            }
+            from = changes.get(changes.size() - 1).seq();
+        }
+    }
+
+    private interface Subscriber {
+
+        long lastSeq();
+
+        /**
+         * @return {@code false} si el suscriptor ya no espera más cambios
+         */
+        boolean deliver(List<EmployeeChange> changes);
+
+        void close();
+    }
+
+    private record PollSubscriber(long lastSeq, int limit, DeferredResult<ResponseEntity<EmployeeChangePage>> result)
+            implements Subscriber {
+
+        @Override
+        public boolean deliver(List<EmployeeChange> changes) {
+            List<EmployeeChange> page = changes.size() > this.limit ? changes.subList(0, this.limit) : changes;
+            this.result.setResult(ResponseEntity.ok(EmployeeChangePage.of(page, this.lastSeq)));
+            return false;
+        }
+
+        @Override
+        public void close() {
+            this.result.setResult(ResponseEntity.ok(EmployeeChangePage.of(List.of(), this.lastSeq)));
+        }
+    }
+
+    private static final class StreamSubscriber implements Subscriber {
+
+        private final SseEmitter emitter;
+        private volatile long lastSeq;
+
+        private StreamSubscriber(long since, SseEmitter emitter) {
+            this.lastSeq = since;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public long lastSeq() {
+            return this.lastSeq;
+        }
+
+        @Override
+        public boolean deliver(List<EmployeeChange> changes) {
+            try {
+                for (EmployeeChange change : changes) {
+                    this.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.seq()))
+                            .name(change.type().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                    this.lastSeq = change.seq();
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                this.emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            this.emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.magadiflo.crud.api.app.changes;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.repository.EmployeeChangeJdbcRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escribe cada {@link EmployeeChangedEvent} en el outbox dentro de la misma transacción que la
+ * escritura: si la transacción hace rollback, el cambio tampoco queda en el feed.
+ * <p>
+ * Los eventos se acumulan por transacción y se insertan juntos en beforeCommit, así un batch de
+ * miles de filas reserva sus seq con un solo UPDATE del contador y el bloqueo de su fila se mantiene
+ * solo durante el commit.
+ * <p>
+ * La fila del contador se crea al quedar lista la aplicación y no durante el refresh del contexto, así
+ * el arranque no abre conexiones (el entrenamiento de CDS sale justo al terminar el refresh).
+ */
+@Component
+@ConditionalOnProperty(prefix = "employees.snapshot", name = "serve", havingValue = "false", matchIfMissing = true)
+public class EmployeeOutbox {
+
+    private static final Object PENDING_CHANGES = new Object();
+
+    private final EmployeeChangeJdbcRepository employeeChangeJdbcRepository;
+    private final int jdbcBatchSize;
+
+    public EmployeeOutbox(EmployeeChangeJdbcRepository employeeChangeJdbcRepository, EmployeeProperties employeeProperties) {
+        this.employeeChangeJdbcRepository = employeeChangeJdbcRepository;
+        this.jdbcBatchSize = employeeProperties.getBatch().getJdbcBatchSize();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeSequence() {
+        this.employeeChangeJdbcRepository.initializeSequence();
+    }
+
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.employeeChangeJdbcRepository.appendAll(List.of(event), Instant.now(), this.jdbcBatchSize);
+            return;
+        }
+        List<EmployeeChangedEvent> pending = (List<EmployeeChangedEvent>) TransactionSynchronizationManager.getResource(PENDING_CHANGES);
+        if (pending == null) {
+            List<EmployeeChangedEvent> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_CHANGES, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    EmployeeOutbox.this.employeeChangeJdbcRepository.appendAll(changes, Instant.now(),
+                            EmployeeOutbox.this.jdbcBatchSize);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_CHANGES);
+                }
+            });
+            pending = changes;
+        }
+        pending.add(event);
+    }
+}
@@ -0,0 +1,36 @@
+package com.magadiflo.crud.api.app.command;
+
+import com.magadiflo.crud.api.app.dto.EmployeeCommandStatus;
+import com.magadiflo.crud.api.app.entities.Employee;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Escritura encolada para el modo write-behind. {@code completion} se completa cuando el commit del
+ * grupo que la contiene es durable (o cuando se rechaza o falla).
+ */
+public record EmployeeCommand(String ticket, Type type, Long id, Employee employee,
+                              CompletableFuture<EmployeeCommandStatus> completion) {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    public static EmployeeCommand create(Employee employee) {
+        return new EmployeeCommand(newTicket(), Type.CREATE, null, employee, new CompletableFuture<>());
+    }
+
+    public static EmployeeCommand update(Long id, Employee employee) {
+        employee.setId(id);
+        return new EmployeeCommand(newTicket(), Type.UPDATE, id, employee, new CompletableFuture<>());
+    }
+
+    public static EmployeeCommand delete(Long id) {
+        return new EmployeeCommand(newTicket(), Type.DELETE, id, null, new CompletableFuture<>());
+    }
+
+    private static String newTicket() {
+        return UUID.randomUUID().toString();
+    }
+}
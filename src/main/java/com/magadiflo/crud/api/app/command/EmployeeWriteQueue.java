@@ -0,0 +1,279 @@
+package com.magadiflo.crud.api.app.command;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCommandStatus;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeWriteQueueFullException;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Modo write-behind: las escrituras de EmployeeResource se encolan en una cola acotada y un único hilo
+ * escritor las aplica por grupos, con un solo commit por grupo en lugar de uno por petición.
+ * <ul>
+ *     <li>Orden: el escritor aplica los comandos en el orden en que se aceptaron, así dos escrituras
+ *     sobre el mismo id nunca se reordenan. Dentro del grupo, los comandos consecutivos del mismo tipo
+ *     van en una sola llamada a los métodos batch del servicio; un id repetido abre una llamada nueva.</li>
+ *     <li>Errores: si el commit del grupo falla, se reintenta cada comando en su propia transacción
+ *     para que uno defectuoso no arrastre a los demás.</li>
+ *     <li>Contrapresión: con la cola llena {@link #submit} falla al momento
+ *     ({@link EmployeeWriteQueueFullException}) en lugar de bloquear el hilo de la petición.</li>
+ * </ul>
+ * Igual que en {@code /employees:batch}, una actualización que toma un email liberado por otra
+ * actualización del mismo grupo se rechaza con 409.
+ */
+@Component
+public class EmployeeWriteQueue implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeWriteQueue.class);
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final int MAX_TRACKED_COMMANDS = 100_000;
+
+    private final IEmployeeService employeeService;
+    private final IEmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeProperties.WriteBehind properties;
+    private final BlockingQueue<EmployeeCommand> queue;
+    private final Cache<String, EmployeeCommandStatus> statuses;
+    private final DistributionSummary groupSize;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public EmployeeWriteQueue(IEmployeeService employeeService, IEmployeeRepository employeeRepository,
+                              PlatformTransactionManager transactionManager, EmployeeProperties employeeProperties,
+                              MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = employeeProperties.getWriteBehind();
+        this.queue = new ArrayBlockingQueue<>(this.properties.getCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_COMMANDS)
+                .expireAfterWrite(this.properties.getStatusRetention())
+                .build();
+        Gauge.builder("employees.write-behind.queue.size", this.queue, BlockingQueue::size)
+                .description("Employee commands waiting for the writer")
+                .register(meterRegistry);
+        this.groupSize = DistributionSummary.builder("employees.write-behind.group.size")
+                .description("Employee commands applied per commit")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return this.properties.isEnabled();
+    }
+
+    public EmployeeCommand submit(EmployeeCommand command) {
+        this.statuses.put(command.ticket(), EmployeeCommandStatus.pending(command));
+        if (!this.queue.offer(command)) {
+            this.statuses.invalidate(command.ticket());
+            throw new EmployeeWriteQueueFullException();
+        }
+        return command;
+    }
+
+    /**
+     * Espera el ack durable hasta ack-timeout; si no llega, devuelve el estado PENDING para responder 202.
+     */
+    public EmployeeCommandStatus await(EmployeeCommand command) {
+        try {
+            return command.completion().get(this.properties.getAckTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return EmployeeCommandStatus.pending(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EmployeeCommandStatus.pending(command);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Optional<EmployeeCommandStatus> status(String ticket) {
+        return Optional.ofNullable(this.statuses.getIfPresent(ticket));
+    }
+
+    @Override
+    public void start() {
+        if (!this.isEnabled()) {
+            return;
+        }
+        this.running = true;
+        this.writer = new Thread(this::drainWhileRunning, "employee-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * El hilo escritor termina cuando la cola queda vacía, así lo que ya se respondió con 202 se aplica
+     * antes de cerrar el DataSource. La espera está acotada por shutdown-timeout, independiente de
+     * ack-timeout porque vaciar una cola llena lleva mucho más que un ack; si se agota, los comandos que
+     * siguen en la cola se registran como error con sus tickets.
+     */
+    @Override
+    public void stop() {
+        this.running = false;
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.join(this.properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.writer.isAlive()) {
+            List<String> tickets = this.queue.stream().map(EmployeeCommand::ticket).toList();
+            LOG.error("Employee writer did not drain within {}, {} accepted commands were not applied: {}",
+                    this.properties.getShutdownTimeout(), tickets.size(), tickets);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Se detiene después del servidor web (fase menor), cuando ya no pueden llegar escrituras nuevas.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainWhileRunning() {
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                this.drain();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Employee writer failed to apply a group", e);
+            }
+        }
+    }
+
+    void drain() throws InterruptedException {
+        EmployeeCommand first = this.queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        List<EmployeeCommand> group = new ArrayList<>();
+        group.add(first);
+        this.queue.drainTo(group, this.properties.getMaxGroupSize() - 1);
+        this.groupSize.record(group.size());
+        this.apply(group);
+    }
+
+    private void apply(List<EmployeeCommand> group) {
+        try {
+            this.complete(group, this.transactionTemplate.execute(status -> this.applyInOrder(group)));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                this.complete(group.get(0), failure(group.get(0), e));
+                return;
+            }
+            LOG.warn("Group commit of {} employee commands failed, applying them one by one", group.size(), e);
+            for (EmployeeCommand command : group) {
+                try {
+                    this.complete(List.of(command), this.transactionTemplate.execute(status -> this.applyInOrder(List.of(command))));
+                } catch (RuntimeException single) {
+                    this.complete(command, failure(command, single));
+                }
+            }
+        }
+    }
+
+    private List<EmployeeCommandStatus> applyInOrder(List<EmployeeCommand> group) {
+        List<EmployeeCommandStatus> results = new ArrayList<>(group.size());
+        int from = 0;
+        while (from < group.size()) {
+            EmployeeCommand.Type type = group.get(from).type();
+            Set<Long> ids = new HashSet<>();
+            int to = from;
+            while (to < group.size() && group.get(to).type() == type
+                    && (group.get(to).id() == null || ids.add(group.get(to).id()))) {
+                to++;
+            }
+            List<EmployeeCommand> run = group.subList(from, to);
+            List<EmployeeBatchResult> batchResults = switch (type) {
+                case CREATE -> this.employeeService.saveEmployees(newEmployeesOf(run));
+                case UPDATE -> this.employeeService.updateEmployees(employeesOf(run));
+                case DELETE -> this.employeeService.deleteEmployees(run.stream().map(EmployeeCommand::id).toList());
+            };
+            if (type == EmployeeCommand.Type.CREATE) {
+                // Las inserciones de JPA quedan pendientes hasta el flush; las siguientes sentencias JDBC deben verlas.
+                this.employeeRepository.flush();
+            }
+            for (int k = 0; k < run.size(); k++) {
+                results.add(EmployeeCommandStatus.of(run.get(k), batchResults.get(k)));
+            }
+            from = to;
+        }
+        return results;
+    }
+
+    private void complete(List<EmployeeCommand> commands, List<EmployeeCommandStatus> results) {
+        for (int k = 0; k < commands.size(); k++) {
+            this.complete(commands.get(k), results.get(k));
+        }
+    }
+
+    private void complete(EmployeeCommand command, EmployeeCommandStatus status) {
+        this.statuses.put(command.ticket(), status);
+        command.completion().complete(status);
+    }
+
+    private static EmployeeCommandStatus failure(EmployeeCommand command, RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException && command.employee() != null) {
+            return EmployeeCommandStatus.failed(command, HttpStatus.CONFLICT.value(),
+                    String.format("Employee already exist with given email %s", command.employee().getEmail()));
+        }
+        LOG.error("Employee command {} failed", command.ticket(), e);
+        return EmployeeCommandStatus.failed(command, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Employee command failed");
+    }
+
+    private static List<Employee> employeesOf(List<EmployeeCommand> commands) {
+        return commands.stream().map(EmployeeCommand::employee).toList();
+    }
+
+    /**
+     * Copias nuevas en cada intento: tras un rollback la entidad persistida conserva id y versión, y
+     * saveAll la trataría como existente al reintentar el comando por separado.
+     */
+    private static List<Employee> newEmployeesOf(List<EmployeeCommand> commands) {
+        return commands.stream()
+                .map(command -> Employee.builder()
+                        .firstName(command.employee().getFirstName())
+                        .lastName(command.employee().getLastName())
+                        .email(command.employee().getEmail())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.magadiflo.crud.api.app.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+@Configuration
+public class CacheConfig {
+
+    public static final String EMPLOYEES_BY_ID = "employeesById";
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+
+    /**
+     * Los put/evict se aplican después del commit, así una transacción revertida nunca deja
+     * en la caché un empleado que no existe en la base de datos. Cada caché es un
+     * {@link EmployeeViewCache}, que no deja que una lectura lenta guarde una versión anterior.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new EmployeeViewCache(name, cache, this.isAllowNullValues());
+            }
+        };
+        caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        caffeineCacheManager.setCacheNames(List.of(EMPLOYEES_BY_ID, EMPLOYEES_BY_EMAIL));
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,230 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.entities.id.EmployeeIdStrategy;
+import com.magadiflo.crud.api.app.idempotency.IdempotencyStoreType;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees")
+public class EmployeeProperties {
+
+    private final Page page = new Page();
+    private final Stream stream = new Stream();
+    private final Batch batch = new Batch();
+    private final Id id = new Id();
+    private final Jdbc jdbc = new Jdbc();
+    private final Search search = new Search();
+    private final WriteBehind writeBehind = new WriteBehind();
+    private final Transfer transfer = new Transfer();
+    private final Replicas replicas = new Replicas();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Concurrency concurrency = new Concurrency();
+    private final Changes changes = new Changes();
+    private final Idempotency idempotency = new Idempotency();
+    private final Lookup lookup = new Lookup();
+    private final Snapshot snapshot = new Snapshot();
+    private final Shards shards = new Shards();
+    private final Stats stats = new Stats();
+
+    @Getter
+    @Setter
+    public static class Page {
+        private int defaultSize = 50;
+        private int maxSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Stream {
+        private int fetchSize = 1000;
+        private Duration timeout = Duration.ofMinutes(30);
+        private int maxConcurrent = 16;
+        private int queueCapacity = 32;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxSize = 5000;
+        private int jdbcBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Id {
+        private EmployeeIdStrategy strategy = EmployeeIdStrategy.POOLED_LO;
+        private int incrementSize = 50;
+        private long nodeId = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+        private Duration slowQueryThreshold = Duration.ofMillis(200);
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+        private Duration rebuildInterval = Duration.ofMinutes(30);
+        private double fuzzyThreshold = 0.3;
+        private int maxFuzzyCandidates = 20_000;
+        private int maxFuzzyResults = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private int capacity = 10_000;
+        private int maxGroupSize = 500;
+        private Duration ackTimeout = Duration.ofSeconds(5);
+        private Duration shutdownTimeout = Duration.ofMinutes(2);
+        private Duration statusRetention = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Transfer {
+        private int chunkSize = 1000;
+        private int maxReportedErrors = 100;
+        private Duration progressRetention = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Replicas {
+        private boolean enabled = false;
+        private List<Replica> datasources = new ArrayList<>();
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        private Duration healthCheckTimeout = Duration.ofSeconds(1);
+        private Duration readYourWritesWindow = Duration.ofSeconds(2);
+        private String clientIdHeader = "X-Client-Id";
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private boolean enabled = true;
+        private double permitsPerSecond = 100;
+        private int burst = 200;
+        private List<EndpointLimit> endpoints = new ArrayList<>();
+        private Duration bucketRetention = Duration.ofMinutes(10);
+        private long maxBuckets = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class EndpointLimit {
+        private String method;
+        private String path;
+        private double permitsPerSecond;
+        private int burst;
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 50;
+        private int minLimit = 5;
+        private int maxLimit = 200;
+        private Duration targetPoolWait = Duration.ofMillis(20);
+        private double backoffRatio = 0.9;
+        private Duration adjustInterval = Duration.ofSeconds(1);
+        private List<String> excludedPaths = new ArrayList<>(List.of("/api/v1/employees/changes"));
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+        private int defaultPageSize = 500;
+        private int maxPageSize = 1000;
+        private Duration defaultWait = Duration.ofSeconds(30);
+        private Duration maxWait = Duration.ofSeconds(60);
+        private Duration streamTimeout = Duration.ofMinutes(30);
+        private Duration retention = Duration.ofDays(7);
+        private Duration compactionInterval = Duration.ofHours(1);
+        private int compactionBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+        private boolean enabled = true;
+        private String header = "Idempotency-Key";
+        private List<String> paths = new ArrayList<>(List.of("/api/v1/employees"));
+        private IdempotencyStoreType store = IdempotencyStoreType.MEMORY;
+        private Duration ttl = Duration.ofHours(24);
+        private long maximumSize = 100_000;
+        private int maxKeyLength = 255;
+        private int maxBodySize = 1_048_576;
+        private Duration inFlightTimeout = Duration.ofSeconds(10);
+        private Duration purgeInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Lookup {
+        private boolean enabled = true;
+        private Duration window = Duration.ofMillis(1);
+        private int maxBatchSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        private Path path = Path.of("employees.snapshot");
+        private boolean exportEnabled = false;
+        private Duration exportInterval = Duration.ofHours(1);
+        private boolean serve = false;
+        private Duration reloadInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Shards {
+        private boolean enabled = false;
+        private EmployeeShardStrategy strategy = EmployeeShardStrategy.RANGE;
+        private long rangeSize = 1L << 40;
+        private List<Shard> datasources = new ArrayList<>();
+        private Duration scatterTimeout = Duration.ofSeconds(10);
+        private Duration emailReservationTimeout = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Stats {
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+        private Duration rateWindow = Duration.ofMinutes(1);
+    }
+}
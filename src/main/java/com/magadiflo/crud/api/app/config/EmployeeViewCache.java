@@ -0,0 +1,77 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+
+/**
+ * Caché de {@link EmployeeView} que nunca retrocede de versión. Una lectura que falla en la caché carga
+ * la fila y la guarda al terminar; si entre medias una escritura confirmó y guardó la versión nueva,
+ * ese put tardío ya no la reemplaza con la anterior. Por eso las escrituras no hacen evict: dejan la
+ * vista nueva o, si ya no hay nada que mostrar en esa clave (borrado, email anterior), una marca
+ * {@link Invalidated} con la última versión que hubo en ella.
+ * <ul>
+ *     <li>Para el mismo id, una vista solo reemplaza a otra de igual o menor versión, y a una marca de
+ *     versión menor; una marca reemplaza a vistas y marcas de igual o menor versión.</li>
+ *     <li>Entre ids distintos (un email que pasa de un empleado a otro) no hay orden y gana el último.</li>
+ *     <li>"No encontrado" solo se guarda sobre una clave vacía, otro "no encontrado" o una marca: una
+ *     lectura sin resultado anterior a un alta no borra la vista que dejó el alta.</li>
+ * </ul>
+ * Las marcas se leen como un fallo de caché, así la siguiente lectura carga la fila actual.
+ */
+public class EmployeeViewCache extends CaffeineCache {
+
+    public EmployeeViewCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    public static Invalidated invalidated(EmployeeView previous) {
+        return new Invalidated(previous.id(), previous.version());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object stored = this.toStoreValue(value);
+        this.getNativeCache().asMap().compute(key, (k, current) -> supersedes(stored, current) ? stored : current);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        return value instanceof Invalidated ? null : value;
+    }
+
+    private static boolean supersedes(Object value, Object current) {
+        if (current == null || current instanceof NullValue) {
+            return true;
+        }
+        if (value instanceof NullValue) {
+            return current instanceof Invalidated;
+        }
+        Long valueId = idOf(value);
+        if (valueId == null || !valueId.equals(idOf(current))) {
+            return true;
+        }
+        long valueVersion = versionOf(value);
+        long currentVersion = versionOf(current);
+        if (value instanceof EmployeeView && current instanceof Invalidated) {
+            return valueVersion > currentVersion;
+        }
+        return valueVersion >= currentVersion;
+    }
+
+    private static Long idOf(Object entry) {
+        if (entry instanceof EmployeeView view) {
+            return view.id();
+        }
+        return entry instanceof Invalidated invalidated ? invalidated.id() : null;
+    }
+
+    private static long versionOf(Object entry) {
+        Long version = entry instanceof EmployeeView view ? view.version() : ((Invalidated) entry).version();
+        return version == null ? -1 : version;
+    }
+
+    public record Invalidated(Long id, Long version) {
+    }
+}
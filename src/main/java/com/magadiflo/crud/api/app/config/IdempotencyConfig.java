@@ -0,0 +1,48 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.idempotency.IIdempotencyStore;
+import com.magadiflo.crud.api.app.idempotency.IdempotencyFilter;
+import com.magadiflo.crud.api.app.idempotency.InMemoryIdempotencyStore;
+import com.magadiflo.crud.api.app.idempotency.JdbcIdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "employees.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employees.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public IIdempotencyStore inMemoryIdempotencyStore(EmployeeProperties employeeProperties) {
+        return new InMemoryIdempotencyStore(employeeProperties.getIdempotency());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employees.idempotency", name = "store", havingValue = "jdbc")
+    public IIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                                  EmployeeProperties employeeProperties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, objectMapper, employeeProperties.getIdempotency());
+    }
+
+    /**
+     * Después de LoadSheddingFilter: los reintentos también consumen cuota del cliente, aunque se
+     * respondan sin llegar al servicio.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IIdempotencyStore idempotencyStore,
+                                                                       EmployeeProperties employeeProperties,
+                                                                       ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                idempotencyStore, employeeProperties.getIdempotency(), objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 40);
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.ratelimit.AdaptiveConcurrencyLimiter;
+import com.magadiflo.crud.api.app.ratelimit.ClientRateLimiter;
+import com.magadiflo.crud.api.app.ratelimit.LoadSheddingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+public class LoadSheddingConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        return new ClientRateLimiter(employeeProperties.getRateLimit(), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(employeeProperties.getConcurrency(), meterRegistry);
+    }
+
+    /**
+     * Solo para la API (/api/*): actuator sigue respondiendo aunque la API esté rechazando peticiones.
+     */
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(ClientRateLimiter clientRateLimiter,
+                                                                         AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                                                         ObjectMapper objectMapper) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(new LoadSheddingFilter(
+                clientRateLimiter, adaptiveConcurrencyLimiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+}
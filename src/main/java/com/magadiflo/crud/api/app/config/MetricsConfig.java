@@ -0,0 +1,59 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.metrics.HibernateStatisticsMetrics;
+import com.magadiflo.crud.api.app.metrics.JdbcRequestMetricsFilter;
+import com.magadiflo.crud.api.app.metrics.JdbcStatementMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public JdbcStatementMetrics jdbcStatementMetrics(MeterRegistry meterRegistry, EmployeeProperties employeeProperties) {
+        return new JdbcStatementMetrics(meterRegistry, employeeProperties.getJdbc().getSlowQueryThreshold());
+    }
+
+    /**
+     * Envuelve el DataSource del pool para que toda sentencia pase por {@link JdbcStatementMetrics}. Las
+     * métricas de Hikari siguen viendo el pool porque el proxy delega {@code unwrap}.
+     */
+    @Bean
+    public static BeanPostProcessor jdbcStatementMetricsPostProcessor(ObjectProvider<JdbcStatementMetrics> jdbcStatementMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(jdbcStatementMetrics.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<JdbcRequestMetricsFilter> jdbcRequestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<JdbcRequestMetricsFilter> registration = new FilterRegistrationBean<>(new JdbcRequestMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public HibernateStatisticsMetrics hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+}
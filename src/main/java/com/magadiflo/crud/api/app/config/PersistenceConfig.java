@@ -0,0 +1,30 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.entities.id.EmployeeIdGenerator;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer employeeHibernatePropertiesCustomizer(EmployeeProperties employeeProperties) {
+        return hibernateProperties -> {
+            EmployeeProperties.Id id = employeeProperties.getId();
+            hibernateProperties.put(EmployeeIdGenerator.STRATEGY, id.getStrategy().name());
+            hibernateProperties.put(EmployeeIdGenerator.INCREMENT_SIZE, String.valueOf(id.getIncrementSize()));
+            hibernateProperties.put(EmployeeIdGenerator.NODE_ID, String.valueOf(id.getNodeId()));
+            EmployeeProperties.Shards shards = employeeProperties.getShards();
+            if (shards.isEnabled()) {
+                hibernateProperties.put(EmployeeIdGenerator.SHARD_COUNT, String.valueOf(shards.getDatasources().size() + 1));
+                hibernateProperties.put(EmployeeIdGenerator.SHARD_STRATEGY, shards.getStrategy().name());
+                hibernateProperties.put(EmployeeIdGenerator.SHARD_RANGE_SIZE, String.valueOf(shards.getRangeSize()));
+            }
+            hibernateProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(employeeProperties.getBatch().getJdbcBatchSize()));
+            hibernateProperties.put(AvailableSettings.ORDER_INSERTS, "true");
+            hibernateProperties.put(AvailableSettings.ORDER_UPDATES, "true");
+        };
+    }
+}
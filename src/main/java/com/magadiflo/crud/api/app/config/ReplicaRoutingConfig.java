@@ -0,0 +1,75 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.datasource.ReadWriteRoutingDataSource;
+import com.magadiflo.crud.api.app.datasource.ReadYourWritesFilter;
+import com.magadiflo.crud.api.app.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Con employees.replicas.enabled=true reemplaza el DataSource de Spring Boot por
+ * {@link ReadWriteRoutingDataSource}: el primario se sigue configurando con spring.datasource.* y
+ * las réplicas con employees.replicas.datasources[n].*. El proxy de métricas JDBC envuelve solo este
+ * bean, así cada sentencia se cuenta una vez sea cual sea su destino.
+ */
+@ConditionalOnProperty(prefix = "employees.replicas", name = "enabled", havingValue = "true")
+@Configuration(proxyBeanMethods = false)
+public class ReplicaRoutingConfig {
+
+    @Primary
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, EmployeeProperties employeeProperties,
+                                 Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        EmployeeProperties.Replicas properties = employeeProperties.getReplicas();
+        List<EmployeeProperties.Replica> replicaProperties = properties.getDatasources();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            EmployeeProperties.Replica replica = replicaProperties.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(primary, replicas,
+                properties.getHealthCheckInterval(), properties.getHealthCheckTimeout(), meterRegistry);
+        return new ReadWriteRoutingDataSource(primary, replicaDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(EmployeeProperties employeeProperties) {
+        EmployeeProperties.Replicas properties = employeeProperties.getReplicas();
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getClientIdHeader(), properties.getReadYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,48 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Formatos binarios para los consumidores internos: con {@code Accept: application/x-jackson-smile}
+ * o {@code application/cbor} se responde en Smile o CBOR, y se aceptan también como cuerpo de la
+ * petición. Los convertidores van al final de la lista, así sin Accept se sigue respondiendo JSON.
+ * <p>
+ * Blackbird sustituye la reflexión de Jackson por accesores generados con LambdaMetafactory; Spring
+ * Boot lo registra en el ObjectMapper de JSON y, a través del mismo builder, llega también a Smile
+ * y CBOR.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SerializationConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public SerializationConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                this.objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                this.objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.entities.id.EmployeeIdStrategy;
+import com.magadiflo.crud.api.app.sharding.EmployeeEmailIndex;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardRouter;
+import com.magadiflo.crud.api.app.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Con employees.shards.enabled=true reemplaza el DataSource de Spring Boot por
+ * {@link ShardRoutingDataSource}: el shard 0, que también es el directorio, se configura con
+ * spring.datasource.* y los demás con employees.shards.datasources[n].*, que pasan a ser los shards
+ * 1..n. Como en ReplicaRoutingConfig, el proxy de métricas JDBC envuelve solo el DataSource de routing.
+ * <p>
+ * Hibernate solo ve el directorio, así que el esquema de cada shard lo crean las migraciones de Flyway
+ * al arrancar (perfil sharded, con ddl-auto=none).
+ */
+@ConditionalOnProperty(prefix = "employees.shards", name = "enabled", havingValue = "true")
+@Configuration(proxyBeanMethods = false)
+public class ShardingConfig {
+
+    private static final String MIGRATIONS = "classpath:db/migration";
+
+    @Primary
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, EmployeeProperties employeeProperties,
+                                 Environment environment, MeterRegistry meterRegistry) {
+        checkSupported(employeeProperties);
+
+        HikariDataSource directory = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(directory));
+        directory.setPoolName("shard-0");
+
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(directory);
+        List<EmployeeProperties.Shard> shardProperties = employeeProperties.getShards().getDatasources();
+        for (int i = 0; i < shardProperties.size(); i++) {
+            EmployeeProperties.Shard shard = shardProperties.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + (i + 1));
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(shard.getConnectionTimeout().toMillis());
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(dataSource);
+        }
+
+        for (DataSource shard : shards) {
+            Flyway.configure().dataSource(shard).locations(MIGRATIONS).load().migrate();
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public EmployeeShardRouter employeeShardRouter(EmployeeProperties employeeProperties) {
+        EmployeeProperties.Shards properties = employeeProperties.getShards();
+        return new EmployeeShardRouter(properties.getStrategy(), properties.getDatasources().size() + 1, properties.getRangeSize());
+    }
+
+    @Bean
+    public EmployeeEmailIndex employeeEmailIndex(DataSource dataSource, EmployeeProperties employeeProperties) throws SQLException {
+        DataSource directory = dataSource.unwrap(ShardRoutingDataSource.class).shard(EmployeeShardRouter.DIRECTORY_SHARD);
+        return new EmployeeEmailIndex(directory, employeeProperties.getShards().getEmailReservationTimeout());
+    }
+
+    /**
+     * Lo que agrupa escrituras de varios empleados en una transacción, o asigna ids sin pasar por la
+     * tabla de cada shard, no puede repartirse.
+     */
+    private static void checkSupported(EmployeeProperties employeeProperties) {
+        if (employeeProperties.getReplicas().isEnabled()) {
+            throw new IllegalStateException("employees.shards and employees.replicas cannot be enabled together");
+        }
+        if (employeeProperties.getWriteBehind().isEnabled()) {
+            throw new IllegalStateException("employees.write-behind groups writes in one transaction and cannot be used with employees.shards");
+        }
+        if (employeeProperties.getId().getStrategy() != EmployeeIdStrategy.POOLED_LO) {
+            throw new IllegalStateException("employees.shards requires employees.id.strategy=pooled-lo");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.magadiflo.crud.api.app.changes.EmployeeChangeCompactor;
+import com.magadiflo.crud.api.app.changes.EmployeeOutbox;
+import com.magadiflo.crud.api.app.idempotency.IIdempotencyStore;
+import com.magadiflo.crud.api.app.resource.EmployeeResource;
+import com.magadiflo.crud.api.app.search.EmployeeSearchIndex;
+import com.magadiflo.crud.api.app.snapshot.EmployeeSnapshotExporter;
+import com.magadiflo.crud.api.app.stats.EmployeeStatistics;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Con spring.main.lazy-initialization=true (perfil fast-startup) el resto de beans se crea en su
+     * primer uso. EmployeeResource y sus dependencias se crean al arrancar para que la primera petición
+     * no pague esa inicialización; los demás excluidos solo trabajan en segundo plano (@Scheduled o
+     * escritura del outbox) y siendo lazy no llegarían a crearse nunca. EmployeeStatistics además se
+     * reconcilia al crearse: si se creara en la primera petición a /stats, esa petición respondería 503.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter employeeHotPathExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EmployeeResource.class, EmployeeOutbox.class,
+                EmployeeSearchIndex.class, EmployeeChangeCompactor.class, IIdempotencyStore.class,
+                EmployeeSnapshotExporter.class, EmployeeStatistics.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.magadiflo.crud.api.app.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Las respuestas StreamingResponseBody (export y listado NDJSON) se escriben fuera del hilo de la
+ * petición. Sin configurar nada, el contenedor las corta a los 30 segundos (timeout asíncrono por
+ * defecto de Tomcat) y Spring las ejecuta en un SimpleAsyncTaskExecutor, que abre un hilo por respuesta
+ * sin límite.
+ * <ul>
+ *     <li>El timeout pasa a ser employees.stream.timeout, que Spring fija en cada petición asíncrona
+ *     por encima del valor del contenedor. DeferredResult y SseEmitter (cambios) llevan el suyo.</li>
+ *     <li>Las respuestas se escriben en un pool acotado: como mucho max-concurrent a la vez y
+ *     queue-capacity esperando; el resto se rechaza con 503.</li>
+ * </ul>
+ * El pool no se publica como bean para no reemplazar al applicationTaskExecutor de Spring Boot, que usa,
+ * por ejemplo, el arranque diferido de los repositorios JPA. EmployeeProperties se habilita aquí también
+ * porque los tests @WebMvcTest cargan este WebMvcConfigurer sin el escaneo de propiedades de la aplicación.
+ */
+@EnableConfigurationProperties(EmployeeProperties.class)
+@Configuration(proxyBeanMethods = false)
+public class StreamingConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final EmployeeProperties.Stream properties;
+    private final ThreadPoolTaskExecutor streamingExecutor;
+
+    public StreamingConfig(EmployeeProperties employeeProperties) {
+        this.properties = employeeProperties.getStream();
+        this.streamingExecutor = new ThreadPoolTaskExecutor();
+        this.streamingExecutor.setCorePoolSize(this.properties.getMaxConcurrent());
+        this.streamingExecutor.setMaxPoolSize(this.properties.getMaxConcurrent());
+        this.streamingExecutor.setQueueCapacity(this.properties.getQueueCapacity());
+        this.streamingExecutor.setThreadNamePrefix("employee-stream-");
+        this.streamingExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(this.properties.getTimeout().toMillis());
+        configurer.setTaskExecutor(this.streamingExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        this.streamingExecutor.shutdown();
+    }
+}
@@ -0,0 +1,40 @@
+package com.magadiflo.crud.api.app.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * DataSource de la aplicación cuando hay réplicas. Las transacciones {@code readOnly} van a
+ * {@link ReplicaDataSource} y el resto al primario.
+ * <p>
+ * La conexión física se pide en la primera sentencia y no al abrir la transacción: en ese momento
+ * Hibernate ya marcó la conexión como de solo lectura, que es lo que decide el destino.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas;
+        this.setReadOnlyDataSource(replicas);
+    }
+
+    @Override
+    public void close() {
+        this.replicas.close();
+        if (this.primary instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.magadiflo.crud.api.app.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes: las peticiones que escriben, y todas las del mismo cliente durante
+ * employees.replicas.read-your-writes-window después de una escritura correcta, leen del primario.
+ * El cliente se identifica por la cabecera employees.replicas.client-id-header o, sin ella, por su
+ * dirección IP. Las lecturas de un StreamingResponseBody corren en otro hilo y siempre van a réplica.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+    private static final int MAX_TRACKED_CLIENTS = 100_000;
+
+    private final String clientIdHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(String clientIdHeader, Duration window) {
+        this.clientIdHeader = clientIdHeader;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_CLIENTS)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = this.clientOf(request);
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write || this.recentWriters.getIfPresent(client) != null) {
+            ReplicaDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaDataSource.unpin();
+            if (write && response.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
+                this.recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String clientId = request.getHeader(this.clientIdHeader);
+        return clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId;
+    }
+}
@@ -0,0 +1,169 @@
+package com.magadiflo.crud.api.app.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource de solo lectura que reparte las conexiones entre las réplicas en round-robin.
+ * <ul>
+ *     <li>Expulsión: una réplica sale del reparto cuando falla su health check periódico
+ *     ({@link Connection#isValid}) o cuando falla al pedirle una conexión; vuelve en cuanto pasa el
+ *     siguiente health check.</li>
+ *     <li>Respaldo: sin réplicas sanas, o con el hilo fijado al primario por read-your-writes
+ *     ({@link ReadYourWritesFilter}), la conexión sale del primario.</li>
+ * </ul>
+ * El retraso de replicación no se mide (no hay una consulta portable para ello); read-your-writes
+ * cubre al cliente que acaba de escribir y la caché por id se actualiza en cada escritura.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaDataSource.class);
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+    private final Counter fallbacks;
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, Duration healthCheckInterval,
+                             Duration healthCheckTimeout, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource,
+                Counter.builder("employees.replicas.connections")
+                        .description("Read-only connections served by each replica")
+                        .tag("replica", name)
+                        .register(meterRegistry))));
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.fallbacks = Counter.builder("employees.replicas.fallbacks")
+                .description("Read-only connections served by the primary because no replica was usable")
+                .register(meterRegistry);
+        Gauge.builder("employees.replicas.healthy", this.replicas, ReplicaDataSource::countHealthy)
+                .description("Replicas currently receiving reads")
+                .register(meterRegistry);
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        this.healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        this.healthChecker.shutdownNow();
+        for (Replica replica : this.replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOG.warn("Could not close read replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    void checkHealth() {
+        for (Replica replica : this.replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(this.healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                LOG.info("Read replica {} passed its health check, routing reads to it again", replica.name);
+            } else if (!healthy && replica.healthy) {
+                LOG.warn("Read replica {} failed its health check, ejecting it", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    private Connection connect(ConnectionFactory connectionFactory) throws SQLException {
+        if (PINNED_TO_PRIMARY.get() == null && !this.replicas.isEmpty()) {
+            int size = this.replicas.size();
+            int start = Math.floorMod(this.next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = this.replicas.get((start + i) % size);
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = connectionFactory.connect(replica.dataSource);
+                    replica.connections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    LOG.warn("Read replica {} refused a connection, ejecting it until its next health check", replica.name, e);
+                }
+            }
+            this.fallbacks.increment();
+        }
+        return connectionFactory.connect(this.primary);
+    }
+
+    private static double countHealthy(List<Replica> replicas) {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter connections;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.magadiflo.crud.api.app.dto;
+
+import org.springframework.http.HttpStatus;
+
+public record EmployeeBatchResult(int index, Long id, int status, String error) {
+
+    public static EmployeeBatchResult success(int index, Long id, HttpStatus status) {
+        return new EmployeeBatchResult(index, id, status.value(), null);
+    }
+
+    public static EmployeeBatchResult failure(int index, Long id, HttpStatus status, String error) {
+        return new EmployeeBatchResult(index, id, status.value(), error);
+    }
+}
@@ -0,0 +1,15 @@
+package com.magadiflo.crud.api.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+
+import java.time.Instant;
+
+/**
+ * Entrada del feed de cambios. {@code employee} es el estado tras el cambio; en los borrados es
+ * {@code null} y no se serializa.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeChange(long seq, EmployeeChangedEvent.Type type, Long id, EmployeeView employee,
+                             Instant changedAt) {
+}
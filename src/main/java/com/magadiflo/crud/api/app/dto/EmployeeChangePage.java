@@ -0,0 +1,14 @@
+package com.magadiflo.crud.api.app.dto;
+
+import java.util.List;
+
+/**
+ * {@code lastSeq} es el {@code since} de la siguiente consulta: el seq del último cambio devuelto o,
+ * si no hubo cambios, el mismo {@code since} recibido.
+ */
+public record EmployeeChangePage(List<EmployeeChange> changes, long lastSeq) {
+
+    public static EmployeeChangePage of(List<EmployeeChange> changes, long since) {
+        return new EmployeeChangePage(changes, changes.isEmpty() ? since : changes.get(changes.size() - 1).seq());
+    }
+}
@@ -0,0 +1,10 @@
+package com.magadiflo.crud.api.app.dto;
+
+/**
+ * Estado del listado para su ETag. count, maxId y versionSum pueden repetirse: un borrado y un alta con
+ * un id por debajo del máximo (otro nodo o la aplicación reactiva tienen reservado un bloque de ids
+ * anterior) dejan los tres iguales. changeSeq es el último seq del contador del outbox, que toda
+ * escritura incrementa en su transacción, así que nunca vuelve a un valor anterior.
+ */
+public record EmployeeCollectionVersion(Long count, Long maxId, Long versionSum, Long changeSeq) {
+}
@@ -0,0 +1,24 @@
+package com.magadiflo.crud.api.app.dto;
+
+import com.magadiflo.crud.api.app.command.EmployeeCommand;
+
+public record EmployeeCommandStatus(String ticket, EmployeeCommand.Type type, State state, Long id, Integer status,
+                                    String error) {
+
+    public enum State {
+        PENDING, APPLIED, REJECTED, FAILED
+    }
+
+    public static EmployeeCommandStatus pending(EmployeeCommand command) {
+        return new EmployeeCommandStatus(command.ticket(), command.type(), State.PENDING, command.id(), null, null);
+    }
+
+    public static EmployeeCommandStatus of(EmployeeCommand command, EmployeeBatchResult result) {
+        State state = result.status() < 300 ? State.APPLIED : State.REJECTED;
+        return new EmployeeCommandStatus(command.ticket(), command.type(), state, result.id(), result.status(), result.error());
+    }
+
+    public static EmployeeCommandStatus failed(EmployeeCommand command, int status, String error) {
+        return new EmployeeCommandStatus(command.ticket(), command.type(), State.FAILED, command.id(), status, error);
+    }
+}
@@ -0,0 +1,24 @@
+package com.magadiflo.crud.api.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class EmployeeCursor {
+
+    private EmployeeCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Invalid cursor %s", cursor), e);
+        }
+    }
+}
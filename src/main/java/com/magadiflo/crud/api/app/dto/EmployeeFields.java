@@ -0,0 +1,63 @@
+package com.magadiflo.crud.api.app.dto;
+
+import java.util.List;
+
+/**
+ * Fieldset parcial del parámetro {@code fields=} (p. ej. {@code fields=id,email}). Sin el parámetro se
+ * devuelve la vista tal cual; con él, se copia dejando a null los campos no pedidos.
+ */
+public final class EmployeeFields {
+
+    public static final EmployeeFields ALL = new EmployeeFields(true, true, true, true, true);
+
+    private final boolean id;
+    private final boolean firstName;
+    private final boolean lastName;
+    private final boolean email;
+    private final boolean version;
+
+    private EmployeeFields(boolean id, boolean firstName, boolean lastName, boolean email, boolean version) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.version = version;
+    }
+
+    public static EmployeeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        boolean id = false, firstName = false, lastName = false, email = false, version = false;
+        for (String field : fields.split(",")) {
+            switch (field.trim()) {
+                case "id" -> id = true;
+                case "firstName" -> firstName = true;
+                case "lastName" -> lastName = true;
+                case "email" -> email = true;
+                case "version" -> version = true;
+                default -> throw new IllegalArgumentException(String.format("Unknown employee field %s", field));
+            }
+        }
+        return new EmployeeFields(id, firstName, lastName, email, version);
+    }
+
+    public EmployeeView select(EmployeeView view) {
+        if (this == ALL) {
+            return view;
+        }
+        return new EmployeeView(this.id ? view.id() : null,
+                this.firstName ? view.firstName() : null,
+                this.lastName ? view.lastName() : null,
+                this.email ? view.email() : null,
+                this.version ? view.version() : null);
+    }
+
+    public List<EmployeeView> select(List<EmployeeView> views) {
+        return this == ALL ? views : views.stream().map(this::select).toList();
+    }
+
+    public EmployeePage select(EmployeePage page) {
+        return this == ALL ? page : new EmployeePage(this.select(page.content()), page.nextCursor(), page.truncated());
+    }
+}
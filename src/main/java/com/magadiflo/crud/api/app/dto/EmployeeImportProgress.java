@@ -0,0 +1,43 @@
+package com.magadiflo.crud.api.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Estado de una importación. Es una instantánea inmutable: EmployeeImporter publica una nueva al
+ * terminar cada bloque, así quien consulta el progreso nunca ve contadores a medio actualizar.
+ * {@code errors} guarda como mucho employees.transfer.max-reported-errors filas rechazadas con su
+ * índice absoluto en el archivo; {@code rejected} las cuenta todas.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeImportProgress(String importId, State state, long records, long created, long rejected,
+                                     long bytesRead, Long totalBytes, Instant startedAt, Instant finishedAt,
+                                     String error, List<EmployeeBatchResult> errors) {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public static EmployeeImportProgress started(String importId, Long totalBytes) {
+        return new EmployeeImportProgress(importId, State.RUNNING, 0, 0, 0, 0, totalBytes, Instant.now(), null,
+                null, List.of());
+    }
+
+    public EmployeeImportProgress advance(long records, long created, long rejected, long bytesRead,
+                                          List<EmployeeBatchResult> errors) {
+        return new EmployeeImportProgress(this.importId, this.state, records, created, rejected, bytesRead,
+                this.totalBytes, this.startedAt, null, null, errors);
+    }
+
+    public EmployeeImportProgress completed() {
+        return new EmployeeImportProgress(this.importId, State.COMPLETED, this.records, this.created, this.rejected,
+                this.bytesRead, this.totalBytes, this.startedAt, Instant.now(), null, this.errors);
+    }
+
+    public EmployeeImportProgress failed(String error) {
+        return new EmployeeImportProgress(this.importId, State.FAILED, this.records, this.created, this.rejected,
+                this.bytesRead, this.totalBytes, this.startedAt, Instant.now(), error, this.errors);
+    }
+}
@@ -0,0 +1,17 @@
+package com.magadiflo.crud.api.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * {@code truncated} solo lo informa la búsqueda aproximada, cuando puede haber coincidencias que no
+ * aparecen en ninguna página; en el resto de casos es {@code null} y no se serializa.
+ */
+public record EmployeePage(List<EmployeeView> content, String nextCursor,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) Boolean truncated) {
+
+    public EmployeePage(List<EmployeeView> content, String nextCursor) {
+        this(content, nextCursor, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.magadiflo.crud.api.app.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record EmployeeStatisticsView(long total, Map<String, Long> byEmailDomain, Map<String, Long> byLastNameInitial,
+                                     long createdInRateWindow, long rateWindowSeconds, double creationsPerMinute,
+                                     Instant reconciledAt) {
+}
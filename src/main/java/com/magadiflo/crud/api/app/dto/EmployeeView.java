@@ -0,0 +1,19 @@
+package com.magadiflo.crud.api.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.magadiflo.crud.api.app.entities.Employee;
+
+/**
+ * Modelo de lectura inmutable. EmployeeJdbcRepository lo construye directamente desde el ResultSet,
+ * sin registrar entidades en el contexto de persistencia ni guardar sus snapshots para el
+ * dirty-checking. Los campos nulos no se serializan, así un fieldset parcial
+ * ({@link EmployeeFields}) solo escribe lo pedido.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeView(Long id, String firstName, String lastName, String email, Long version) {
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getVersion());
+    }
+}
@@ -0,0 +1,4 @@
+package com.magadiflo.crud.api.app.dto;
+
+public record ErrorResponse(int status, String message) {
+}
@@ -1,8 +1,10 @@
 package com.magadiflo.crud.api.app.entities;
 
+import com.magadiflo.crud.api.app.entities.id.EmployeeIdGenerator;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 
 @Setter
 @Getter
@@ -11,10 +13,13 @@ import javax.persistence.*;
 @Builder
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = @Index(name = Employee.EMAIL_UNIQUE_INDEX, columnList = "email", unique = true))
 public class Employee {
+    public static final String EMAIL_UNIQUE_INDEX = "uk_employees_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "employee-id")
+    @GenericGenerator(name = "employee-id", type = EmployeeIdGenerator.class)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -26,4 +31,7 @@ public class Employee {
     @Column(nullable = false)
     private String email;
 
+    @Version
+    private Long version;
+
 }
@@ -0,0 +1,50 @@
+package com.magadiflo.crud.api.app.entities;
+
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import lombok.*;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Fila del outbox de cambios. Solo define la tabla: se escribe y se lee con
+ * {@link com.magadiflo.crud.api.app.repository.EmployeeChangeJdbcRepository}. {@code seq} no es
+ * autoincremental, lo reserva {@link EmployeeOutboxSequence} para que el orden de seq sea el de commit.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "employee_outbox", indexes = {
+        @Index(name = "ix_employee_outbox_employee_id", columnList = "employee_id, seq"),
+        @Index(name = "ix_employee_outbox_changed_at", columnList = "changed_at")
+})
+public class EmployeeOutboxEntry {
+
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmployeeChangedEvent.Type type;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    @Column(name = "employee_version")
+    private Long employeeVersion;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+}
@@ -0,0 +1,27 @@
+package com.magadiflo.crud.api.app.entities;
+
+import lombok.*;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador de una sola fila para los seq del outbox. Cada transacción lo incrementa justo antes del
+ * commit y mantiene el bloqueo de la fila hasta confirmar, así ninguna transacción puede confirmar un
+ * seq menor que uno ya visible y los consumidores que avanzan con {@code since} no se saltan cambios.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "employee_outbox_sequence")
+public class EmployeeOutboxSequence {
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+}
@@ -0,0 +1,46 @@
+package com.magadiflo.crud.api.app.entities;
+
+import lombok.*;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Tabla del almacén de Idempotency-Key compartido entre instancias
+ * ({@link com.magadiflo.crud.api.app.idempotency.JdbcIdempotencyStore}); solo define el esquema.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "ix_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Integer status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(length = 4000)
+    private String headers;
+
+    @Column(length = 1_048_576)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+}
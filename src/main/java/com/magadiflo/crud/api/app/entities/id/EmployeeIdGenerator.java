@@ -0,0 +1,118 @@
+package com.magadiflo.crud.api.app.entities.id;
+
+import com.magadiflo.crud.api.app.sharding.EmployeeShardContext;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardRouter;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardStrategy;
+import org.hibernate.HibernateException;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerationException;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Generador de ids de {@code Employee} seleccionable por configuración. A diferencia de
+ * {@code GenerationType.IDENTITY}, ambas estrategias asignan el id antes del INSERT, lo que
+ * permite a Hibernate agrupar los INSERT en lotes JDBC.
+ * <p>
+ * Con shards, cada shard asigna sus ids locales con su propia tabla employee_ids y el id final codifica
+ * el shard ({@link EmployeeShardRouter#encode}).
+ */
+public class EmployeeIdGenerator implements IdentifierGenerator {
+
+    public static final String STRATEGY = "employees.id.strategy";
+    public static final String INCREMENT_SIZE = "employees.id.increment-size";
+    public static final String NODE_ID = "employees.id.node-id";
+    public static final String SHARD_COUNT = "employees.shards.count";
+    public static final String SHARD_STRATEGY = "employees.shards.strategy";
+    public static final String SHARD_RANGE_SIZE = "employees.shards.range-size";
+
+    static final String TABLE_NAME = "employee_ids";
+    static final String SEGMENT_VALUE = "employees";
+
+    private IdentifierGenerator tableGenerator;
+    private TimeOrderedIdGenerator timeOrderedIdGenerator;
+    private EmployeeShardRouter shardRouter;
+    private IdentifierGenerator[] shardTableGenerators;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        EmployeeIdStrategy strategy = EmployeeIdStrategy.valueOf(
+                ConfigurationHelper.getString(STRATEGY, settings, EmployeeIdStrategy.POOLED_LO.name()));
+
+        if (strategy == EmployeeIdStrategy.TIME_ORDERED) {
+            this.timeOrderedIdGenerator = new TimeOrderedIdGenerator(ConfigurationHelper.getLong(NODE_ID, settings, 0));
+            return;
+        }
+
+        Properties tableParams = new Properties();
+        tableParams.putAll(params);
+        tableParams.put(TableGenerator.TABLE_PARAM, TABLE_NAME);
+        tableParams.put(TableGenerator.SEGMENT_VALUE_PARAM, SEGMENT_VALUE);
+        tableParams.put(TableGenerator.INCREMENT_PARAM, String.valueOf(ConfigurationHelper.getInt(INCREMENT_SIZE, settings, 50)));
+        tableParams.put(TableGenerator.OPT_PARAM, "pooled-lo");
+        this.tableGenerator = new TableGenerator();
+        this.tableGenerator.configure(type, tableParams, serviceRegistry);
+
+        int shardCount = ConfigurationHelper.getInt(SHARD_COUNT, settings, 0);
+        if (shardCount > 0) {
+            this.shardRouter = new EmployeeShardRouter(
+                    EmployeeShardStrategy.valueOf(ConfigurationHelper.getString(SHARD_STRATEGY, settings, EmployeeShardStrategy.RANGE.name())),
+                    shardCount, Long.parseLong(ConfigurationHelper.getString(SHARD_RANGE_SIZE, settings, String.valueOf(1L << 40))));
+            // El optimizador pooled-lo guarda en memoria el bloque de ids reservado: uno por shard.
+            this.shardTableGenerators = new IdentifierGenerator[shardCount];
+            this.shardTableGenerators[0] = this.tableGenerator;
+            for (int shard = 1; shard < shardCount; shard++) {
+                this.shardTableGenerators[shard] = new TableGenerator();
+                this.shardTableGenerators[shard].configure(type, tableParams, serviceRegistry);
+            }
+        }
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        if (this.shardTableGenerators != null) {
+            for (IdentifierGenerator shardTableGenerator : this.shardTableGenerators) {
+                shardTableGenerator.registerExportables(database);
+            }
+        } else if (this.tableGenerator != null) {
+            this.tableGenerator.registerExportables(database);
+        }
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        if (this.shardTableGenerators != null) {
+            for (IdentifierGenerator shardTableGenerator : this.shardTableGenerators) {
+                shardTableGenerator.initialize(context);
+            }
+        } else if (this.tableGenerator != null) {
+            this.tableGenerator.initialize(context);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        if (this.timeOrderedIdGenerator != null) {
+            return this.timeOrderedIdGenerator.nextId();
+        }
+        if (this.shardRouter != null) {
+            Integer shard = EmployeeShardContext.current();
+            if (shard == null) {
+                throw new IdentifierGenerationException("Employee ids are assigned per shard, persist inside an EmployeeShardContext");
+            }
+            long localId = ((Number) this.shardTableGenerators[shard].generate(session, object)).longValue();
+            return this.shardRouter.encode(shard, localId);
+        }
+        return this.tableGenerator.generate(session, object);
+    }
+}
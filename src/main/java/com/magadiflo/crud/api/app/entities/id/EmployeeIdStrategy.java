@@ -0,0 +1,6 @@
+package com.magadiflo.crud.api.app.entities.id;
+
+public enum EmployeeIdStrategy {
+    POOLED_LO,
+    TIME_ORDERED
+}
@@ -0,0 +1,49 @@
+package com.magadiflo.crud.api.app.entities.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Genera identificadores de 64 bits ordenados por tiempo sin acceder a la base de datos:
+ * 41 bits de milisegundos desde {@link #EPOCH}, 10 bits de nodo y 12 bits de secuencia.
+ * Si el reloj retrocede o se agota la secuencia, se toma prestado el siguiente milisegundo,
+ * por lo que los identificadores de un mismo nodo siempre son crecientes.
+ */
+public class TimeOrderedIdGenerator {
+
+    public static final long EPOCH = Instant.parse("2023-01-01T00:00:00Z").toEpochMilli();
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    public TimeOrderedIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(String.format("Node id must be between 0 and %d", MAX_NODE_ID));
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long next;
+        long previous;
+        do {
+            previous = this.lastTimestampAndSequence.get();
+            long now = (this.clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            next = Math.max(now, previous + 1);
+        } while (!this.lastTimestampAndSequence.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (this.nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
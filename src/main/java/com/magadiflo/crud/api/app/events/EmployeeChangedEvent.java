@@ -0,0 +1,29 @@
+package com.magadiflo.crud.api.app.events;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+
+/**
+ * Lo publica el servicio en cada escritura. {@code employee} es una vista inmutable del estado
+ * escrito ({@code null} en los borrados), así los listeners nunca ven cambios posteriores de la
+ * entidad gestionada. {@code previous} es el estado anterior ({@code null} en las altas): con él
+ * un listener puede descontar lo que había sin guardar nada por id.
+ */
+public record EmployeeChangedEvent(Type type, Long id, EmployeeView employee, EmployeeView previous) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), EmployeeView.of(employee), null);
+    }
+
+    public static EmployeeChangedEvent updated(EmployeeView previous, Employee employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), EmployeeView.of(employee), previous);
+    }
+
+    public static EmployeeChangedEvent deleted(EmployeeView previous) {
+        return new EmployeeChangedEvent(Type.DELETED, previous.id(), null, previous);
+    }
+}
@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeChangeFeedUnavailableException extends RuntimeException {
+
+    public EmployeeChangeFeedUnavailableException() {
+        super("Employee change feed is not available with employees.shards enabled");
+    }
+}
@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeEmailAlreadyExistsException extends RuntimeException {
+
+    public EmployeeEmailAlreadyExistsException(String email, Throwable cause) {
+        super(String.format("Employee already exist with given email %s", email), cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeImportInProgressException extends RuntimeException {
+
+    public EmployeeImportInProgressException(String importId) {
+        super(String.format("Employee import %s is already running", importId));
+    }
+}
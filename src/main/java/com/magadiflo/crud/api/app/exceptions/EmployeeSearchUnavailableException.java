@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeSearchUnavailableException extends RuntimeException {
+
+    public EmployeeSearchUnavailableException() {
+        super("Employee search index is still loading, retry shortly");
+    }
+}
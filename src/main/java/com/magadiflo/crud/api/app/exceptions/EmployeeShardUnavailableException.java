@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeShardUnavailableException extends RuntimeException {
+
+    public EmployeeShardUnavailableException(int shard, Throwable cause) {
+        super(String.format("Employee shard %d did not answer, retry shortly", shard), cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeSnapshotReadOnlyException extends RuntimeException {
+
+    public EmployeeSnapshotReadOnlyException() {
+        super("This instance serves a read-only employee snapshot, send writes to the primary");
+    }
+}
@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeSnapshotUnavailableException extends RuntimeException {
+
+    public EmployeeSnapshotUnavailableException() {
+        super("Employee snapshot is not loaded yet, retry shortly");
+    }
+}
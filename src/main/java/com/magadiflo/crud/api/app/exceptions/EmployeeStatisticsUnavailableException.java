@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeStatisticsUnavailableException extends RuntimeException {
+
+    public EmployeeStatisticsUnavailableException() {
+        super("Employee statistics are still loading, retry shortly");
+    }
+}
@@ -0,0 +1,12 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeVersionMismatchException extends RuntimeException {
+
+    public EmployeeVersionMismatchException(Long id, Long expectedVersion, Long currentVersion) {
+        super(String.format("Employee %d has version %d but version %d was expected", id, currentVersion, expectedVersion));
+    }
+
+    public EmployeeVersionMismatchException(String ifMatch) {
+        super(String.format("Invalid If-Match value %s", ifMatch));
+    }
+}
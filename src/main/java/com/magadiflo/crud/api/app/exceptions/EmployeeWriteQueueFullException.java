@@ -0,0 +1,8 @@
+package com.magadiflo.crud.api.app.exceptions;
+
+public class EmployeeWriteQueueFullException extends RuntimeException {
+
+    public EmployeeWriteQueueFullException() {
+        super("Employee write queue is full, retry shortly");
+    }
+}
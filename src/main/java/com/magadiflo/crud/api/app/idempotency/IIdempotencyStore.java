@@ -0,0 +1,13 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+import java.util.Optional;
+
+public interface IIdempotencyStore {
+
+    Optional<IdempotentResponse> find(String key);
+
+    /**
+     * Si la clave ya tiene respuesta guardada se conserva la primera.
+     */
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,289 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Soporte de {@code Idempotency-Key} para los POST de las rutas configuradas (por defecto
+ * POST /api/v1/employees). La primera petición con una clave se ejecuta y su respuesta se guarda; los
+ * reintentos con la misma clave reciben esa respuesta (con {@code Idempotent-Replayed: true}) sin
+ * llegar al controlador ni a la base de datos.
+ * <ul>
+ *     <li>Duplicados simultáneos: mientras la primera está en curso, las demás esperan su resultado
+ *     hasta in-flight-timeout en lugar de ejecutarse otra vez; si no llega a tiempo responden 409 con
+ *     Retry-After.</li>
+ *     <li>La misma clave con otro cuerpo o en otra ruta responde 422: es un error del cliente, no un
+ *     reintento.</li>
+ *     <li>Las respuestas 5xx no se guardan, así el siguiente reintento vuelve a ejecutarse.</li>
+ * </ul>
+ * Solo para endpoints que responden de forma síncrona: la respuesta se captura en memoria.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> NOT_STORED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.DATE.toLowerCase());
+
+    private final IIdempotencyStore store;
+    private final EmployeeProperties.Idempotency properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<PathPattern> paths;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IIdempotencyStore store, EmployeeProperties.Idempotency properties, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.paths = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(this.properties.getHeader()) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return this.paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(this.properties.getHeader());
+        if (key.isBlank() || key.length() > this.properties.getMaxKeyLength()) {
+            this.reject(response, HttpStatus.BAD_REQUEST, String.format("%s must have between 1 and %d characters",
+                    this.properties.getHeader(), this.properties.getMaxKeyLength()));
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String scopedKey = request.getMethod() + " " + request.getRequestURI() + " " + key;
+        String fingerprint = fingerprint(request, body);
+
+        Optional<IdempotentResponse> stored = this.store.find(scopedKey);
+        if (stored.isPresent()) {
+            this.replay(stored.get(), fingerprint, response, "replayed");
+            return;
+        }
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = this.inFlight.putIfAbsent(scopedKey, mine);
+        if (running != null) {
+            this.awaitAndReplay(running, fingerprint, response);
+            return;
+        }
+        try {
+            // Entre la primera búsqueda y el registro pudo terminar otra petición con la misma clave.
+            stored = this.store.find(scopedKey);
+            if (stored.isPresent()) {
+                mine.response().complete(stored.get());
+                this.replay(stored.get(), fingerprint, response, "replayed");
+                return;
+            }
+            IdempotentResponse executed = this.execute(new CachedBodyRequest(request, body), response, filterChain, fingerprint);
+            if (executed.status() < HttpStatus.INTERNAL_SERVER_ERROR.value()
+                    && executed.body().length <= this.properties.getMaxBodySize()) {
+                this.store.save(scopedKey, executed);
+            }
+            mine.response().complete(executed);
+            this.count("executed");
+        } catch (ServletException | IOException | RuntimeException e) {
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    private IdempotentResponse execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                       String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!NOT_STORED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, wrapper.getHeader(name));
+            }
+        }
+        IdempotentResponse executed = new IdempotentResponse(fingerprint, wrapper.getStatus(), wrapper.getContentType(),
+                headers, wrapper.getContentAsByteArray(), Instant.now());
+        wrapper.copyBodyToResponse();
+        return executed;
+    }
+
+    private void awaitAndReplay(InFlight running, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!running.fingerprint().equals(fingerprint)) {
+            this.mismatch(response);
+            return;
+        }
+        try {
+            IdempotentResponse result = running.response()
+                    .get(this.properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            this.replay(result, fingerprint, response, "collapsed");
+        } catch (TimeoutException | ExecutionException e) {
+            this.inProgress(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.inProgress(response);
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String fingerprint, HttpServletResponse response, String outcome)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            this.mismatch(response);
+            return;
+        }
+        response.setStatus(stored.status());
+        stored.headers().forEach(response::setHeader);
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+        this.count(outcome);
+    }
+
+    private void mismatch(HttpServletResponse response) throws IOException {
+        this.count("mismatch");
+        this.reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                String.format("%s was already used with a different request", this.properties.getHeader()));
+    }
+
+    private void inProgress(HttpServletResponse response) throws IOException {
+        this.count("in-progress");
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        this.reject(response, HttpStatus.CONFLICT,
+                String.format("A request with the same %s is still in progress", this.properties.getHeader()));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+
+    private void count(String outcome) {
+        this.meterRegistry.counter("employees.idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<IdempotentResponse> response) {
+    }
+
+    /**
+     * El cuerpo ya se leyó para calcular la huella; el controlador lo vuelve a leer desde aquí.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(this.body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = this.getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(this.getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return this.body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return this.body.length;
+        }
+    }
+}
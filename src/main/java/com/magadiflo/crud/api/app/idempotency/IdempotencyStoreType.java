@@ -0,0 +1,6 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+public enum IdempotencyStoreType {
+    MEMORY,
+    JDBC
+}
@@ -0,0 +1,12 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Respuesta guardada para una Idempotency-Key. {@code fingerprint} identifica la petición original
+ * (método, ruta y cuerpo): la misma clave con otra petición no se repite, se rechaza.
+ */
+public record IdempotentResponse(String fingerprint, int status, String contentType, Map<String, String> headers,
+                                 byte[] body, Instant createdAt) {
+}
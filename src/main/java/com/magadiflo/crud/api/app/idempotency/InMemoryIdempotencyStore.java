@@ -0,0 +1,33 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+
+import java.util.Optional;
+
+/**
+ * Almacén local acotado por maximum-size y ttl. Solo deduplica los reintentos que llegan a la misma
+ * instancia; con varias instancias detrás de un balanceador usar {@code store=jdbc}.
+ */
+public class InMemoryIdempotencyStore implements IIdempotencyStore {
+
+    private final Cache<String, IdempotentResponse> responses;
+
+    public InMemoryIdempotencyStore(EmployeeProperties.Idempotency properties) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return Optional.ofNullable(this.responses.getIfPresent(key));
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        this.responses.asMap().putIfAbsent(key, response);
+    }
+}
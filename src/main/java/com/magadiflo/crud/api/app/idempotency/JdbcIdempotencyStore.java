@@ -0,0 +1,95 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Almacén compartido en la tabla idempotency_keys: un reintento que el balanceador envía a otra
+ * instancia también se repite desde aquí. Las filas vencidas no se devuelven y se borran cada
+ * purge-interval.
+ */
+public class JdbcIdempotencyStore implements IIdempotencyStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private static final String SELECT_BY_KEY = "SELECT fingerprint, status, content_type, headers, body, created_at " +
+            "FROM idempotency_keys WHERE idempotency_key = ? AND expires_at > ?";
+    private static final String INSERT = "INSERT INTO idempotency_keys " +
+            "(idempotency_key, fingerprint, status, content_type, headers, body, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_keys WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmployeeProperties.Idempotency properties;
+    private final RowMapper<IdempotentResponse> rowMapper;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, EmployeeProperties.Idempotency properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.rowMapper = (rs, rowNum) -> new IdempotentResponse(
+                rs.getString("fingerprint"),
+                rs.getInt("status"),
+                rs.getString("content_type"),
+                this.readHeaders(rs.getString("headers")),
+                rs.getBytes("body"),
+                rs.getTimestamp("created_at").toInstant());
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return this.jdbcTemplate.query(SELECT_BY_KEY, this.rowMapper, key, Timestamp.from(Instant.now())).stream().findFirst();
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        try {
+            this.jdbcTemplate.update(INSERT, key, response.fingerprint(), response.status(), response.contentType(),
+                    this.writeHeaders(response.headers()), response.body(), Timestamp.from(response.createdAt()),
+                    Timestamp.from(response.createdAt().plus(this.properties.getTtl())));
+        } catch (DuplicateKeyException e) {
+            LOG.debug("Idempotency key {} was already stored by another request", key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        try {
+            int purged = this.jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(Instant.now()));
+            LOG.debug("Purged {} expired idempotency keys", purged);
+        } catch (RuntimeException e) {
+            LOG.warn("Idempotency key purge failed", e);
+        }
+    }
+
+    private String writeHeaders(Map<String, String> headers) {
+        try {
+            return this.objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, String> readHeaders(String headers) {
+        try {
+            return headers == null ? Map.of() : this.objectMapper.readValue(headers, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
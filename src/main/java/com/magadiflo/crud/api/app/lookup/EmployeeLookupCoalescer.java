@@ -0,0 +1,214 @@
+package com.magadiflo.crud.api.app.lookup;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.datasource.ReplicaDataSource;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Búsquedas por id agrupadas (single-flight + micro-batching) para getEmployeeById:
+ * <ul>
+ *     <li>Las búsquedas simultáneas del mismo id comparten una sola consulta: la segunda espera el
+ *     resultado de la que ya está en curso.</li>
+ *     <li>Los ids distintos que llegan dentro de window (hasta max-batch-size) van en un solo
+ *     {@code WHERE id IN (...)}. La primera petición del lote es la líder: espera la ventana, ejecuta la
+ *     consulta en su propio hilo y en una sola transacción de solo lectura, y entrega el resultado a las
+ *     demás. Así las métricas JDBC por petición y el pool de conexiones ven una sola consulta, hecha por
+ *     la líder. Si no hay otras búsquedas en curso no espera: sin concurrencia nadie más entraría en la
+ *     ventana, y una búsqueda aislada no paga su latencia.</li>
+ * </ul>
+ * Con shards cada shard tiene sus propios lotes: la líder consulta en su hilo, con el shard que ya
+ * tiene fijado.
+ * <p>
+ * No se agrupan las búsquedas que necesitan ver sus propias escrituras: dentro de una transacción o
+ * con la petición fijada al primario (ReadYourWritesFilter) se consulta directamente.
+ * <p>
+ * La razón de agrupamiento es employees.lookup.requests / employees.lookup.queries; el gauge
+ * employees.lookup.coalescing-ratio la da acumulada desde el arranque.
+ */
+@Component
+public class EmployeeLookupCoalescer {
+
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EmployeeProperties.Lookup properties;
+    private final ConcurrentMap<Long, CompletableFuture<Optional<EmployeeView>>> inFlight = new ConcurrentHashMap<>();
+    private final Object batchLock = new Object();
+    private final Counter batched;
+    private final Counter coalesced;
+    private final Counter direct;
+    private final Counter queries;
+    private final DistributionSummary batchSize;
+    private final Map<Integer, Batch> openBatches = new HashMap<>();
+
+    public EmployeeLookupCoalescer(EmployeeJdbcRepository employeeJdbcRepository, PlatformTransactionManager transactionManager,
+                                   EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = employeeProperties.getLookup();
+
+        this.batched = lookups(meterRegistry, "batched");
+        this.coalesced = lookups(meterRegistry, "coalesced");
+        this.direct = lookups(meterRegistry, "direct");
+        this.queries = Counter.builder("employees.lookup.queries")
+                .description("Database queries issued for employee lookups by id")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("employees.lookup.batch.size")
+                .description("Distinct employee ids per lookup query")
+                .register(meterRegistry);
+        Gauge.builder("employees.lookup.coalescing-ratio", this, EmployeeLookupCoalescer::coalescingRatio)
+                .description("Employee lookups by id served per database query since startup")
+                .register(meterRegistry);
+    }
+
+    public Optional<EmployeeView> findViewById(Long id) {
+        if (!this.properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()
+                || ReplicaDataSource.isPinnedToPrimary()) {
+            this.direct.increment();
+            this.queries.increment();
+            this.batchSize.record(1);
+            return this.readOnlyTransaction.execute(status -> this.employeeJdbcRepository.findViewById(id));
+        }
+
+        CompletableFuture<Optional<EmployeeView>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<EmployeeView>> running = this.inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            this.coalesced.increment();
+            return await(running);
+        }
+
+        this.batched.increment();
+        Integer shard = EmployeeShardContext.current();
+        Batch batch;
+        boolean leader = false;
+        synchronized (this.batchLock) {
+            batch = this.openBatches.get(shard);
+            if (batch == null) {
+                batch = new Batch(shard);
+                this.openBatches.put(shard, batch);
+                leader = true;
+            }
+            batch.ids.add(id);
+            if (batch.ids.size() >= this.properties.getMaxBatchSize()) {
+                this.openBatches.remove(shard);
+                batch.full.countDown();
+            }
+        }
+        if (leader) {
+            this.lead(batch);
+        }
+        return await(mine);
+    }
+
+    double coalescingRatio() {
+        double issued = this.queries.count();
+        return issued == 0 ? 0 : (this.batched.count() + this.coalesced.count() + this.direct.count()) / issued;
+    }
+
+    private void lead(Batch batch) {
+        List<Long> ids;
+        try {
+            if (!this.alone(batch)) {
+                batch.full.await(this.properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this.batchLock) {
+                this.openBatches.remove(batch.shard, batch);
+                ids = List.copyOf(batch.ids);
+            }
+        }
+        this.load(ids);
+    }
+
+    /**
+     * Todas las búsquedas en curso (cargándose o esperando lote, en cualquier shard) ya están en este
+     * lote. Una que acaba de registrarse en inFlight y aún no entró en el lote cuenta como otra, así
+     * que en la duda se espera la ventana como antes.
+     */
+    private boolean alone(Batch batch) {
+        synchronized (this.batchLock) {
+            return this.inFlight.size() <= batch.ids.size();
+        }
+    }
+
+    private void load(List<Long> ids) {
+        try {
+            this.queries.increment();
+            this.batchSize.record(ids.size());
+            Map<Long, EmployeeView> found = this.readOnlyTransaction.execute(status ->
+                    this.employeeJdbcRepository.findViewsByIds(ids).stream()
+                            .collect(Collectors.toMap(EmployeeView::id, Function.identity())));
+            for (Long id : ids) {
+                this.complete(id, Optional.ofNullable(found == null ? null : found.get(id)));
+            }
+        } catch (RuntimeException e) {
+            for (Long id : ids) {
+                CompletableFuture<Optional<EmployeeView>> future = this.inFlight.remove(id);
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void complete(Long id, Optional<EmployeeView> employee) {
+        CompletableFuture<Optional<EmployeeView>> future = this.inFlight.remove(id);
+        if (future != null) {
+            future.complete(employee);
+        }
+    }
+
+    private static Optional<EmployeeView> await(CompletableFuture<Optional<EmployeeView>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employees.lookup.requests")
+                .description("Employee lookups by id, by how they reached the database")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Batch {
+        private final Integer shard;
+        private final List<Long> ids = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        private Batch(Integer shard) {
+            this.shard = shard;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.magadiflo.crud.api.app.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica los contadores de {@link Statistics} de Hibernate con los mismos nombres que usa
+ * hibernate-micrometer. Se quedan en cero si {@code hibernate.generate_statistics} está desactivado.
+ */
+@AllArgsConstructor
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "hibernate.sessions.open", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.sessions.closed", "Sessions closed", Statistics::getSessionCloseCount);
+        counter(registry, "hibernate.transactions", "Transactions completed", s -> s.getTransactionCount() - s.getSuccessfulTransactionCount(), "result", "failure");
+        counter(registry, "hibernate.transactions", "Transactions completed", Statistics::getSuccessfulTransactionCount, "result", "success");
+        counter(registry, "hibernate.optimistic.failures", "StaleObjectStateExceptions that occurred", Statistics::getOptimisticFailureCount);
+        counter(registry, "hibernate.flushes", "Flushes executed by sessions", Statistics::getFlushCount);
+        counter(registry, "hibernate.connections.obtained", "JDBC connections obtained", Statistics::getConnectCount);
+        counter(registry, "hibernate.statements", "Statements prepared", Statistics::getPrepareStatementCount, "status", "prepared");
+        counter(registry, "hibernate.statements", "Statements closed", Statistics::getCloseStatementCount, "status", "closed");
+        counter(registry, "hibernate.entities.loads", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entities fetched", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.entities.inserts", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, "hibernate.entities.updates", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, "hibernate.entities.deletes", "Entities deleted", Statistics::getEntityDeleteCount);
+        counter(registry, "hibernate.query.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        TimeGauge.builder("hibernate.query.executions.max", this.statistics, TimeUnit.MILLISECONDS, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query execution time")
+                .register(registry);
+        Gauge.builder("hibernate.sessions.open.current", this.statistics, s -> s.getSessionOpenCount() - s.getSessionCloseCount())
+                .description("Sessions currently open")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> function, String... tags) {
+        FunctionCounter.builder(name, this.statistics, function)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
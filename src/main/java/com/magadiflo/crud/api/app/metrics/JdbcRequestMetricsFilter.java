@@ -0,0 +1,51 @@
+package com.magadiflo.crud.api.app.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra cuántas sentencias JDBC ejecutó cada petición y cuánto tardaron en total, con las mismas
+ * etiquetas que {@code http.server.requests}, para que un N+1 se vea por endpoint. Las sentencias de
+ * un dispatch asíncrono (streaming NDJSON) no se atribuyen a la petición.
+ */
+@AllArgsConstructor
+public class JdbcRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        JdbcStatementMetrics.RequestStatements statements = JdbcStatementMetrics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            JdbcStatementMetrics.endRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("employees.jdbc.request.statements")
+                    .description("JDBC statements executed per HTTP request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(this.meterRegistry)
+                    .record(statements.count);
+            Timer.builder("employees.jdbc.request.time")
+                    .description("Total JDBC time spent per HTTP request")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .publishPercentileHistogram()
+                    .register(this.meterRegistry)
+                    .record(statements.nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.magadiflo.crud.api.app.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mide cada ejecución JDBC que pasa por el DataSource envuelto, registra en el log las que superan
+ * el umbral configurado y las suma a las sentencias de la petición HTTP en curso (ver
+ * {@link JdbcRequestMetricsFilter}).
+ */
+public class JdbcStatementMetrics implements QueryExecutionListener {
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("employees.jdbc.slow-query");
+    private static final String START_NANOS = "employees.start-nanos";
+    private static final ThreadLocal<RequestStatements> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final Map<QueryType, Timer> timers = new EnumMap<>(QueryType.class);
+    private final long slowQueryThresholdNanos;
+
+    public JdbcStatementMetrics(MeterRegistry meterRegistry, Duration slowQueryThreshold) {
+        for (QueryType type : QueryType.values()) {
+            this.timers.put(type, Timer.builder("employees.jdbc.statements")
+                    .description("JDBC statement executions, a batch counting as one execution")
+                    .tag("type", type.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedNanos = System.nanoTime() - execInfo.getCustomValue(START_NANOS, Long.class);
+        String firstQuery = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        this.timers.get(QueryUtils.getQueryType(firstQuery)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        RequestStatements request = CURRENT_REQUEST.get();
+        if (request != null) {
+            request.count++;
+            request.nanos += elapsedNanos;
+        }
+        if (elapsedNanos >= this.slowQueryThresholdNanos && SLOW_QUERY_LOG.isWarnEnabled()) {
+            SLOW_QUERY_LOG.warn("{} ms{} {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+                    queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    static RequestStatements beginRequest() {
+        RequestStatements statements = new RequestStatements();
+        CURRENT_REQUEST.set(statements);
+        return statements;
+    }
+
+    static void endRequest() {
+        CURRENT_REQUEST.remove();
+    }
+
+    static final class RequestStatements {
+        int count;
+        long nanos;
+    }
+}
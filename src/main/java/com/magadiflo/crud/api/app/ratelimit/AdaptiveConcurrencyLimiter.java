@@ -0,0 +1,140 @@
+package com.magadiflo.crud.api.app.ratelimit;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones simultáneas que se adapta a la espera del pool de conexiones (AIMD). Cada
+ * adjust-interval se calcula la espera media de hikaricp.connections.acquire en el intervalo: si
+ * supera target-pool-wait, o hubo timeouts al pedir conexión, el límite se multiplica por
+ * backoff-ratio; si no, sube en uno. Siempre entre min-limit y max-limit.
+ * <p>
+ * Con el límite alcanzado la petición se rechaza al momento (503) en lugar de sumarse a la cola
+ * del pool, donde solo alargaría la espera de las demás. Las rutas de excluded-paths (long-poll y SSE del
+ * feed de cambios) no cuentan: pasan casi todo el tiempo esperando sin conexión y ocuparían el límite.
+ */
+public class AdaptiveConcurrencyLimiter implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final String POOL_ACQUIRE = "hikaricp.connections.acquire";
+    private static final String POOL_TIMEOUT = "hikaricp.connections.timeout";
+
+    private final EmployeeProperties.Concurrency properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private final List<PathPattern> excludedPaths;
+    private final ScheduledExecutorService adjuster;
+
+    private volatile int limit;
+    private long lastAcquireCount;
+    private double lastAcquireNanos;
+    private double lastTimeouts;
+
+    public AdaptiveConcurrencyLimiter(EmployeeProperties.Concurrency properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limit = properties.getInitialLimit();
+        this.excludedPaths = properties.getExcludedPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        Gauge.builder("employees.concurrency.limit", this, limiter -> limiter.limit)
+                .description("Concurrent employee API requests currently allowed")
+                .register(meterRegistry);
+        Gauge.builder("employees.concurrency.in-flight", this.inFlight, AtomicInteger::get)
+                .description("Employee API requests in progress")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("employees.concurrency.rejected")
+                .description("Employee API requests shed because the concurrency limit was reached")
+                .register(meterRegistry);
+
+        this.adjuster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.isEnabled()) {
+            long intervalMillis = properties.getAdjustInterval().toMillis();
+            this.adjuster.scheduleWithFixedDelay(this::adjust, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.properties.isEnabled();
+    }
+
+    public boolean appliesTo(String path) {
+        if (this.excludedPaths.isEmpty()) {
+            return true;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        return this.excludedPaths.stream().noneMatch(pattern -> pattern.matches(pathContainer));
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = this.inFlight.get();
+            if (current >= this.limit) {
+                this.rejected.increment();
+                return false;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        this.inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return this.limit;
+    }
+
+    void adjust() {
+        long acquireCount = 0;
+        double acquireNanos = 0;
+        for (Timer timer : this.meterRegistry.find(POOL_ACQUIRE).timers()) {
+            acquireCount += timer.count();
+            acquireNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double timeouts = this.meterRegistry.find(POOL_TIMEOUT).counters().stream().mapToDouble(Counter::count).sum();
+
+        long acquired = acquireCount - this.lastAcquireCount;
+        double meanWaitNanos = acquired > 0 ? (acquireNanos - this.lastAcquireNanos) / acquired : 0;
+        boolean congested = meanWaitNanos > this.properties.getTargetPoolWait().toNanos() || timeouts > this.lastTimeouts;
+        this.lastAcquireCount = acquireCount;
+        this.lastAcquireNanos = acquireNanos;
+        this.lastTimeouts = timeouts;
+
+        int previous = this.limit;
+        this.limit = congested
+                ? Math.max(this.properties.getMinLimit(), (int) (previous * this.properties.getBackoffRatio()))
+                : Math.min(this.properties.getMaxLimit(), previous + 1);
+        if (congested && this.limit != previous) {
+            LOG.warn("Connection pool wait is {} ms, lowering the concurrency limit from {} to {}",
+                    TimeUnit.NANOSECONDS.toMillis((long) meanWaitNanos), previous, this.limit);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.adjuster.shutdownNow();
+    }
+}
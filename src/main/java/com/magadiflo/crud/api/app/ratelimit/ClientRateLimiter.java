@@ -0,0 +1,128 @@
+package com.magadiflo.crud.api.app.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por cliente y endpoint, implementado como GCRA: cada cubo es un solo AtomicLong con el
+ * instante teórico de la siguiente llegada, que se avanza con compare-and-set. No hay locks ni hilo
+ * de recarga; los cubos viven en una caché Caffeine (concurrente y con striping interno) y caducan
+ * tras bucket-retention sin uso. La caché se limita a max-buckets: si se llena se descartan los cubos
+ * menos usados, así que muchos clientes distintos no hacen crecer la memoria sin límite.
+ * <p>
+ * El endpoint es la primera entrada de employees.rate-limit.endpoints cuyo método y patrón
+ * coinciden; el resto de peticiones usan el límite por defecto, en un cubo común por cliente.
+ */
+public class ClientRateLimiter {
+
+    private static final String DEFAULT_ENDPOINT = "default";
+
+    private final boolean enabled;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final Endpoint defaultEndpoint;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    public ClientRateLimiter(EmployeeProperties.RateLimit properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    ClientRateLimiter(EmployeeProperties.RateLimit properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.enabled = properties.isEnabled();
+        for (EmployeeProperties.EndpointLimit limit : properties.getEndpoints()) {
+            this.endpoints.add(new Endpoint(limit.getMethod() + " " + limit.getPath(), limit.getMethod(),
+                    PathPatternParser.defaultInstance.parse(limit.getPath()), limit.getPermitsPerSecond(),
+                    limit.getBurst(), meterRegistry));
+        }
+        this.defaultEndpoint = new Endpoint(DEFAULT_ENDPOINT, null, null, properties.getPermitsPerSecond(),
+                properties.getBurst(), meterRegistry);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getBucketRetention())
+                .maximumSize(properties.getMaxBuckets())
+                .build();
+        this.nanoTime = nanoTime;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @return 0 si la petición entra, o los nanosegundos que el cliente debe esperar.
+     */
+    public long tryAcquire(String client, String method, String path) {
+        Endpoint endpoint = this.endpointOf(method, path);
+        long now = this.nanoTime.getAsLong();
+        AtomicLong bucket = this.buckets.get(client + '|' + endpoint.name, key -> new AtomicLong(now));
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            long next = Math.max(theoreticalArrival, now) + endpoint.emissionIntervalNanos;
+            long allowedAt = next - endpoint.emissionIntervalNanos - endpoint.toleranceNanos;
+            if (now < allowedAt) {
+                endpoint.rejected.increment();
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                endpoint.allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    private Endpoint endpointOf(String method, String path) {
+        PathContainer pathContainer = null;
+        for (Endpoint endpoint : this.endpoints) {
+            if (!endpoint.method.equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            if (endpoint.pattern.matches(pathContainer)) {
+                return endpoint;
+            }
+        }
+        return this.defaultEndpoint;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final String method;
+        private final PathPattern pattern;
+        private final long emissionIntervalNanos;
+        private final long toleranceNanos;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        private Endpoint(String name, String method, PathPattern pattern, double permitsPerSecond, int burst,
+                         MeterRegistry meterRegistry) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            this.toleranceNanos = this.emissionIntervalNanos * Math.max(burst - 1, 0);
+            this.allowed = decisions(meterRegistry, name, "allowed");
+            this.rejected = decisions(meterRegistry, name, "rejected");
+        }
+
+        private static Counter decisions(MeterRegistry meterRegistry, String endpoint, String outcome) {
+            return Counter.builder("employees.rate-limit.decisions")
+                    .description("Rate limiter decisions per endpoint")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
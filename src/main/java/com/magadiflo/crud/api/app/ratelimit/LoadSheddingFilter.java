@@ -0,0 +1,118 @@
+package com.magadiflo.crud.api.app.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.dto.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aplica {@link ClientRateLimiter} (429) y {@link AdaptiveConcurrencyLimiter} (503) antes de que la
+ * petición llegue al controlador. En las respuestas asíncronas (streaming) el permiso de concurrencia
+ * se libera cuando termina la respuesta, no cuando el hilo de la petición vuelve del filtro.
+ * <p>
+ * El cubo de cada cliente se elige por una identidad que el cliente no puede inventar: el usuario
+ * autenticado o, sin él, la dirección remota. Detrás de un proxy, server.forward-headers-strategy
+ * hace que la dirección remota sea la que informa un proxy de confianza (X-Forwarded-For). Una cabecera
+ * elegida por el cliente no sirve: cambiándola en cada petición tendría siempre una ráfaga nueva.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingFilter(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                              ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (this.rateLimiter.isEnabled()) {
+            long waitNanos = this.rateLimiter.tryAcquire(clientOf(request), request.getMethod(), request.getRequestURI());
+            if (waitNanos > 0) {
+                this.reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Too many requests, retry later");
+                return;
+            }
+        }
+        if (!this.concurrencyLimiter.isEnabled() || !this.concurrencyLimiter.appliesTo(request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!this.concurrencyLimiter.tryAcquire()) {
+            this.reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Employee API is overloaded, retry shortly");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(this.concurrencyLimiter, released));
+            } else if (released.compareAndSet(false, true)) {
+                this.concurrencyLimiter.release();
+            }
+        }
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "addr:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message));
+    }
+
+    private record ReleasingAsyncListener(AdaptiveConcurrencyLimiter concurrencyLimiter, AtomicBoolean released)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            this.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            this.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            this.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (this.released.compareAndSet(false, true)) {
+                this.concurrencyLimiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.magadiflo.crud.api.app.repository;
+
+import com.magadiflo.crud.api.app.dto.EmployeeChange;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.EmployeeOutboxSequence;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@AllArgsConstructor
+@Repository
+public class EmployeeChangeJdbcRepository {
+
+    private static final String INITIALIZE_SEQUENCE = "INSERT INTO employee_outbox_sequence (id, last_seq) " +
+            "SELECT ?, COALESCE(MAX(seq), 0) FROM employee_outbox " +
+            "WHERE NOT EXISTS (SELECT 1 FROM employee_outbox_sequence WHERE id = ?)";
+    private static final String RESERVE_SEQ = "UPDATE employee_outbox_sequence SET last_seq = last_seq + ? WHERE id = ?";
+    private static final String SELECT_LAST_SEQ = "SELECT last_seq FROM employee_outbox_sequence WHERE id = ?";
+    private static final String INSERT = "INSERT INTO employee_outbox " +
+            "(seq, type, employee_id, first_name, last_name, email, employee_version, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_AFTER_SEQ = "SELECT seq, type, employee_id, first_name, last_name, email, " +
+            "employee_version, changed_at FROM employee_outbox WHERE seq > ? ORDER BY seq LIMIT ?";
+    // Compactables: cambios anteriores al corte que ya tienen uno posterior del mismo empleado, y
+    // borrados anteriores al corte que quedaron solos (sus cambios previos ya se compactaron).
+    private static final String SELECT_COMPACTABLE = "SELECT o.seq FROM employee_outbox o WHERE o.changed_at < ? AND (" +
+            "EXISTS (SELECT 1 FROM employee_outbox n WHERE n.employee_id = o.employee_id AND n.seq > o.seq) OR " +
+            "(o.type = 'DELETED' AND NOT EXISTS (SELECT 1 FROM employee_outbox p WHERE p.employee_id = o.employee_id AND p.seq < o.seq))" +
+            ") ORDER BY o.seq LIMIT ?";
+    private static final String DELETE_BY_SEQS = "DELETE FROM employee_outbox WHERE seq IN (:seqs)";
+
+    private static final RowMapper<EmployeeChange> EMPLOYEE_CHANGE_ROW_MAPPER = (rs, rowNum) -> {
+        EmployeeChangedEvent.Type type = EmployeeChangedEvent.Type.valueOf(rs.getString("type"));
+        long employeeId = rs.getLong("employee_id");
+        EmployeeView employee = type == EmployeeChangedEvent.Type.DELETED ? null : new EmployeeView(
+                employeeId,
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                rs.getObject("employee_version", Long.class));
+        return new EmployeeChange(rs.getLong("seq"), type, employeeId, employee, rs.getTimestamp("changed_at").toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void initializeSequence() {
+        try {
+            this.jdbcTemplate.update(INITIALIZE_SEQUENCE, EmployeeOutboxSequence.SINGLETON_ID, EmployeeOutboxSequence.SINGLETON_ID);
+        } catch (DuplicateKeyException e) {
+            // Otra instancia o escritura creó la fila a la vez.
+        }
+    }
+
+    /**
+     * Reserva los seq con el UPDATE del contador (el bloqueo de la fila dura hasta el commit) e inserta
+     * los cambios en el orden recibido. Debe ejecutarse en la transacción de la escritura. Si la fila
+     * del contador aún no existe (escritura anterior a ApplicationReadyEvent), la crea antes.
+     */
+    public void appendAll(List<EmployeeChangedEvent> events, Instant changedAt, int batchSize) {
+        if (this.jdbcTemplate.update(RESERVE_SEQ, events.size(), EmployeeOutboxSequence.SINGLETON_ID) == 0) {
+            this.initializeSequence();
+            this.jdbcTemplate.update(RESERVE_SEQ, events.size(), EmployeeOutboxSequence.SINGLETON_ID);
+        }
+        AtomicLong nextSeq = new AtomicLong(this.lastSeq() - events.size() + 1);
+        Timestamp timestamp = Timestamp.from(changedAt);
+        this.jdbcTemplate.batchUpdate(INSERT, events, batchSize, (statement, event) -> {
+            EmployeeView employee = event.employee();
+            statement.setLong(1, nextSeq.getAndIncrement());
+            statement.setString(2, event.type().name());
+            statement.setLong(3, event.id());
+            statement.setString(4, employee == null ? null : employee.firstName());
+            statement.setString(5, employee == null ? null : employee.lastName());
+            statement.setString(6, employee == null ? null : employee.email());
+            if (employee == null || employee.version() == null) {
+                statement.setNull(7, Types.BIGINT);
+            } else {
+                statement.setLong(7, employee.version());
+            }
+            statement.setTimestamp(8, timestamp);
+        });
+    }
+
+    public long lastSeq() {
+        Long lastSeq = this.jdbcTemplate.queryForObject(SELECT_LAST_SEQ, Long.class, EmployeeOutboxSequence.SINGLETON_ID);
+        return lastSeq == null ? 0 : lastSeq;
+    }
+
+    public List<EmployeeChange> findAfterSeq(long since, int limit) {
+        return this.jdbcTemplate.query(SELECT_AFTER_SEQ, EMPLOYEE_CHANGE_ROW_MAPPER, since, limit);
+    }
+
+    public List<Long> findCompactableSeqs(Instant cutoff, int limit) {
+        return this.jdbcTemplate.queryForList(SELECT_COMPACTABLE, Long.class, Timestamp.from(cutoff), limit);
+    }
+
+    public int deleteBySeqs(List<Long> seqs) {
+        return this.namedParameterJdbcTemplate.update(DELETE_BY_SEQS, new MapSqlParameterSource("seqs", seqs));
+    }
+}
@@ -0,0 +1,126 @@
+package com.magadiflo.crud.api.app.repository;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@AllArgsConstructor
+@Repository
+public class EmployeeJdbcRepository {
+
+    private static final String SELECT_ALL = "SELECT id, first_name, last_name, email, version FROM employees";
+    private static final String SELECT_ALL_ORDERED_BY_ID = SELECT_ALL + " ORDER BY id";
+    private static final String SELECT_BY_ID = SELECT_ALL + " WHERE id = ?";
+    private static final String SELECT_BY_IDS = SELECT_ALL + " WHERE id IN (:ids)";
+    private static final String SELECT_BY_IDS_FOR_UPDATE = SELECT_BY_IDS + " FOR UPDATE";
+    private static final String SELECT_BY_EMAIL = SELECT_ALL + " WHERE email = ?";
+    private static final String SELECT_AFTER_ID = SELECT_ALL + " WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_IDS_BY_EMAILS = "SELECT id, email FROM employees WHERE email IN (:emails)";
+    private static final String UPDATE = "UPDATE employees SET first_name = ?, last_name = ?, email = ?, version = version + 1 WHERE id = ?";
+    private static final String DELETE = "DELETE FROM employees WHERE id = ?";
+
+    private static final RowMapper<EmployeeView> EMPLOYEE_VIEW_ROW_MAPPER = (rs, rowNum) -> new EmployeeView(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public void streamAll(int fetchSize, Consumer<EmployeeView> consumer) {
+        this.jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_ORDERED_BY_ID,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(EMPLOYEE_VIEW_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    public List<EmployeeView> findAllViews() {
+        return this.jdbcTemplate.query(SELECT_ALL, EMPLOYEE_VIEW_ROW_MAPPER);
+    }
+
+    public Optional<EmployeeView> findViewById(Long id) {
+        return this.jdbcTemplate.query(SELECT_BY_ID, EMPLOYEE_VIEW_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public List<EmployeeView> findViewsByIds(Collection<Long> ids) {
+        return this.namedParameterJdbcTemplate.query(SELECT_BY_IDS, new MapSqlParameterSource("ids", ids), EMPLOYEE_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Bloquea las filas hasta el commit, así el estado devuelto sigue siendo el anterior a la escritura
+     * que se hace a continuación en la misma transacción.
+     */
+    public Map<Long, EmployeeView> findViewsByIdsForUpdate(Collection<Long> ids, int chunkSize) {
+        Map<Long, EmployeeView> viewsById = new HashMap<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(ids), chunkSize)) {
+            this.namedParameterJdbcTemplate.query(SELECT_BY_IDS_FOR_UPDATE, new MapSqlParameterSource("ids", chunk),
+                    EMPLOYEE_VIEW_ROW_MAPPER).forEach(view -> viewsById.put(view.id(), view));
+        }
+        return viewsById;
+    }
+
+    public Optional<EmployeeView> findViewByEmail(String email) {
+        return this.jdbcTemplate.query(SELECT_BY_EMAIL, EMPLOYEE_VIEW_ROW_MAPPER, email).stream().findFirst();
+    }
+
+    public List<EmployeeView> findViewsAfterId(long afterId, int limit) {
+        return this.jdbcTemplate.query(SELECT_AFTER_ID, EMPLOYEE_VIEW_ROW_MAPPER, afterId, limit);
+    }
+
+    public Map<String, Long> findIdsByEmails(Collection<String> emails, int chunkSize) {
+        Map<String, Long> idsByEmail = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(emails), chunkSize)) {
+            this.namedParameterJdbcTemplate.query(SELECT_IDS_BY_EMAILS, new MapSqlParameterSource("emails", chunk),
+                    (RowCallbackHandler) rs -> idsByEmail.put(rs.getString("email"), rs.getLong("id")));
+        }
+        return idsByEmail;
+    }
+
+    public int[] updateAll(List<Employee> employees, int batchSize) {
+        int[][] counts = this.jdbcTemplate.batchUpdate(UPDATE, employees, batchSize, (statement, employee) -> {
+            statement.setString(1, employee.getFirstName());
+            statement.setString(2, employee.getLastName());
+            statement.setString(3, employee.getEmail());
+            statement.setLong(4, employee.getId());
+        });
+        return flatten(counts);
+    }
+
+    public int[] deleteAllById(List<Long> ids, int batchSize) {
+        int[][] counts = this.jdbcTemplate.batchUpdate(DELETE, ids, batchSize, (statement, id) -> statement.setLong(1, id));
+        return flatten(counts);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private static int[] flatten(int[][] counts) {
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+    }
+}
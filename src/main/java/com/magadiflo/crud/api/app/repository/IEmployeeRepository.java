@@ -1,12 +1,25 @@
 package com.magadiflo.crud.api.app.repository;
 
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
 import com.magadiflo.crud.api.app.entities.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface IEmployeeRepository extends JpaRepository<Employee, Long> {
 
     Optional<Employee> findByEmail(String email);
 
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Los agregados y el contador del outbox en una sola sentencia, así ambos salen de la misma lectura.
+     */
+    @Query("SELECT new com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion(COUNT(e), COALESCE(MAX(e.id), 0L), COALESCE(SUM(e.version), 0L), " +
+            "(SELECT COALESCE(MAX(s.lastSeq), 0L) FROM EmployeeOutboxSequence s)) FROM Employee e")
+    EmployeeCollectionVersion getCollectionVersion();
+
 }
@@ -0,0 +1,108 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.dto.ErrorResponse;
+import com.magadiflo.crud.api.app.exceptions.EmployeeChangeFeedUnavailableException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeImportInProgressException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSearchUnavailableException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeShardUnavailableException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSnapshotReadOnlyException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSnapshotUnavailableException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeStatisticsUnavailableException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeVersionMismatchException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeWriteQueueFullException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(EmployeeEmailAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleEmailAlreadyExists(EmployeeEmailAlreadyExistsException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleVersionMismatch(EmployeeVersionMismatchException e) {
+        return error(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return error(HttpStatus.CONFLICT, "Employee was modified concurrently, retry with the current version");
+    }
+
+    @ExceptionHandler(EmployeeSearchUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSearchUnavailable(EmployeeSearchUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(EmployeeStatisticsUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleStatisticsUnavailable(EmployeeStatisticsUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(EmployeeWriteQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleWriteQueueFull(EmployeeWriteQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(EmployeeImportInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleImportInProgress(EmployeeImportInProgressException e) {
+        return error(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    @ExceptionHandler(EmployeeSnapshotUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSnapshotUnavailable(EmployeeSnapshotUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(EmployeeSnapshotReadOnlyException.class)
+    public ResponseEntity<ErrorResponse> handleSnapshotReadOnly(EmployeeSnapshotReadOnlyException e) {
+        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED)
+                .header(HttpHeaders.ALLOW, "GET, HEAD")
+                .body(new ErrorResponse(HttpStatus.METHOD_NOT_ALLOWED.value(), e.getMessage()));
+    }
+
+    /**
+     * Sin Retry-After: depende de la configuración, reintentar no cambia la respuesta.
+     */
+    @ExceptionHandler(EmployeeChangeFeedUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleChangeFeedUnavailable(EmployeeChangeFeedUnavailableException e) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    @ExceptionHandler(EmployeeShardUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleShardUnavailable(EmployeeShardUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    /**
+     * El pool de las respuestas en streaming (export y NDJSON) está lleno.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleStreamingRejected(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many streaming responses in progress, retry shortly"));
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(status.value(), message));
+    }
+}
@@ -0,0 +1,49 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/employees:batch")
+public class EmployeeBatchResource {
+
+    private final IEmployeeService employeeService;
+    private final EmployeeProperties employeeProperties;
+
+    @PostMapping
+    public ResponseEntity<List<EmployeeBatchResult>> createEmployees(@RequestBody List<Employee> employees) {
+        if (this.exceedsMaxSize(employees)) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(this.employeeService.saveEmployees(employees));
+    }
+
+    @PutMapping
+    public ResponseEntity<List<EmployeeBatchResult>> updateEmployees(@RequestBody List<Employee> employees) {
+        if (this.exceedsMaxSize(employees)) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(this.employeeService.updateEmployees(employees));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<List<EmployeeBatchResult>> deleteEmployees(@RequestBody List<Long> ids) {
+        if (this.exceedsMaxSize(ids)) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(this.employeeService.deleteEmployees(ids));
+    }
+
+    private boolean exceedsMaxSize(List<?> items) {
+        return items.size() > this.employeeProperties.getBatch().getMaxSize();
+    }
+}
@@ -0,0 +1,62 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.changes.EmployeeChangeFeed;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeChangePage;
+import com.magadiflo.crud.api.app.exceptions.EmployeeChangeFeedUnavailableException;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Con employees.shards.enabled cada shard tiene su propio outbox y su propia secuencia, y el feed solo
+ * lee el del directorio: en lugar de servir un feed parcial, ambos endpoints responden 503. Los outbox
+ * de cada shard se siguen escribiendo porque su contador forma parte del ETag del listado.
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/employees/changes")
+public class EmployeeChangeResource {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+    private final EmployeeProperties employeeProperties;
+
+    /**
+     * Long-poll: {@code wait} en segundos (0 responde al momento). La respuesta trae {@code lastSeq},
+     * que es el {@code since} de la siguiente llamada.
+     */
+    @GetMapping
+    public DeferredResult<ResponseEntity<EmployeeChangePage>> pollChanges(@RequestParam(defaultValue = "0") long since,
+                                                                          @RequestParam(required = false) Integer limit,
+                                                                          @RequestParam(required = false) Integer wait) {
+        if (this.employeeProperties.getShards().isEnabled()) {
+            throw new EmployeeChangeFeedUnavailableException();
+        }
+        if (since < 0) {
+            DeferredResult<ResponseEntity<EmployeeChangePage>> badRequest = new DeferredResult<>();
+            badRequest.setResult(ResponseEntity.badRequest().build());
+            return badRequest;
+        }
+        return this.employeeChangeFeed.poll(since, this.employeeChangeFeed.pageSize(limit), this.employeeChangeFeed.waitTime(wait));
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) Long since,
+                                                    @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        // Sin cuerpo: un ErrorResponse no puede escribirse como text/event-stream.
+        if (this.employeeProperties.getShards().isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        long from = lastEventId != null ? lastEventId : since == null ? 0 : since;
+        if (from < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(this.employeeChangeFeed.stream(from));
+    }
+}
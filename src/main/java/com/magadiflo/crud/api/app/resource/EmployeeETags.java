@@ -0,0 +1,83 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeVersionMismatchException;
+
+/**
+ * ETags y condiciones HTTP de la API de empleados; lo usan tanto EmployeeResource como los handlers de
+ * la aplicación reactiva, así ambas responden con los mismos valores.
+ */
+public final class EmployeeETags {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private EmployeeETags() {
+    }
+
+    public static String of(Employee employee) {
+        return of(employee.getVersion());
+    }
+
+    /**
+     * ETag débil de un empleado: la versión identifica su estado, pero la misma versión se sirve con
+     * distintos fieldsets ({@code fields=}), en JSON, Smile o CBOR y comprimida o no, así que dos
+     * respuestas con el mismo ETag no son idénticas byte a byte.
+     */
+    public static String of(Long version) {
+        return version == null ? null : WEAK_PREFIX + quote(String.valueOf(version));
+    }
+
+    /**
+     * ETag débil: el listado se sirve en JSON, Smile o CBOR y puede ir comprimido, así que dos
+     * respuestas con el mismo ETag no son idénticas byte a byte. Tomcat no comprime respuestas con
+     * ETag fuerte.
+     */
+    public static String of(EmployeeCollectionVersion version) {
+        return WEAK_PREFIX + quote(version.count() + "-" + version.maxId() + "-" + version.versionSum() + "-" + version.changeSeq());
+    }
+
+    /**
+     * Comparación débil de If-None-Match (RFC 9110): acepta listas, "*" y ETags con prefijo W/.
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals(WILDCARD) || stripWeak(value).equals(stripWeak(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versión esperada según If-Match, o null si la cabecera no existe o es "*". Se compara la versión,
+     * no la representación: vale tanto el ETag débil que devuelven las lecturas como la forma fuerte.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals(WILDCARD)) {
+            return null;
+        }
+        String value = stripWeak(ifMatch.trim());
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new EmployeeVersionMismatchException(ifMatch);
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new EmployeeVersionMismatchException(ifMatch);
+        }
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -1,13 +1,34 @@
 package com.magadiflo.crud.api.app.resource;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.magadiflo.crud.api.app.command.EmployeeCommand;
+import com.magadiflo.crud.api.app.command.EmployeeWriteQueue;
+import com.magadiflo.crud.api.app.dto.EmployeeCommandStatus;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeeFields;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.dto.ErrorResponse;
 import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
 import com.magadiflo.crud.api.app.service.IEmployeeService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 @AllArgsConstructor
@@ -15,43 +36,198 @@ import java.util.List;
 @RequestMapping(path = "/api/v1/employees")
 public class EmployeeResource {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String DELETED_MESSAGE = "Employee deleted successfully!";
+
     private final IEmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final EmployeeWriteQueue employeeWriteQueue;
 
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return this.employeeService.getAllEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        EmployeeFields employeeFields;
+        try {
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        String eTag = EmployeeETags.of(this.employeeService.getEmployeesVersion());
+        if (EmployeeETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(employeeFields.select(this.employeeService.getAllEmployees()));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(@RequestParam(required = false) String fields) {
+        EmployeeFields employeeFields;
+        try {
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ObjectWriter writer = this.objectMapper.writerFor(EmployeeView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                this.employeeService.streamAllEmployees(new Consumer<>() {
+                    private boolean firstWritten;
+
+                    @Override
+                    public void accept(EmployeeView employee) {
+                        try {
+                            writer.writeValue(generator, employeeFields.select(employee));
+                            generator.writeRaw('\n');
+                            if (!this.firstWritten) {
+                                generator.flush();
+                                this.firstWritten = true;
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(path = "/page")
+    public ResponseEntity<EmployeePage> getEmployeesPage(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size,
+                                                         @RequestParam(required = false) String fields) {
+        Long afterId;
+        EmployeeFields employeeFields;
+        try {
+            afterId = cursor == null ? null : EmployeeCursor.decode(cursor);
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeFields.select(this.employeeService.getEmployeesPage(afterId, size)));
+    }
+
+    @GetMapping(path = "/search")
+    public ResponseEntity<EmployeePage> searchEmployees(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "prefix") String mode,
+                                                        @RequestParam(required = false) String field,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size,
+                                                        @RequestParam(required = false) String fields) {
+        EmployeeSearchMode searchMode;
+        EmployeeSearchField searchField;
+        Long position;
+        EmployeeFields employeeFields;
+        try {
+            searchMode = EmployeeSearchMode.fromParam(mode);
+            searchField = field == null ? null : EmployeeSearchField.fromParam(field);
+            position = cursor == null ? null : EmployeeCursor.decode(cursor);
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeFields.select(this.employeeService.searchEmployees(q, searchMode, searchField, position, size)));
     }
 
     @GetMapping(path = "/{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<EmployeeView> getEmployeeById(@PathVariable Long id,
+                                                        @RequestParam(required = false) String fields,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        EmployeeFields employeeFields;
+        try {
+            employeeFields = EmployeeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
         return this.employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)
+                .map(employee -> {
+                    String eTag = EmployeeETags.of(employee.version());
+                    if (EmployeeETags.matches(ifNoneMatch, eTag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<EmployeeView>build();
+                    }
+                    return eTagged(ResponseEntity.ok(), eTag).body(employeeFields.select(employee));
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping(path = "/commands/{ticket}")
+    public ResponseEntity<EmployeeCommandStatus> getCommandStatus(@PathVariable String ticket) {
+        return ResponseEntity.of(this.employeeWriteQueue.status(ticket));
+    }
+
     @PostMapping
-    public ResponseEntity<Employee> createEmployee(@RequestBody Employee employee) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(this.employeeService.saveEmployee(employee));
+    public ResponseEntity<?> createEmployee(@RequestBody Employee employee,
+                                            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (this.employeeWriteQueue.isEnabled()) {
+            return this.enqueue(EmployeeCommand.create(employee), prefer);
+        }
+        Employee savedEmployee = this.employeeService.saveEmployee(employee);
+        return eTagged(ResponseEntity.status(HttpStatus.CREATED), EmployeeETags.of(savedEmployee)).body(savedEmployee);
     }
 
+    /**
+     * Con If-Match la escritura es siempre síncrona: la comprobación de versión no pasa por la cola.
+     */
     @PutMapping(path = "/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
-        return this.employeeService.getEmployeeById(id)
-                .map(employeeDB -> {
-                    employeeDB.setFirstName(employee.getFirstName());
-                    employeeDB.setLastName(employee.getLastName());
-                    employeeDB.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = this.employeeService.updateEmployee(employeeDB);
-                    return new ResponseEntity<Employee>(updatedEmployee, HttpStatus.OK);
-                })
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (this.employeeWriteQueue.isEnabled() && ifMatch == null) {
+            return this.enqueue(EmployeeCommand.update(id, employee), prefer);
+        }
+        employee.setVersion(EmployeeETags.expectedVersion(ifMatch));
+        return this.employeeService.updateEmployee(id, employee)
+                .map(updatedEmployee -> eTagged(ResponseEntity.ok(), EmployeeETags.of(updatedEmployee)).body(updatedEmployee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping(path = "/{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable Long id) {
+    public ResponseEntity<?> deleteEmployee(@PathVariable Long id,
+                                            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (this.employeeWriteQueue.isEnabled()) {
+            return this.enqueue(EmployeeCommand.delete(id), prefer);
+        }
         this.employeeService.deleteEmployee(id);
-        return new ResponseEntity<String>("Employee deleted successfully!", HttpStatus.OK);
+        return new ResponseEntity<String>(DELETED_MESSAGE, HttpStatus.OK);
     }
 
+    /**
+     * Con {@code Prefer: respond-async} responde 202 al encolar; si no, espera el ack durable y responde
+     * como el modo síncrono (o 202 si el ack no llega a tiempo). El 202 apunta a /commands/{ticket}.
+     */
+    private ResponseEntity<?> enqueue(EmployeeCommand command, String prefer) {
+        this.employeeWriteQueue.submit(command);
+        if (prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC)) {
+            EmployeeCommandStatus pending = EmployeeCommandStatus.pending(command);
+            return accepted(pending).header(PREFERENCE_APPLIED, RESPOND_ASYNC).body(pending);
+        }
+        EmployeeCommandStatus status = this.employeeWriteQueue.await(command);
+        if (status.state() == EmployeeCommandStatus.State.PENDING) {
+            return accepted(status).body(status);
+        }
+        if (command.type() == EmployeeCommand.Type.DELETE && (status.state() == EmployeeCommandStatus.State.APPLIED
+                || status.status() == HttpStatus.NOT_FOUND.value())) {
+            return ResponseEntity.ok(DELETED_MESSAGE);
+        }
+        if (status.state() != EmployeeCommandStatus.State.APPLIED) {
+            return ResponseEntity.status(status.status()).body(new ErrorResponse(status.status(), status.error()));
+        }
+        return this.employeeService.getEmployeeById(status.id())
+                .<ResponseEntity<?>>map(view -> eTagged(ResponseEntity.status(status.status()), EmployeeETags.of(view.version())).body(view))
+                .orElseGet(() -> ResponseEntity.status(status.status()).body(status));
+    }
+
+    private static ResponseEntity.BodyBuilder accepted(EmployeeCommandStatus status) {
+        return ResponseEntity.accepted().location(URI.create("/api/v1/employees/commands/" + status.ticket()));
+    }
+
+    private static ResponseEntity.BodyBuilder eTagged(ResponseEntity.BodyBuilder builder, String eTag) {
+        return eTag == null ? builder : builder.eTag(eTag);
+    }
 }
@@ -0,0 +1,25 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.dto.EmployeeStatisticsView;
+import com.magadiflo.crud.api.app.stats.EmployeeStatistics;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/employees/stats")
+public class EmployeeStatisticsResource {
+
+    private final EmployeeStatistics employeeStatistics;
+
+    /**
+     * Sale de los agregados en memoria, sin consultar la base de datos.
+     */
+    @GetMapping
+    public ResponseEntity<EmployeeStatisticsView> getStatistics() {
+        return ResponseEntity.ok(this.employeeStatistics.view());
+    }
+}
@@ -0,0 +1,63 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.dto.EmployeeImportProgress;
+import com.magadiflo.crud.api.app.transfer.EmployeeExporter;
+import com.magadiflo.crud.api.app.transfer.EmployeeFormat;
+import com.magadiflo.crud.api.app.transfer.EmployeeImporter;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(path = "/api/v1/employees")
+public class EmployeeTransferResource {
+
+    private static final String IMPORT_ID = "Import-Id";
+
+    private final EmployeeImporter employeeImporter;
+    private final EmployeeExporter employeeExporter;
+
+    @PostMapping(path = "/import", consumes = {EmployeeFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<EmployeeImportProgress> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @RequestHeader(value = IMPORT_ID, required = false) String importId,
+            InputStream inputStream) {
+        EmployeeImportProgress progress = this.employeeImporter.importEmployees(importId,
+                EmployeeFormat.fromMediaType(contentType), inputStream, contentLength == null ? -1 : contentLength);
+        HttpStatus status = progress.state() == EmployeeImportProgress.State.FAILED ? HttpStatus.BAD_REQUEST : HttpStatus.OK;
+        return ResponseEntity.status(status).header(IMPORT_ID, progress.importId()).body(progress);
+    }
+
+    @GetMapping(path = "/import/{importId}")
+    public ResponseEntity<EmployeeImportProgress> getImportProgress(@PathVariable String importId) {
+        return this.employeeImporter.progress(importId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format) {
+        EmployeeFormat employeeFormat;
+        try {
+            employeeFormat = EmployeeFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("employees." + employeeFormat.extension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(employeeFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .body(outputStream -> this.employeeExporter.export(employeeFormat, outputStream));
+    }
+}
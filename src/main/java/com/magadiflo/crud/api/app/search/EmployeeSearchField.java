@@ -0,0 +1,40 @@
+package com.magadiflo.crud.api.app.search;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+
+import java.util.function.Function;
+
+public enum EmployeeSearchField {
+    FIRST_NAME("firstName", EmployeeView::firstName),
+    LAST_NAME("lastName", EmployeeView::lastName),
+    EMAIL("email", EmployeeView::email);
+
+    private final String param;
+    private final Function<EmployeeView, String> accessor;
+
+    EmployeeSearchField(String param, Function<EmployeeView, String> accessor) {
+        this.param = param;
+        this.accessor = accessor;
+    }
+
+    String valueOf(EmployeeView employee) {
+        return this.accessor.apply(employee);
+    }
+
+    /**
+     * Las claves del índice llevan el campo como prefijo, así un único mapa ordenado resuelve búsquedas
+     * por prefijo limitadas a un campo.
+     */
+    String key(String term) {
+        return (char) ('0' + this.ordinal()) + term;
+    }
+
+    public static EmployeeSearchField fromParam(String param) {
+        for (EmployeeSearchField field : values()) {
+            if (field.param.equals(param)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown search field %s", param));
+    }
+}
@@ -0,0 +1,500 @@
+package com.magadiflo.crud.api.app.search;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSearchUnavailableException;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de búsqueda en memoria sobre nombre, apellido y email.
+ * <ul>
+ *     <li>La búsqueda por prefijo recorre un diccionario ordenado de términos; los resultados salen
+ *     ordenados por id para paginarlos con el mismo cursor que {@code /page}.</li>
+ *     <li>La búsqueda aproximada puntúa la similitud por trigramas (como pg_trgm) y solo verifica los
+ *     documentos de las listas de trigramas menos frecuentes, lo que basta para no perder ninguna
+ *     coincidencia por encima del umbral. Los candidatos se recorren en orden de id y se verifican como
+ *     mucho max-fuzzy-candidates; si quedan más, o hay más de max-fuzzy-results coincidencias, el
+ *     resultado se marca como truncado.</li>
+ * </ul>
+ * Se mantiene al día con los {@link EmployeeChangedEvent} tras el commit y se reconstruye desde la tabla
+ * al arrancar y periódicamente, lo que también recoge escrituras hechas fuera de esta aplicación.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final int MAX_MERGED_POSTINGS = 4096;
+
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EmployeeProperties employeeProperties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    private Segment segment = new Segment();
+    private List<EmployeeChangedEvent> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public EmployeeSearchIndex(EmployeeJdbcRepository employeeJdbcRepository, PlatformTransactionManager transactionManager,
+                               EmployeeProperties employeeProperties) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.employeeProperties = employeeProperties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        this.lock.writeLock().lock();
+        try {
+            this.segment.apply(event);
+            if (this.pendingDuringRebuild != null) {
+                this.pendingDuringRebuild.add(event);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${employees.search.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        if (this.employeeProperties.getSnapshot().isServe() || this.employeeProperties.getShards().isEnabled()) {
+            // Sin base de datos, o repartida en shards: SnapshotEmployeeServiceImpl o
+            // ShardedEmployeeServiceImpl lo reconstruyen con rebuild(source).
+            return;
+        }
+        try {
+            this.rebuild();
+        } catch (RuntimeException e) {
+            LOG.warn("Employee search index rebuild failed, keeping the current index", e);
+        }
+    }
+
+    /**
+     * Carga un segmento nuevo desde la tabla sin bloquear las búsquedas y lo activa después de aplicarle
+     * los cambios confirmados mientras se cargaba.
+     */
+    public void rebuild() {
+        this.rebuild(consumer -> this.readOnlyTransaction.executeWithoutResult(status ->
+                this.employeeJdbcRepository.streamAll(this.employeeProperties.getStream().getFetchSize(), consumer)));
+    }
+
+    /**
+     * Igual que {@link #rebuild()}, pero leyendo los empleados de {@code source}.
+     */
+    public void rebuild(Consumer<Consumer<EmployeeView>> source) {
+        this.rebuildLock.lock();
+        try {
+            this.lock.writeLock().lock();
+            try {
+                this.pendingDuringRebuild = new ArrayList<>();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+
+            Segment fresh = new Segment();
+            try {
+                source.accept(fresh::put);
+            } catch (RuntimeException e) {
+                this.lock.writeLock().lock();
+                try {
+                    this.pendingDuringRebuild = null;
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            this.lock.writeLock().lock();
+            try {
+                this.pendingDuringRebuild.forEach(fresh::apply);
+                this.pendingDuringRebuild = null;
+                this.segment = fresh;
+                this.ready = true;
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+            LOG.info("Employee search index rebuilt with {} employees", fresh.documents.size());
+        } finally {
+            this.rebuildLock.unlock();
+        }
+    }
+
+    public List<EmployeeView> prefixSearch(String query, Set<EmployeeSearchField> fields, long afterId, int limit) {
+        List<String> tokens = tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String driver = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        this.lock.readLock().lock();
+        try {
+            this.checkReady();
+            List<LongPostings> matching = new ArrayList<>();
+            for (EmployeeSearchField field : fields) {
+                for (LongPostings postings : this.segment.terms.subMap(field.key(driver), field.key(driver) + Character.MAX_VALUE).values()) {
+                    if (matching.size() == MAX_MERGED_POSTINGS) {
+                        return this.scanDocuments(tokens, fields, afterId, limit);
+                    }
+                    matching.add(postings);
+                }
+            }
+            return this.mergePostings(matching, tokens, fields, afterId, limit);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public FuzzyMatches fuzzySearch(String query, Set<EmployeeSearchField> fields, int offset, int limit) {
+        EmployeeProperties.Search settings = this.employeeProperties.getSearch();
+        Set<String> queryTrigrams = trigrams(normalize(query));
+        if (queryTrigrams.isEmpty()) {
+            return new FuzzyMatches(List.of(), false);
+        }
+        // Similitud de Jaccard >= t implica al menos ceil(t * |Q|) trigramas en común, así que toda
+        // coincidencia aparece en alguna de las |Q| - ceil(t * |Q|) + 1 listas menos frecuentes de su campo.
+        int required = Math.max(1, (int) Math.ceil(settings.getFuzzyThreshold() * queryTrigrams.size()));
+        int probes = queryTrigrams.size() - required + 1;
+
+        this.lock.readLock().lock();
+        try {
+            this.checkReady();
+            PriorityQueue<PostingsCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(PostingsCursor::current));
+            for (EmployeeSearchField field : fields) {
+                List<LongPostings> postings = new ArrayList<>();
+                for (String trigram : queryTrigrams) {
+                    postings.add(this.segment.trigrams.getOrDefault(field.key(trigram), Segment.EMPTY));
+                }
+                postings.sort(Comparator.comparingInt(LongPostings::size));
+                for (LongPostings probe : postings.subList(0, probes)) {
+                    PostingsCursor cursor = new PostingsCursor(probe, 0);
+                    if (cursor.hasCurrent()) {
+                        cursors.add(cursor);
+                    }
+                }
+            }
+
+            List<ScoredEmployee> scored = new ArrayList<>();
+            int candidates = 0;
+            long last = Long.MIN_VALUE;
+            while (!cursors.isEmpty() && candidates < settings.getMaxFuzzyCandidates()) {
+                PostingsCursor cursor = cursors.poll();
+                long id = cursor.current();
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                if (id == last) {
+                    continue;
+                }
+                last = id;
+                candidates++;
+                IndexedEmployee document = this.segment.documents.get(id);
+                double score = document.similarity(queryTrigrams, fields);
+                if (score >= settings.getFuzzyThreshold()) {
+                    scored.add(new ScoredEmployee(document.employee(), score));
+                }
+            }
+            skipPast(cursors, last);
+            boolean truncated = !cursors.isEmpty() || scored.size() > settings.getMaxFuzzyResults();
+            scored.sort(Comparator.comparingDouble(ScoredEmployee::score).reversed()
+                    .thenComparing(scoredEmployee -> scoredEmployee.employee().id()));
+
+            int from = Math.min(offset, Math.min(scored.size(), settings.getMaxFuzzyResults()));
+            int to = Math.min(from + limit, Math.min(scored.size(), settings.getMaxFuzzyResults()));
+            return new FuzzyMatches(scored.subList(from, to).stream().map(ScoredEmployee::employee).toList(), truncated);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Al cortar el recorrido en max-fuzzy-candidates, otras listas aún pueden apuntar al último id ya
+     * verificado; se descartan para que solo queden candidatos sin verificar.
+     */
+    private static void skipPast(PriorityQueue<PostingsCursor> cursors, long last) {
+        while (!cursors.isEmpty() && cursors.peek().current() == last) {
+            PostingsCursor cursor = cursors.poll();
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+    }
+
+    private List<EmployeeView> mergePostings(List<LongPostings> matching, List<String> tokens, Set<EmployeeSearchField> fields,
+                                         long afterId, int limit) {
+        PriorityQueue<PostingsCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(PostingsCursor::current));
+        for (LongPostings postings : matching) {
+            PostingsCursor cursor = new PostingsCursor(postings, postings.positionAfter(afterId));
+            if (cursor.hasCurrent()) {
+                cursors.add(cursor);
+            }
+        }
+
+        List<EmployeeView> result = new ArrayList<>();
+        long last = afterId;
+        while (!cursors.isEmpty() && result.size() < limit) {
+            PostingsCursor cursor = cursors.poll();
+            long id = cursor.current();
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+            if (id == last) {
+                continue;
+            }
+            last = id;
+            IndexedEmployee document = this.segment.documents.get(id);
+            if (document.matchesAll(tokens, fields)) {
+                result.add(document.employee());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Un prefijo que abarca más de {@link #MAX_MERGED_POSTINGS} términos distintos coincide al menos con
+     * otros tantos documentos, así que recorrerlos en orden de id encuentra una página antes que mezclar
+     * todas sus listas.
+     */
+    private List<EmployeeView> scanDocuments(List<String> tokens, Set<EmployeeSearchField> fields, long afterId, int limit) {
+        List<EmployeeView> result = new ArrayList<>();
+        LongPostings ids = this.segment.ids;
+        for (int position = ids.positionAfter(afterId); position < ids.size() && result.size() < limit; position++) {
+            IndexedEmployee document = this.segment.documents.get(ids.get(position));
+            if (document.matchesAll(tokens, fields)) {
+                result.add(document.employee());
+            }
+        }
+        return result;
+    }
+
+    private void checkReady() {
+        if (!this.ready) {
+            throw new EmployeeSearchUnavailableException();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static List<String> tokens(String query) {
+        String normalized = normalize(query);
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    /**
+     * El valor completo más cada palabra alfanumérica, así "martin.diaz@gmail.com" se encuentra con
+     * "martin.d", "diaz" y "gmail".
+     */
+    static Set<String> terms(String normalized) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            terms.add(normalized);
+            for (String word : NON_ALPHANUMERIC.split(normalized)) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        return terms;
+    }
+
+    static Set<String> trigrams(String normalized) {
+        return paddedTrigrams(pad(normalized));
+    }
+
+    private static String pad(String normalized) {
+        return normalized.isEmpty() ? "" : "  " + normalized + " ";
+    }
+
+    private static Set<String> paddedTrigrams(String padded) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static final class Segment {
+
+        private static final LongPostings EMPTY = new LongPostings();
+
+        private final Map<Long, IndexedEmployee> documents = new HashMap<>();
+        private final LongPostings ids = new LongPostings();
+        private final TreeMap<String, LongPostings> terms = new TreeMap<>();
+        private final Map<String, LongPostings> trigrams = new HashMap<>();
+
+        private void apply(EmployeeChangedEvent event) {
+            if (event.type() == EmployeeChangedEvent.Type.DELETED) {
+                this.remove(event.id());
+            } else {
+                this.put(event.employee());
+            }
+        }
+
+        private void put(EmployeeView employee) {
+            this.remove(employee.id());
+            IndexedEmployee document = IndexedEmployee.of(employee);
+            this.documents.put(employee.id(), document);
+            this.ids.add(employee.id());
+            for (EmployeeSearchField field : EmployeeSearchField.values()) {
+                for (String term : document.terms()[field.ordinal()]) {
+                    this.terms.computeIfAbsent(field.key(term), key -> new LongPostings()).add(employee.id());
+                }
+                for (String trigram : paddedTrigrams(document.padded()[field.ordinal()])) {
+                    this.trigrams.computeIfAbsent(field.key(trigram), key -> new LongPostings()).add(employee.id());
+                }
+            }
+        }
+
+        private void remove(Long id) {
+            IndexedEmployee document = this.documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            this.ids.remove(id);
+            for (EmployeeSearchField field : EmployeeSearchField.values()) {
+                for (String term : document.terms()[field.ordinal()]) {
+                    removePosting(this.terms, field.key(term), id);
+                }
+                for (String trigram : paddedTrigrams(document.padded()[field.ordinal()])) {
+                    removePosting(this.trigrams, field.key(trigram), id);
+                }
+            }
+        }
+
+        private static void removePosting(Map<String, LongPostings> index, String key, long id) {
+            LongPostings postings = index.get(key);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code padded} guarda cada campo normalizado con el relleno de los trigramas y {@code trigramCounts}
+     * cuántos trigramas distintos tiene, para puntuar la similitud sin volver a generarlos.
+     */
+    private record IndexedEmployee(EmployeeView employee, String[] padded, int[] trigramCounts, String[][] terms) {
+
+        private static IndexedEmployee of(EmployeeView employee) {
+            EmployeeSearchField[] fields = EmployeeSearchField.values();
+            String[] padded = new String[fields.length];
+            int[] trigramCounts = new int[fields.length];
+            String[][] terms = new String[fields.length][];
+            for (EmployeeSearchField field : fields) {
+                String normalized = normalize(field.valueOf(employee));
+                padded[field.ordinal()] = pad(normalized);
+                trigramCounts[field.ordinal()] = paddedTrigrams(padded[field.ordinal()]).size();
+                terms[field.ordinal()] = EmployeeSearchIndex.terms(normalized).toArray(String[]::new);
+            }
+            return new IndexedEmployee(employee, padded, trigramCounts, terms);
+        }
+
+        private boolean matchesAll(List<String> tokens, Set<EmployeeSearchField> fields) {
+            for (String token : tokens) {
+                if (!this.matches(token, fields)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(String token, Set<EmployeeSearchField> fields) {
+            for (EmployeeSearchField field : fields) {
+                for (String term : this.terms[field.ordinal()]) {
+                    if (term.startsWith(token)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private double similarity(Set<String> queryTrigrams, Set<EmployeeSearchField> fields) {
+            double best = 0;
+            for (EmployeeSearchField field : fields) {
+                String value = this.padded[field.ordinal()];
+                int shared = 0;
+                for (String trigram : queryTrigrams) {
+                    if (value.contains(trigram)) {
+                        shared++;
+                    }
+                }
+                best = Math.max(best, (double) shared / (queryTrigrams.size() + this.trigramCounts[field.ordinal()] - shared));
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Una página de la búsqueda aproximada. {@code truncated} indica que puede haber coincidencias que no
+     * se han verificado o que quedan fuera de max-fuzzy-results.
+     */
+    public record FuzzyMatches(List<EmployeeView> employees, boolean truncated) {
+    }
+
+    private record ScoredEmployee(EmployeeView employee, double score) {
+    }
+
+    private static final class PostingsCursor {
+
+        private final LongPostings postings;
+        private int position;
+
+        private PostingsCursor(LongPostings postings, int position) {
+            this.postings = postings;
+            this.position = position;
+        }
+
+        private boolean hasCurrent() {
+            return this.position < this.postings.size();
+        }
+
+        private long current() {
+            return this.postings.get(this.position);
+        }
+
+        private boolean advance() {
+            this.position++;
+            return this.hasCurrent();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.magadiflo.crud.api.app.search;
+
+import java.util.Locale;
+
+public enum EmployeeSearchMode {
+    PREFIX, FUZZY;
+
+    public static EmployeeSearchMode fromParam(String param) {
+        return valueOf(param.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,64 @@
+package com.magadiflo.crud.api.app.search;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto ordenado de ids sobre un array primitivo. Los ids se asignan casi siempre en orden
+ * creciente, por lo que {@link #add(long)} suele ser un simple append.
+ */
+final class LongPostings {
+
+    private long[] ids = new long[1];
+    private int size;
+
+    void add(long id) {
+        if (this.size > 0 && this.ids[this.size - 1] < id) {
+            this.grow();
+            this.ids[this.size++] = id;
+            return;
+        }
+        int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        this.grow();
+        System.arraycopy(this.ids, insertAt, this.ids, insertAt + 1, this.size - insertAt);
+        this.ids[insertAt] = id;
+        this.size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(this.ids, 0, this.size, id);
+        if (index >= 0) {
+            System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+            this.size--;
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Posición del primer id estrictamente mayor que {@code afterId}.
+     */
+    int positionAfter(long afterId) {
+        int index = Arrays.binarySearch(this.ids, 0, this.size, afterId);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    long get(int position) {
+        return this.ids[position];
+    }
+
+    private void grow() {
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size + (this.size >> 1) + 1);
+        }
+    }
+}
@@ -1,18 +1,41 @@
 package com.magadiflo.crud.api.app.service;
 
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
 import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IEmployeeService {
-    List<Employee> getAllEmployees();
+    List<EmployeeView> getAllEmployees();
 
-    Optional<Employee> getEmployeeById(Long id);
+    EmployeeCollectionVersion getEmployeesVersion();
+
+    EmployeePage getEmployeesPage(Long afterId, Integer size);
+
+    void streamAllEmployees(Consumer<EmployeeView> consumer);
+
+    EmployeePage searchEmployees(String query, EmployeeSearchMode mode, EmployeeSearchField field, Long position, Integer size);
+
+    Optional<EmployeeView> getEmployeeById(Long id);
+
+    Optional<EmployeeView> getEmployeeByEmail(String email);
 
     Employee saveEmployee(Employee employee);
 
-    Employee updateEmployee(Employee updateEmployee);
+    Optional<Employee> updateEmployee(Long id, Employee employee);
 
     void deleteEmployee(Long id);
+
+    List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
+
+    List<EmployeeBatchResult> updateEmployees(List<Employee> employees);
+
+    List<EmployeeBatchResult> deleteEmployees(List<Long> ids);
 }
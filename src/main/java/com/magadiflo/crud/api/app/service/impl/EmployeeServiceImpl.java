@@ -1,60 +1,348 @@
 package com.magadiflo.crud.api.app.service.impl;
 
+import com.magadiflo.crud.api.app.config.CacheConfig;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.config.EmployeeViewCache;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
 import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeVersionMismatchException;
+import com.magadiflo.crud.api.app.lookup.EmployeeLookupCoalescer;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
 import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchIndex;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
 import com.magadiflo.crud.api.app.service.IEmployeeService;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+@Timed(value = "employees.service", description = "IEmployeeService operations")
 @AllArgsConstructor
 @Service
 public class EmployeeServiceImpl implements IEmployeeService {
 
     private final IEmployeeRepository employeeRepository;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EmployeeProperties employeeProperties;
+    private final CacheManager cacheManager;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeLookupCoalescer employeeLookupCoalescer;
 
     @Transactional(readOnly = true)
     @Override
-    public List<Employee> getAllEmployees() {
-        return this.employeeRepository.findAll();
+    public List<EmployeeView> getAllEmployees() {
+        return this.employeeJdbcRepository.findAllViews();
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Optional<Employee> getEmployeeById(Long id) {
-        return this.employeeRepository.findById(id);
+    public EmployeeCollectionVersion getEmployeesVersion() {
+        return this.employeeRepository.getCollectionVersion();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public EmployeePage getEmployeesPage(Long afterId, Integer size) {
+        int pageSize = this.pageSize(size);
+        List<EmployeeView> employees = this.employeeJdbcRepository.findViewsAfterId(
+                afterId == null ? Long.MIN_VALUE : afterId, pageSize + 1);
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+
+        List<EmployeeView> content = employees.subList(0, pageSize);
+        return new EmployeePage(content, EmployeeCursor.encode(content.get(pageSize - 1).id()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeView> consumer) {
+        this.employeeJdbcRepository.streamAll(this.employeeProperties.getStream().getFetchSize(), consumer);
+    }
+
+    @Override
+    public EmployeePage searchEmployees(String query, EmployeeSearchMode mode, EmployeeSearchField field, Long position, Integer size) {
+        int pageSize = this.pageSize(size);
+        Set<EmployeeSearchField> fields = field == null ? EnumSet.allOf(EmployeeSearchField.class) : EnumSet.of(field);
+        if (mode == EmployeeSearchMode.FUZZY) {
+            int offset = position == null ? 0 : (int) Math.min(Math.max(position, 0), Integer.MAX_VALUE - pageSize - 1);
+            EmployeeSearchIndex.FuzzyMatches matches = this.employeeSearchIndex.fuzzySearch(query, fields, offset, pageSize + 1);
+            List<EmployeeView> employees = matches.employees();
+            Boolean truncated = matches.truncated() ? Boolean.TRUE : null;
+            return employees.size() <= pageSize ? new EmployeePage(employees, null, truncated)
+                    : new EmployeePage(employees.subList(0, pageSize), EmployeeCursor.encode((long) offset + pageSize), truncated);
+        }
+
+        List<EmployeeView> employees = this.employeeSearchIndex.prefixSearch(query, fields,
+                position == null ? Long.MIN_VALUE : position, pageSize + 1);
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+        List<EmployeeView> content = employees.subList(0, pageSize);
+        return new EmployeePage(content, EmployeeCursor.encode(content.get(pageSize - 1).id()));
+    }
+
+    /**
+     * Sin transacción propia: EmployeeLookupCoalescer agrupa las búsquedas simultáneas y abre una sola
+     * transacción de solo lectura por lote.
+     */
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_ID, key = "#id")
+    @Override
+    public Optional<EmployeeView> getEmployeeById(Long id) {
+        return this.employeeLookupCoalescer.findViewById(id);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = "#email")
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<EmployeeView> getEmployeeByEmail(String email) {
+        return this.employeeJdbcRepository.findViewByEmail(email);
     }
 
     @Transactional
     @Override
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> employeeOptional = this.employeeRepository.findByEmail(employee.getEmail());
-        if (employeeOptional.isPresent()) {
-            throw new NoSuchElementException(String.format("Employee already exist with given email %s", employee.getEmail()));
+        Employee savedEmployee;
+        try {
+            savedEmployee = this.employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailViolation(e, employee.getEmail());
         }
-        return this.employeeRepository.save(employee);
+        this.cachePut(savedEmployee);
+        this.eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployee));
+        return savedEmployee;
+    }
+
+    @Transactional
+    @Override
+    public Optional<Employee> updateEmployee(Long id, Employee employee) {
+        Optional<Employee> employeeOptional = this.employeeRepository.findById(id);
+        employeeOptional.ifPresent(employeeDB -> {
+            if (employee.getVersion() != null && !employee.getVersion().equals(employeeDB.getVersion())) {
+                throw new EmployeeVersionMismatchException(id, employee.getVersion(), employeeDB.getVersion());
+            }
+            EmployeeView previous = EmployeeView.of(employeeDB);
+            employeeDB.setFirstName(employee.getFirstName());
+            employeeDB.setLastName(employee.getLastName());
+            employeeDB.setEmail(employee.getEmail());
+            try {
+                this.employeeRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw translateEmailViolation(e, employee.getEmail());
+            }
+            this.cachePut(previous, EmployeeView.of(employeeDB));
+            this.eventPublisher.publishEvent(EmployeeChangedEvent.updated(previous, employeeDB));
+        });
+        return employeeOptional;
+    }
+
+    @Transactional
+    @Override
+    public void deleteEmployee(Long id) {
+        this.employeeRepository.findById(id).ifPresent(employee -> {
+            EmployeeView previous = EmployeeView.of(employee);
+            this.cacheInvalidate(previous);
+            this.eventPublisher.publishEvent(EmployeeChangedEvent.deleted(previous));
+        });
+        this.employeeRepository.deleteById(id);
     }
 
     @Transactional
     @Override
-    public Employee updateEmployee(Employee updateEmployee) {
-        Optional<Employee> employeeBD = this.employeeRepository.findById(updateEmployee.getId());
-        Optional<Employee> employeeEmailBD = this.employeeRepository.findByEmail(updateEmployee.getEmail());
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        int batchSize = this.employeeProperties.getBatch().getJdbcBatchSize();
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        Map<String, Long> existingIds = this.employeeJdbcRepository.findIdsByEmails(emailsOf(employees), batchSize);
 
-        if (!updateEmployee.getEmail().equals(employeeBD.orElseThrow().getEmail()) && employeeEmailBD.isPresent()) {
-            throw new NoSuchElementException(String.format("Update error, employee already exist with given email %s", updateEmployee.getEmail()));
+        Set<String> batchEmails = new HashSet<>();
+        List<Employee> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!isComplete(employee)) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "firstName, lastName and email are required");
+            } else if (existingIds.containsKey(employee.getEmail()) || !batchEmails.add(employee.getEmail())) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.CONFLICT,
+                        String.format("Employee already exist with given email %s", employee.getEmail()));
+            } else {
+                employee.setId(null);
+                employee.setVersion(null);
+                accepted.add(employee);
+                acceptedIndexes.add(i);
+            }
         }
 
-        return this.employeeRepository.save(updateEmployee);
+        this.employeeRepository.saveAll(accepted);
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            results[index] = EmployeeBatchResult.success(index, accepted.get(k).getId(), HttpStatus.CREATED);
+            this.cachePut(accepted.get(k));
+            this.eventPublisher.publishEvent(EmployeeChangedEvent.created(accepted.get(k)));
+        }
+        return Arrays.asList(results);
     }
 
     @Transactional
     @Override
-    public void deleteEmployee(Long id) {
-        this.employeeRepository.deleteById(id);
+    public List<EmployeeBatchResult> updateEmployees(List<Employee> employees) {
+        int batchSize = this.employeeProperties.getBatch().getJdbcBatchSize();
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        Map<String, Long> existingIds = this.employeeJdbcRepository.findIdsByEmails(emailsOf(employees), batchSize);
+
+        Set<Long> batchIds = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        List<Employee> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!isComplete(employee) || employee.getId() == null) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "id, firstName, lastName and email are required");
+                continue;
+            }
+            Long id = employee.getId();
+            Long emailOwnerId = existingIds.get(employee.getEmail());
+            if (!batchIds.add(id)) {
+                results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.BAD_REQUEST, String.format("Duplicate id %d in batch", id));
+            } else if ((emailOwnerId != null && !emailOwnerId.equals(id)) || !batchEmails.add(employee.getEmail())) {
+                results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.CONFLICT,
+                        String.format("Update error, employee already exist with given email %s", employee.getEmail()));
+            } else {
+                accepted.add(employee);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        Map<Long, EmployeeView> previous = this.employeeJdbcRepository.findViewsByIdsForUpdate(
+                accepted.stream().map(Employee::getId).toList(), batchSize);
+        int[] counts = this.employeeJdbcRepository.updateAll(accepted, batchSize);
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            Long id = accepted.get(k).getId();
+            if (counts[k] == 0) {
+                results[index] = EmployeeBatchResult.failure(index, id, HttpStatus.NOT_FOUND, String.format("Employee not found with given id %d", id));
+            } else {
+                results[index] = EmployeeBatchResult.success(index, id, HttpStatus.OK);
+                EmployeeView before = previous.get(id);
+                Employee employee = accepted.get(k);
+                this.cachePut(before, new EmployeeView(id, employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                        before.version() == null ? null : before.version() + 1));
+                this.eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, employee));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Transactional
+    @Override
+    public List<EmployeeBatchResult> deleteEmployees(List<Long> ids) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[ids.size()];
+        List<Long> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "id is required");
+            } else {
+                accepted.add(ids.get(i));
+                acceptedIndexes.add(i);
+            }
+        }
+
+        int batchSize = this.employeeProperties.getBatch().getJdbcBatchSize();
+        Map<Long, EmployeeView> previous = this.employeeJdbcRepository.findViewsByIdsForUpdate(accepted, batchSize);
+        int[] counts = this.employeeJdbcRepository.deleteAllById(accepted, batchSize);
+        for (int k = 0; k < accepted.size(); k++) {
+            int index = acceptedIndexes.get(k);
+            Long id = accepted.get(k);
+            if (counts[k] == 0) {
+                results[index] = EmployeeBatchResult.failure(index, id, HttpStatus.NOT_FOUND, String.format("Employee not found with given id %d", id));
+            } else {
+                results[index] = EmployeeBatchResult.success(index, id, HttpStatus.OK);
+                this.cacheInvalidate(previous.get(id));
+                this.eventPublisher.publishEvent(EmployeeChangedEvent.deleted(previous.get(id)));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private int pageSize(Integer size) {
+        EmployeeProperties.Page page = this.employeeProperties.getPage();
+        return Math.min(size == null ? page.getDefaultSize() : Math.max(size, 1), page.getMaxSize());
+    }
+
+    /**
+     * Sin evict: {@link EmployeeViewCache} descarta las versiones anteriores que guarde más tarde una
+     * lectura que empezó antes del commit, y un evict las dejaría pasar.
+     */
+    private void cachePut(Employee employee) {
+        EmployeeView view = EmployeeView.of(employee);
+        this.cache(CacheConfig.EMPLOYEES_BY_ID).put(view.id(), view);
+        this.cache(CacheConfig.EMPLOYEES_BY_EMAIL).put(view.email(), view);
+    }
+
+    private void cachePut(EmployeeView previous, EmployeeView view) {
+        if (!previous.email().equals(view.email())) {
+            this.cache(CacheConfig.EMPLOYEES_BY_EMAIL).put(previous.email(), EmployeeViewCache.invalidated(previous));
+        }
+        this.cache(CacheConfig.EMPLOYEES_BY_ID).put(view.id(), view);
+        this.cache(CacheConfig.EMPLOYEES_BY_EMAIL).put(view.email(), view);
+    }
+
+    private void cacheInvalidate(EmployeeView previous) {
+        this.cache(CacheConfig.EMPLOYEES_BY_ID).put(previous.id(), EmployeeViewCache.invalidated(previous));
+        this.cache(CacheConfig.EMPLOYEES_BY_EMAIL).put(previous.email(), EmployeeViewCache.invalidated(previous));
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(this.cacheManager.getCache(name));
+    }
+
+    private static RuntimeException translateEmailViolation(DataIntegrityViolationException e, String email) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(Employee.EMAIL_UNIQUE_INDEX)) {
+                return new EmployeeEmailAlreadyExistsException(email, e);
+            }
+        }
+        return e;
+    }
+
+    private static Set<String> emailsOf(List<Employee> employees) {
+        return employees.stream()
+                .filter(Objects::nonNull)
+                .map(Employee::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    static boolean isComplete(Employee employee) {
+        return employee != null && employee.getFirstName() != null && employee.getLastName() != null && employee.getEmail() != null;
     }
 }
@@ -0,0 +1,464 @@
+package com.magadiflo.crud.api.app.service.impl;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeShardUnavailableException;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchIndex;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import com.magadiflo.crud.api.app.sharding.EmployeeEmailIndex;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardContext;
+import com.magadiflo.crud.api.app.sharding.EmployeeShardRouter;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Empleados repartidos en shards (employees.shards.enabled=true). Cada operación fija su shard en
+ * {@link EmployeeShardContext} y delega en EmployeeServiceImpl, que abre ahí su transacción:
+ * <ul>
+ *     <li>Por id (get, update, delete) se va al único shard que codifica el id.</li>
+ *     <li>Las altas van al shard del hash del email.</li>
+ *     <li>Los listados consultan todos los shards en paralelo (scatter-gather) y mezclan los resultados
+ *     ordenados por id; las páginas siguen usando el último id como cursor.</li>
+ *     <li>La unicidad del email la garantiza {@link EmployeeEmailIndex} en el shard directorio: el email
+ *     se reserva antes de escribir en el shard y la reserva se libera si la escritura falla.</li>
+ * </ul>
+ * Un shard que no responde dentro de scatter-timeout hace fallar el listado con 503; en los lotes solo
+ * fallan, con 503, los elementos de ese shard.
+ */
+@Timed(value = "employees.service", description = "IEmployeeService operations")
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "employees.shards", name = "enabled", havingValue = "true")
+public class ShardedEmployeeServiceImpl implements IEmployeeService, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedEmployeeServiceImpl.class);
+
+    private final EmployeeServiceImpl employeeService;
+    private final EmployeeShardRouter shardRouter;
+    private final EmployeeEmailIndex emailIndex;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EmployeeProperties employeeProperties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedEmployeeServiceImpl(EmployeeServiceImpl employeeService, EmployeeShardRouter shardRouter,
+                                      EmployeeEmailIndex emailIndex, EmployeeSearchIndex employeeSearchIndex,
+                                      EmployeeJdbcRepository employeeJdbcRepository, EmployeeProperties employeeProperties,
+                                      PlatformTransactionManager transactionManager) {
+        this.employeeService = employeeService;
+        this.shardRouter = shardRouter;
+        this.emailIndex = emailIndex;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeProperties = employeeProperties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.scatterExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${employees.search.rebuild-interval:PT30M}")
+    public void scheduledSearchRebuild() {
+        try {
+            this.employeeSearchIndex.rebuild(this::streamAllEmployees);
+        } catch (RuntimeException e) {
+            LOG.warn("Employee search index rebuild failed, keeping the current index", e);
+        }
+    }
+
+    @Override
+    public List<EmployeeView> getAllEmployees() {
+        return this.scatter(shard -> this.employeeService.getAllEmployees()).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(EmployeeView::id))
+                .toList();
+    }
+
+    @Override
+    public EmployeeCollectionVersion getEmployeesVersion() {
+        long count = 0;
+        Long maxId = null;
+        long versionSum = 0;
+        long changeSeq = 0;
+        for (EmployeeCollectionVersion version : this.scatter(shard -> this.employeeService.getEmployeesVersion())) {
+            count += version.count() == null ? 0 : version.count();
+            versionSum += version.versionSum() == null ? 0 : version.versionSum();
+            // Cada shard tiene su propio contador; la suma de contadores que solo crecen tampoco retrocede.
+            changeSeq += version.changeSeq() == null ? 0 : version.changeSeq();
+            if (version.maxId() != null && (maxId == null || version.maxId() > maxId)) {
+                maxId = version.maxId();
+            }
+        }
+        return new EmployeeCollectionVersion(count, maxId, versionSum, changeSeq);
+    }
+
+    @Override
+    public EmployeePage getEmployeesPage(Long afterId, Integer size) {
+        EmployeeProperties.Page page = this.employeeProperties.getPage();
+        int pageSize = Math.min(size == null ? page.getDefaultSize() : Math.max(size, 1), page.getMaxSize());
+        List<EmployeeView> employees = this.findViewsAfterId(afterId == null ? Long.MIN_VALUE : afterId, pageSize + 1);
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+
+        List<EmployeeView> content = employees.subList(0, pageSize);
+        return new EmployeePage(content, EmployeeCursor.encode(content.get(pageSize - 1).id()));
+    }
+
+    /**
+     * Recorre todos los shards por páginas de fetch-size mezcladas por id, así el consumidor recibe los
+     * empleados en orden y en su propio hilo.
+     */
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeView> consumer) {
+        int fetchSize = Math.max(this.employeeProperties.getStream().getFetchSize(), 1);
+        long afterId = Long.MIN_VALUE;
+        List<EmployeeView> employees;
+        do {
+            employees = this.findViewsAfterId(afterId, fetchSize);
+            employees.forEach(consumer);
+            if (!employees.isEmpty()) {
+                afterId = employees.get(employees.size() - 1).id();
+            }
+        } while (employees.size() == fetchSize);
+    }
+
+    /**
+     * El índice de búsqueda es local a la instancia y recibe los cambios de todos los shards, así que la
+     * búsqueda de EmployeeServiceImpl sirve tal cual.
+     */
+    @Override
+    public EmployeePage searchEmployees(String query, EmployeeSearchMode mode, EmployeeSearchField field, Long position, Integer size) {
+        return this.employeeService.searchEmployees(query, mode, field, position, size);
+    }
+
+    @Override
+    public Optional<EmployeeView> getEmployeeById(Long id) {
+        int shard = this.shardRouter.shardOf(id);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        return EmployeeShardContext.call(shard, () -> this.employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public Optional<EmployeeView> getEmployeeByEmail(String email) {
+        return this.emailIndex.findEmployeeId(email)
+                .map(this.shardRouter::shardOf)
+                .filter(shard -> shard >= 0)
+                .flatMap(shard -> EmployeeShardContext.call(shard, () -> this.employeeService.getEmployeeByEmail(email)));
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        String email = employee.getEmail();
+        if (email != null) {
+            this.emailIndex.reserve(email, null, this::holdsEmail);
+        }
+        Employee savedEmployee;
+        try {
+            savedEmployee = EmployeeShardContext.call(this.shardRouter.shardForEmail(email),
+                    () -> this.employeeService.saveEmployee(employee));
+        } catch (RuntimeException e) {
+            if (email != null) {
+                this.emailIndex.release(email, null);
+            }
+            throw e;
+        }
+        if (email != null) {
+            this.emailIndex.assign(email, savedEmployee.getId());
+        }
+        return savedEmployee;
+    }
+
+    @Override
+    public Optional<Employee> updateEmployee(Long id, Employee employee) {
+        int shard = this.shardRouter.shardOf(id);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        String email = employee.getEmail();
+        boolean reserved = email != null && this.emailIndex.reserve(email, id, this::holdsEmail);
+        Optional<Employee> employeeOptional;
+        try {
+            employeeOptional = EmployeeShardContext.call(shard, () -> this.employeeService.updateEmployee(id, employee));
+        } catch (RuntimeException e) {
+            if (reserved) {
+                this.emailIndex.release(email, id);
+            }
+            throw e;
+        }
+        if (employeeOptional.isEmpty()) {
+            if (reserved) {
+                this.emailIndex.release(email, id);
+            }
+        } else if (email != null) {
+            this.emailIndex.releaseOthers(id, email);
+        }
+        return employeeOptional;
+    }
+
+    @Override
+    public void deleteEmployee(Long id) {
+        int shard = this.shardRouter.shardOf(id);
+        if (shard < 0) {
+            return;
+        }
+        EmployeeShardContext.run(shard, () -> this.employeeService.deleteEmployee(id));
+        this.emailIndex.releaseAll(id);
+    }
+
+    @Override
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!EmployeeServiceImpl.isComplete(employee)) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "firstName, lastName and email are required");
+                continue;
+            }
+            try {
+                this.emailIndex.reserve(employee.getEmail(), null, this::holdsEmail);
+            } catch (EmployeeEmailAlreadyExistsException e) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.CONFLICT,
+                        String.format("Employee already exist with given email %s", employee.getEmail()));
+                continue;
+            }
+            indexesByShard.computeIfAbsent(this.shardRouter.shardForEmail(employee.getEmail()), shard -> new ArrayList<>()).add(i);
+        }
+
+        this.routeBatch(results, indexesByShard, employees, index -> null, this.employeeService::saveEmployees);
+        for (List<Integer> indexes : indexesByShard.values()) {
+            for (int index : indexes) {
+                String email = employees.get(index).getEmail();
+                if (isSuccess(results[index])) {
+                    this.emailIndex.assign(email, results[index].id());
+                } else {
+                    this.emailIndex.release(email, null);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public List<EmployeeBatchResult> updateEmployees(List<Employee> employees) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        Set<Long> batchIds = new HashSet<>();
+        Set<Integer> reserved = new HashSet<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (!EmployeeServiceImpl.isComplete(employee) || employee.getId() == null) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "id, firstName, lastName and email are required");
+                continue;
+            }
+            Long id = employee.getId();
+            int shard = this.shardRouter.shardOf(id);
+            if (!batchIds.add(id)) {
+                results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.BAD_REQUEST, String.format("Duplicate id %d in batch", id));
+                continue;
+            }
+            if (shard < 0) {
+                results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.NOT_FOUND, String.format("Employee not found with given id %d", id));
+                continue;
+            }
+            try {
+                if (this.emailIndex.reserve(employee.getEmail(), id, this::holdsEmail)) {
+                    reserved.add(i);
+                }
+            } catch (EmployeeEmailAlreadyExistsException e) {
+                results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.CONFLICT,
+                        String.format("Update error, employee already exist with given email %s", employee.getEmail()));
+                continue;
+            }
+            indexesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+        }
+
+        this.routeBatch(results, indexesByShard, employees, index -> employees.get(index).getId(), this.employeeService::updateEmployees);
+        for (List<Integer> indexes : indexesByShard.values()) {
+            for (int index : indexes) {
+                Employee employee = employees.get(index);
+                if (isSuccess(results[index])) {
+                    this.emailIndex.releaseOthers(employee.getId(), employee.getEmail());
+                } else if (reserved.contains(index)) {
+                    this.emailIndex.release(employee.getEmail(), employee.getId());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public List<EmployeeBatchResult> deleteEmployees(List<Long> ids) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[ids.size()];
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "id is required");
+                continue;
+            }
+            int shard = this.shardRouter.shardOf(id);
+            if (shard < 0) {
+                results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.NOT_FOUND, String.format("Employee not found with given id %d", id));
+                continue;
+            }
+            indexesByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+        }
+
+        this.routeBatch(results, indexesByShard, ids, ids::get, this.employeeService::deleteEmployees);
+        for (List<Integer> indexes : indexesByShard.values()) {
+            for (int index : indexes) {
+                if (isSuccess(results[index])) {
+                    this.emailIndex.releaseAll(ids.get(index));
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public void close() {
+        this.scatterExecutor.shutdownNow();
+    }
+
+    /**
+     * Los primeros {@code limit} empleados con id mayor que afterId entre todos los shards.
+     */
+    private List<EmployeeView> findViewsAfterId(long afterId, int limit) {
+        return this.scatter(shard -> this.readOnlyTransaction.execute(status ->
+                        this.employeeJdbcRepository.findViewsAfterId(afterId, limit))).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(EmployeeView::id))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Ejecuta la tarea en cada shard, con el shard fijado: el directorio en el hilo actual y los demás en
+     * paralelo. Espera como mucho scatter-timeout.
+     */
+    private <T> List<T> scatter(IntFunction<T> task) {
+        int shardCount = this.shardRouter.shardCount();
+        List<Future<T>> futures = new ArrayList<>(shardCount - 1);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(this.scatterExecutor.submit(() -> EmployeeShardContext.call(target, () -> task.apply(target))));
+        }
+        try {
+            List<T> results = new ArrayList<>(shardCount);
+            results.add(EmployeeShardContext.call(EmployeeShardRouter.DIRECTORY_SHARD,
+                    () -> task.apply(EmployeeShardRouter.DIRECTORY_SHARD)));
+            long deadline = System.nanoTime() + this.employeeProperties.getShards().getScatterTimeout().toNanos();
+            for (int shard = 1; shard < shardCount; shard++) {
+                results.add(await(shard, futures.get(shard - 1), deadline));
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Aplica la operación por lotes de EmployeeServiceImpl en cada shard con sus elementos y devuelve
+     * cada resultado a su posición original. Si un shard falla, sus elementos responden 503.
+     */
+    private <T> void routeBatch(EmployeeBatchResult[] results, Map<Integer, List<Integer>> indexesByShard, List<T> items,
+                                IntFunction<Long> idOf, Function<List<T>, List<EmployeeBatchResult>> operation) {
+        for (Map.Entry<Integer, List<Integer>> entry : indexesByShard.entrySet()) {
+            int shard = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+            List<T> shardItems = indexes.stream().map(items::get).toList();
+            try {
+                List<EmployeeBatchResult> shardResults = EmployeeShardContext.call(shard, () -> operation.apply(shardItems));
+                for (int k = 0; k < indexes.size(); k++) {
+                    int index = indexes.get(k);
+                    EmployeeBatchResult result = shardResults.get(k);
+                    results[index] = new EmployeeBatchResult(index, result.id(), result.status(), result.error());
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Employee batch failed on shard {}", shard, e);
+                for (int index : indexes) {
+                    results[index] = EmployeeBatchResult.failure(index, idOf.apply(index), HttpStatus.SERVICE_UNAVAILABLE,
+                            String.format("Employee shard %d failed: %s", shard, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Para {@link EmployeeEmailIndex}: si el empleado sigue teniendo ese email en su shard.
+     */
+    private boolean holdsEmail(Long employeeId, String email) {
+        int shard = this.shardRouter.shardOf(employeeId);
+        if (shard < 0) {
+            return false;
+        }
+        Optional<EmployeeView> employee = EmployeeShardContext.call(shard, () ->
+                this.readOnlyTransaction.execute(status -> this.employeeJdbcRepository.findViewById(employeeId)));
+        return employee != null && employee.map(view -> email.equals(view.email())).orElse(false);
+    }
+
+    private static boolean isSuccess(EmployeeBatchResult result) {
+        return result != null && HttpStatus.valueOf(result.status()).is2xxSuccessful();
+    }
+
+    private static <T> T await(int shard, Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new EmployeeShardUnavailableException(shard, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeShardUnavailableException(shard, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new EmployeeShardUnavailableException(shard, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.magadiflo.crud.api.app.service.impl;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSnapshotReadOnlyException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSnapshotUnavailableException;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchIndex;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import com.magadiflo.crud.api.app.snapshot.EmployeeSnapshot;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Réplica de solo lectura sin base de datos: sirve las lecturas desde el {@link EmployeeSnapshot}
+ * mapeado en memoria que escribe EmployeeSnapshotExporter en el primario. Cada reload-interval mira la
+ * cabecera del fichero y, si hay uno nuevo, lo mapea, reconstruye con él el índice de búsqueda y lo
+ * cambia por el actual; las peticiones en curso terminan con el snapshot que ya tenían.
+ * <p>
+ * Las escrituras responden 405: van al primario, y la réplica las verá con el siguiente snapshot.
+ */
+@Timed(value = "employees.service", description = "IEmployeeService operations")
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "employees.snapshot", name = "serve", havingValue = "true")
+public class SnapshotEmployeeServiceImpl implements IEmployeeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotEmployeeServiceImpl.class);
+
+    private final EmployeeServiceImpl employeeService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final EmployeeProperties employeeProperties;
+    private volatile EmployeeSnapshot snapshot;
+
+    public SnapshotEmployeeServiceImpl(EmployeeServiceImpl employeeService, EmployeeSearchIndex employeeSearchIndex,
+                                       EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeProperties = employeeProperties;
+        Gauge.builder("employees.snapshot.age", this, service -> service.snapshot == null ? Double.NaN
+                        : (System.currentTimeMillis() - service.snapshot.createdAt()) / 1000.0)
+                .description("Seconds since the served employee snapshot was written")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        // Carga el snapshot antes de que el contexto empiece a atender peticiones.
+        this.scheduledReload();
+    }
+
+    @Scheduled(initialDelayString = "${employees.snapshot.reload-interval:PT10S}",
+            fixedDelayString = "${employees.snapshot.reload-interval:PT10S}")
+    public void scheduledReload() {
+        try {
+            this.reload();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Employee snapshot reload failed, keeping the current snapshot", e);
+        }
+    }
+
+    /**
+     * @return si se cargó un snapshot nuevo
+     */
+    public boolean reload() throws IOException {
+        Path path = this.employeeProperties.getSnapshot().getPath();
+        if (!Files.exists(path)) {
+            return false;
+        }
+        EmployeeSnapshot current = this.snapshot;
+        if (current != null && current.createdAt() == EmployeeSnapshot.readCreatedAt(path)) {
+            return false;
+        }
+        EmployeeSnapshot fresh = EmployeeSnapshot.open(path);
+        this.employeeSearchIndex.rebuild(fresh::forEach);
+        this.snapshot = fresh;
+        LOG.info("Employee snapshot {} loaded with {} employees", path, fresh.size());
+        return true;
+    }
+
+    @Override
+    public List<EmployeeView> getAllEmployees() {
+        EmployeeSnapshot snapshot = this.snapshot();
+        return snapshot.findAfterId(Long.MIN_VALUE, snapshot.size());
+    }
+
+    @Override
+    public EmployeeCollectionVersion getEmployeesVersion() {
+        return this.snapshot().version();
+    }
+
+    @Override
+    public EmployeePage getEmployeesPage(Long afterId, Integer size) {
+        EmployeeProperties.Page page = this.employeeProperties.getPage();
+        int pageSize = Math.min(size == null ? page.getDefaultSize() : Math.max(size, 1), page.getMaxSize());
+        List<EmployeeView> employees = this.snapshot().findAfterId(afterId == null ? Long.MIN_VALUE : afterId, pageSize + 1);
+        if (employees.size() <= pageSize) {
+            return new EmployeePage(employees, null);
+        }
+
+        List<EmployeeView> content = employees.subList(0, pageSize);
+        return new EmployeePage(content, EmployeeCursor.encode(content.get(pageSize - 1).id()));
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeView> consumer) {
+        this.snapshot().forEach(consumer);
+    }
+
+    /**
+     * El índice de búsqueda se alimenta del snapshot en {@link #reload()}, así que la búsqueda de
+     * EmployeeServiceImpl sirve tal cual.
+     */
+    @Override
+    public EmployeePage searchEmployees(String query, EmployeeSearchMode mode, EmployeeSearchField field, Long position, Integer size) {
+        return this.employeeService.searchEmployees(query, mode, field, position, size);
+    }
+
+    @Override
+    public Optional<EmployeeView> getEmployeeById(Long id) {
+        return this.snapshot().findById(id);
+    }
+
+    @Override
+    public Optional<EmployeeView> getEmployeeByEmail(String email) {
+        return this.snapshot().findByEmail(email);
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        throw new EmployeeSnapshotReadOnlyException();
+    }
+
+    @Override
+    public Optional<Employee> updateEmployee(Long id, Employee employee) {
+        throw new EmployeeSnapshotReadOnlyException();
+    }
+
+    @Override
+    public void deleteEmployee(Long id) {
+        throw new EmployeeSnapshotReadOnlyException();
+    }
+
+    @Override
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        throw new EmployeeSnapshotReadOnlyException();
+    }
+
+    @Override
+    public List<EmployeeBatchResult> updateEmployees(List<Employee> employees) {
+        throw new EmployeeSnapshotReadOnlyException();
+    }
+
+    @Override
+    public List<EmployeeBatchResult> deleteEmployees(List<Long> ids) {
+        throw new EmployeeSnapshotReadOnlyException();
+    }
+
+    private EmployeeSnapshot snapshot() {
+        EmployeeSnapshot current = this.snapshot;
+        if (current == null) {
+            throw new EmployeeSnapshotUnavailableException();
+        }
+        return current;
+    }
+}
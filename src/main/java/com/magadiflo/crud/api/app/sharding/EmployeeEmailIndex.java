@@ -0,0 +1,131 @@
+package com.magadiflo.crud.api.app.sharding;
+
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+/**
+ * Índice global de emails en la tabla employee_emails del shard directorio: el índice único de cada
+ * shard solo ve sus propias filas, así que el email se reserva aquí antes de escribirlo en su shard.
+ * <p>
+ * Cada sentencia va en autocommit contra el pool del directorio, fuera de la transacción del shard (no
+ * hay transacciones distribuidas). Si la escritura en el shard falla, la reserva se libera; si la
+ * aplicación cae entre ambas, la reserva queda huérfana: pasado email-reservation-timeout, otra
+ * reserva del mismo email se la queda si es de un alta (sin employee_id) o si su empleado ya no tiene ese
+ * email en su shard. Antes de ese plazo la reserva se respeta, porque su escritura puede seguir en curso.
+ */
+public class EmployeeEmailIndex {
+
+    private static final String SELECT_BY_EMAIL = "SELECT employee_id, reserved_at FROM employee_emails WHERE email = ?";
+    private static final String INSERT = "INSERT INTO employee_emails (email, employee_id, reserved_at) VALUES (?, ?, ?)";
+    private static final String ASSIGN = "UPDATE employee_emails SET employee_id = ? WHERE email = ? AND employee_id IS NULL";
+    private static final String TAKE_OVER_PENDING = "UPDATE employee_emails SET employee_id = ?, reserved_at = ? " +
+            "WHERE email = ? AND employee_id IS NULL AND reserved_at = ?";
+    private static final String TAKE_OVER_OWNED = "UPDATE employee_emails SET employee_id = ?, reserved_at = ? " +
+            "WHERE email = ? AND employee_id = ?";
+    private static final String RELEASE = "DELETE FROM employee_emails WHERE email = ? AND employee_id = ?";
+    private static final String RELEASE_PENDING = "DELETE FROM employee_emails WHERE email = ? AND employee_id IS NULL";
+    private static final String RELEASE_OTHERS = "DELETE FROM employee_emails WHERE employee_id = ? AND email <> ?";
+    private static final String RELEASE_ALL = "DELETE FROM employee_emails WHERE employee_id = ?";
+
+    private static final RowMapper<Reservation> RESERVATION_ROW_MAPPER = (rs, rowNum) -> new Reservation(
+            rs.getObject("employee_id", Long.class),
+            rs.getTimestamp("reserved_at"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration reservationTimeout;
+
+    public EmployeeEmailIndex(DataSource directory, Duration reservationTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(directory);
+        this.reservationTimeout = reservationTimeout;
+    }
+
+    public Optional<Long> findEmployeeId(String email) {
+        return this.find(email).map(Reservation::employeeId);
+    }
+
+    /**
+     * Reserva el email para employeeId, o para un alta si es null.
+     *
+     * @param holdsEmail dice si un empleado sigue teniendo ese email en su shard
+     * @return true si la reserva es nueva y debe liberarse si la escritura falla; false si el email ya
+     * era de employeeId
+     * @throws EmployeeEmailAlreadyExistsException si el email es de otro empleado o lo reserva otra alta
+     */
+    public boolean reserve(String email, Long employeeId, BiPredicate<Long, String> holdsEmail) {
+        while (true) {
+            Timestamp now = Timestamp.from(Instant.now());
+            try {
+                this.jdbcTemplate.update(INSERT, email, employeeId, now);
+                return true;
+            } catch (DuplicateKeyException e) {
+                Optional<Reservation> existing = this.find(email);
+                if (existing.isEmpty()) {
+                    continue;
+                }
+                Reservation reservation = existing.get();
+                if (reservation.employeeId() != null && reservation.employeeId().equals(employeeId)) {
+                    return false;
+                }
+                if (this.isAbandoned(reservation, email, holdsEmail)) {
+                    int taken = reservation.employeeId() == null
+                            ? this.jdbcTemplate.update(TAKE_OVER_PENDING, employeeId, now, email, reservation.reservedAt())
+                            : this.jdbcTemplate.update(TAKE_OVER_OWNED, employeeId, now, email, reservation.employeeId());
+                    if (taken == 1) {
+                        return true;
+                    }
+                    continue;
+                }
+                throw new EmployeeEmailAlreadyExistsException(email, e);
+            }
+        }
+    }
+
+    /**
+     * Asigna al empleado recién creado la reserva que hizo su alta.
+     */
+    public void assign(String email, long employeeId) {
+        this.jdbcTemplate.update(ASSIGN, employeeId, email);
+    }
+
+    public void release(String email, Long employeeId) {
+        if (employeeId == null) {
+            this.jdbcTemplate.update(RELEASE_PENDING, email);
+        } else {
+            this.jdbcTemplate.update(RELEASE, email, employeeId);
+        }
+    }
+
+    /**
+     * Libera los emails anteriores del empleado tras cambiarle el email.
+     */
+    public void releaseOthers(long employeeId, String email) {
+        this.jdbcTemplate.update(RELEASE_OTHERS, employeeId, email);
+    }
+
+    public void releaseAll(long employeeId) {
+        this.jdbcTemplate.update(RELEASE_ALL, employeeId);
+    }
+
+    private Optional<Reservation> find(String email) {
+        return this.jdbcTemplate.query(SELECT_BY_EMAIL, RESERVATION_ROW_MAPPER, email).stream().findFirst();
+    }
+
+    private boolean isAbandoned(Reservation reservation, String email, BiPredicate<Long, String> holdsEmail) {
+        if (reservation.reservedAt().toInstant().plus(this.reservationTimeout).isAfter(Instant.now())) {
+            return false;
+        }
+        return reservation.employeeId() == null || !holdsEmail.test(reservation.employeeId(), email);
+    }
+
+    private record Reservation(Long employeeId, Timestamp reservedAt) {
+    }
+}
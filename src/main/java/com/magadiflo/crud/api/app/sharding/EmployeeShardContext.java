@@ -0,0 +1,43 @@
+package com.magadiflo.crud.api.app.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard del hilo actual. {@link ShardRoutingDataSource} entrega las conexiones de ese shard (del
+ * directorio, sin shard) y EmployeeIdGenerator asigna los ids de ese shard.
+ * <p>
+ * La conexión de una transacción se elige al abrirla, así que el shard se fija antes de entrar en el
+ * método transaccional y no debe cambiar dentro de él.
+ */
+public final class EmployeeShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private EmployeeShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.magadiflo.crud.api.app.sharding;
+
+/**
+ * Reparto de empleados entre shards. El id codifica su shard, así una operación por id va a un solo
+ * shard sin consultar nada:
+ * <ul>
+ *     <li>{@link EmployeeShardStrategy#RANGE}: el shard {@code s} asigna los ids
+ *     {@code [s * rangeSize, (s + 1) * rangeSize)}. Añadir un shard no cambia el destino de ningún id
+ *     existente.</li>
+ *     <li>{@link EmployeeShardStrategy#HASH}: {@code id = local * shardCount + s}, el shard es
+ *     {@code id mod shardCount}. Los ids de todos los shards se intercalan, pero el número de shards
+ *     queda fijo.</li>
+ * </ul>
+ * {@code local} es el id que asigna la tabla employee_ids de cada shard. Los empleados nuevos se
+ * reparten por hash del email.
+ */
+public class EmployeeShardRouter {
+
+    /**
+     * Shard que guarda los datos globales, como el índice de emails.
+     */
+    public static final int DIRECTORY_SHARD = 0;
+
+    private final EmployeeShardStrategy strategy;
+    private final int shardCount;
+    private final long rangeSize;
+
+    public EmployeeShardRouter(EmployeeShardStrategy strategy, int shardCount, long rangeSize) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one employee shard is required");
+        }
+        if (strategy == EmployeeShardStrategy.RANGE && (rangeSize < 1 || rangeSize > Long.MAX_VALUE / shardCount)) {
+            throw new IllegalArgumentException(String.format("Range size must be between 1 and %d for %d shards",
+                    Long.MAX_VALUE / shardCount, shardCount));
+        }
+        this.strategy = strategy;
+        this.shardCount = shardCount;
+        this.rangeSize = rangeSize;
+    }
+
+    public int shardCount() {
+        return this.shardCount;
+    }
+
+    /**
+     * Shard del id, o -1 si ningún shard puede haberlo asignado.
+     */
+    public int shardOf(long id) {
+        if (id < 0) {
+            return -1;
+        }
+        long shard = this.strategy == EmployeeShardStrategy.RANGE ? id / this.rangeSize : id % this.shardCount;
+        return shard < this.shardCount ? (int) shard : -1;
+    }
+
+    public int shardForEmail(String email) {
+        int hash = email == null ? 0 : email.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), this.shardCount);
+    }
+
+    public long encode(int shard, long localId) {
+        if (shard < 0 || shard >= this.shardCount) {
+            throw new IllegalArgumentException(String.format("Shard must be between 0 and %d", this.shardCount - 1));
+        }
+        if (this.strategy == EmployeeShardStrategy.RANGE) {
+            if (localId < 0 || localId >= this.rangeSize) {
+                throw new IllegalStateException(String.format("Employee shard %d exhausted its id range of %d", shard, this.rangeSize));
+            }
+            return shard * this.rangeSize + localId;
+        }
+        if (localId < 0 || localId > (Long.MAX_VALUE - shard) / this.shardCount) {
+            throw new IllegalStateException(String.format("Employee shard %d exhausted its ids", shard));
+        }
+        return localId * this.shardCount + shard;
+    }
+}
@@ -0,0 +1,6 @@
+package com.magadiflo.crud.api.app.sharding;
+
+public enum EmployeeShardStrategy {
+    RANGE,
+    HASH
+}
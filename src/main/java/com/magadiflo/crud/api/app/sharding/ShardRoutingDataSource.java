@@ -0,0 +1,57 @@
+package com.magadiflo.crud.api.app.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource de la aplicación cuando employees está repartida en shards: cada conexión sale del shard
+ * fijado en {@link EmployeeShardContext}, o del shard directorio si no hay ninguno (arranque de
+ * Hibernate, outbox, idempotencia).
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardRoutingDataSource.class);
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            targets.put(shard, this.shards.get(shard));
+        }
+        this.setTargetDataSources(targets);
+        this.setDefaultTargetDataSource(this.shards.get(EmployeeShardRouter.DIRECTORY_SHARD));
+        this.setLenientFallback(false);
+        this.afterPropertiesSet();
+    }
+
+    public DataSource shard(int shard) {
+        return this.shards.get(shard);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return EmployeeShardContext.current();
+    }
+
+    @Override
+    public void close() {
+        for (int shard = 0; shard < this.shards.size(); shard++) {
+            if (this.shards.get(shard) instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOG.warn("Could not close employee shard {}", shard, e);
+                }
+            }
+        }
+    }
+}
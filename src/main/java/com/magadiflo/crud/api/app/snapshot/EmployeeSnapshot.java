@@ -0,0 +1,262 @@
+package com.magadiflo.crud.api.app.snapshot;
+
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot de solo lectura de la tabla employees mapeado en memoria. Formato (big-endian):
+ * <pre>
+ * cabecera (64 bytes)  magic, formato, count, emailSlots, createdAt, maxId, versionSum,
+ *                      posición de ids, de offsets y del índice de email, changeSeq
+ * registros            id (8) version (8) y firstName, lastName, email como longitud (2) + UTF-8
+ * ids                  long[count], ordenados ascendentemente
+ * offsets              int[count], posición del registro de cada id
+ * índice de email      int[emailSlots], tabla hash con sondeo lineal; ordinal + 1, 0 si vacío
+ * </pre>
+ * Las búsquedas (binaria por id, hash por email) solo leen del mapeo con lecturas absolutas, sin
+ * reservar memoria ni compartir estado, así que una instancia se usa desde cualquier hilo; solo el
+ * EmployeeView de la respuesta se construye al encontrar el registro.
+ * <p>
+ * Un MappedByteBuffer se limita a 2 GiB, unos 20M de empleados con el tamaño de fila actual.
+ */
+public final class EmployeeSnapshot {
+
+    static final int MAGIC = 0x454D5031;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int MAX_SIZE = Integer.MAX_VALUE;
+
+    private static final int COUNT = 8;
+    private static final int EMAIL_SLOTS = 12;
+    private static final int CREATED_AT = 16;
+    private static final int MAX_ID = 24;
+    private static final int VERSION_SUM = 32;
+    private static final int IDS_POSITION = 40;
+    private static final int OFFSETS_POSITION = 44;
+    private static final int EMAIL_INDEX_POSITION = 48;
+    private static final int CHANGE_SEQ = 52;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int emailSlots;
+    private final long createdAt;
+    private final int ids;
+    private final int offsets;
+    private final int emailIndex;
+
+    private EmployeeSnapshot(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not an employee snapshot (format " + FORMAT_VERSION + ")");
+        }
+        this.buffer = buffer;
+        this.count = buffer.getInt(COUNT);
+        this.emailSlots = buffer.getInt(EMAIL_SLOTS);
+        this.createdAt = buffer.getLong(CREATED_AT);
+        this.ids = buffer.getInt(IDS_POSITION);
+        this.offsets = buffer.getInt(OFFSETS_POSITION);
+        this.emailIndex = buffer.getInt(EMAIL_INDEX_POSITION);
+    }
+
+    public static EmployeeSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_SIZE) {
+                throw new IOException("Employee snapshot " + path + " is larger than 2 GiB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new EmployeeSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Lee solo la cabecera, para saber si hay un snapshot nuevo sin mapearlo.
+     */
+    public static long readCreatedAt(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            return header.getLong(CREATED_AT);
+        }
+    }
+
+    static void writeHeader(ByteBuffer header, int count, int emailSlots, long createdAt, long maxId, long versionSum,
+                            long changeSeq, int ids, int offsets, int emailIndex) {
+        header.putInt(0, MAGIC)
+                .putInt(4, FORMAT_VERSION)
+                .putInt(COUNT, count)
+                .putInt(EMAIL_SLOTS, emailSlots)
+                .putLong(CREATED_AT, createdAt)
+                .putLong(MAX_ID, maxId)
+                .putLong(VERSION_SUM, versionSum)
+                .putInt(IDS_POSITION, ids)
+                .putInt(OFFSETS_POSITION, offsets)
+                .putInt(EMAIL_INDEX_POSITION, emailIndex)
+                .putLong(CHANGE_SEQ, changeSeq);
+    }
+
+    static int emailSlot(String email, int emailSlots) {
+        int hash = email.hashCode();
+        return (hash ^ (hash >>> 16)) & (emailSlots - 1);
+    }
+
+    public long createdAt() {
+        return this.createdAt;
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public EmployeeCollectionVersion version() {
+        return new EmployeeCollectionVersion((long) this.count, this.buffer.getLong(MAX_ID), this.buffer.getLong(VERSION_SUM),
+                this.buffer.getLong(CHANGE_SEQ));
+    }
+
+    /**
+     * Ordinal del empleado con ese id, o -1.
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = this.idAt(middle);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ordinal del empleado con ese email, o -1. Compara el email guardado en UTF-8 punto de código a
+     * punto de código contra el String, sin codificarlo.
+     */
+    public int indexOfEmail(String email) {
+        if (this.count == 0) {
+            return -1;
+        }
+        for (int slot = emailSlot(email, this.emailSlots); ; slot = (slot + 1) & (this.emailSlots - 1)) {
+            int entry = this.buffer.getInt(this.emailIndex + slot * Integer.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            int ordinal = entry - 1;
+            if (this.emailEquals(this.emailPosition(ordinal), email)) {
+                return ordinal;
+            }
+        }
+    }
+
+    public Optional<EmployeeView> findById(long id) {
+        int ordinal = this.indexOf(id);
+        return ordinal < 0 ? Optional.empty() : Optional.of(this.viewAt(ordinal));
+    }
+
+    public Optional<EmployeeView> findByEmail(String email) {
+        int ordinal = this.indexOfEmail(email);
+        return ordinal < 0 ? Optional.empty() : Optional.of(this.viewAt(ordinal));
+    }
+
+    public List<EmployeeView> findAfterId(long afterId, int limit) {
+        int low = 0;
+        int high = this.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.idAt(middle) <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        List<EmployeeView> employees = new ArrayList<>(Math.min(limit, this.count - low));
+        for (int ordinal = low; ordinal < this.count && employees.size() < limit; ordinal++) {
+            employees.add(this.viewAt(ordinal));
+        }
+        return employees;
+    }
+
+    public void forEach(Consumer<EmployeeView> consumer) {
+        for (int ordinal = 0; ordinal < this.count; ordinal++) {
+            consumer.accept(this.viewAt(ordinal));
+        }
+    }
+
+    EmployeeView viewAt(int ordinal) {
+        int position = this.buffer.getInt(this.offsets + ordinal * Integer.BYTES);
+        long id = this.buffer.getLong(position);
+        long version = this.buffer.getLong(position + Long.BYTES);
+        position += 2 * Long.BYTES;
+        String firstName = this.stringAt(position);
+        position += Short.BYTES + this.lengthAt(position);
+        String lastName = this.stringAt(position);
+        position += Short.BYTES + this.lengthAt(position);
+        return new EmployeeView(id, firstName, lastName, this.stringAt(position), version);
+    }
+
+    private long idAt(int ordinal) {
+        return this.buffer.getLong(this.ids + ordinal * Long.BYTES);
+    }
+
+    private int emailPosition(int ordinal) {
+        int position = this.buffer.getInt(this.offsets + ordinal * Integer.BYTES) + 2 * Long.BYTES;
+        position += Short.BYTES + this.lengthAt(position);
+        return position + Short.BYTES + this.lengthAt(position);
+    }
+
+    private int lengthAt(int position) {
+        return Short.toUnsignedInt(this.buffer.getShort(position));
+    }
+
+    private String stringAt(int position) {
+        byte[] bytes = new byte[this.lengthAt(position)];
+        this.buffer.get(position + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean emailEquals(int position, String email) {
+        int end = position + Short.BYTES + this.lengthAt(position);
+        int index = 0;
+        for (int p = position + Short.BYTES; p < end; ) {
+            int b = this.buffer.get(p) & 0xFF;
+            int codePoint;
+            if (b < 0x80) {
+                codePoint = b;
+                p += 1;
+            } else if (b < 0xE0) {
+                codePoint = (b & 0x1F) << 6 | this.continuation(p + 1);
+                p += 2;
+            } else if (b < 0xF0) {
+                codePoint = (b & 0x0F) << 12 | this.continuation(p + 1) << 6 | this.continuation(p + 2);
+                p += 3;
+            } else {
+                codePoint = (b & 0x07) << 18 | this.continuation(p + 1) << 12 | this.continuation(p + 2) << 6 | this.continuation(p + 3);
+                p += 4;
+            }
+            if (index >= email.length() || email.codePointAt(index) != codePoint) {
+                return false;
+            }
+            index += Character.charCount(codePoint);
+        }
+        return index == email.length();
+    }
+
+    private int continuation(int position) {
+        return this.buffer.get(position) & 0x3F;
+    }
+}
@@ -0,0 +1,74 @@
+package com.magadiflo.crud.api.app.snapshot;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.repository.EmployeeChangeJdbcRepository;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Vuelca la tabla employees a {@code employees.snapshot.path} cada export-interval, en una sola
+ * transacción de solo lectura para que el snapshot sea consistente. Las réplicas que sirven el snapshot
+ * (employees.snapshot.serve) cargan cada fichero nuevo sin conectarse a la base de datos.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employees.snapshot", name = "export-enabled", havingValue = "true")
+public class EmployeeSnapshotExporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeSnapshotExporter.class);
+
+    private final EmployeeJdbcRepository employeeJdbcRepository;
+    private final EmployeeChangeJdbcRepository employeeChangeJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EmployeeProperties employeeProperties;
+    private final Timer exportTimer;
+
+    public EmployeeSnapshotExporter(EmployeeJdbcRepository employeeJdbcRepository, EmployeeChangeJdbcRepository employeeChangeJdbcRepository,
+                                    PlatformTransactionManager transactionManager, EmployeeProperties employeeProperties,
+                                    MeterRegistry meterRegistry) {
+        this.employeeJdbcRepository = employeeJdbcRepository;
+        this.employeeChangeJdbcRepository = employeeChangeJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.employeeProperties = employeeProperties;
+        this.exportTimer = Timer.builder("employees.snapshot.export")
+                .description("Time to write the read-only employee snapshot")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${employees.snapshot.export-interval:PT1H}")
+    public void scheduledExport() {
+        try {
+            this.export();
+        } catch (RuntimeException e) {
+            LOG.warn("Employee snapshot export failed, keeping the previous snapshot", e);
+        }
+    }
+
+    public int export() {
+        Timer.Sample sample = Timer.start();
+        long createdAt = System.currentTimeMillis();
+        Integer count = this.readOnlyTransaction.execute(status -> {
+            long changeSeq = this.employeeChangeJdbcRepository.lastSeq();
+            try {
+                return EmployeeSnapshotWriter.write(this.employeeProperties.getSnapshot().getPath(), createdAt, changeSeq, consumer ->
+                        this.employeeJdbcRepository.streamAll(this.employeeProperties.getStream().getFetchSize(), consumer));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        sample.stop(this.exportTimer);
+        LOG.info("Employee snapshot written to {} with {} employees", this.employeeProperties.getSnapshot().getPath(), count);
+        return count;
+    }
+}
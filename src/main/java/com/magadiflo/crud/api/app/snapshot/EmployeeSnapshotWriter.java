@@ -0,0 +1,155 @@
+package com.magadiflo.crud.api.app.snapshot;
+
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Escribe un {@link EmployeeSnapshot}. Los registros se escriben según llegan, ordenados por id, y solo
+ * los ids, sus posiciones y los emails quedan en memoria hasta escribir los índices del final. El
+ * fichero se escribe junto al destino y se mueve encima de forma atómica, así un lector nunca mapea un
+ * snapshot a medias.
+ */
+public final class EmployeeSnapshotWriter {
+
+    private static final int MAX_FIELD_LENGTH = 0xFFFF;
+
+    private EmployeeSnapshotWriter() {
+    }
+
+    /**
+     * @param changeSeq contador del outbox leído en la misma transacción que los empleados
+     * @param source    recibe el consumidor de empleados y debe entregarlos en orden ascendente de id
+     * @return número de empleados escritos
+     */
+    public static int write(Path target, long createdAt, long changeSeq, Consumer<Consumer<EmployeeView>> source) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            Index index = new Index();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.write(new byte[EmployeeSnapshot.HEADER_SIZE]);
+                try {
+                    source.accept(employee -> index.add(employee, writeRecord(out, employee)));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                index.writeTo(out, createdAt, changeSeq);
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.write(index.header.rewind(), 0);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return index.count;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static int writeRecord(DataOutputStream out, EmployeeView employee) {
+        try {
+            int position = out.size();
+            out.writeLong(employee.id());
+            out.writeLong(Objects.requireNonNullElse(employee.version(), 0L));
+            writeString(out, employee.firstName());
+            writeString(out, employee.lastName());
+            writeString(out, employee.email());
+            // DataOutputStream.size() se queda en Integer.MAX_VALUE al desbordarse.
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Employee snapshot is larger than 2 GiB");
+            }
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = Objects.requireNonNullElse(value, "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_FIELD_LENGTH) {
+            throw new IOException("Employee field longer than " + MAX_FIELD_LENGTH + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static final class Index {
+
+        private long[] ids = new long[1024];
+        private int[] positions = new int[1024];
+        private String[] emails = new String[1024];
+        private int count;
+        private long versionSum;
+        private final ByteBuffer header = ByteBuffer.allocate(EmployeeSnapshot.HEADER_SIZE);
+
+        private void add(EmployeeView employee, int position) {
+            if (this.count > 0 && employee.id() <= this.ids[this.count - 1]) {
+                throw new IllegalArgumentException("Employees must be written in ascending id order, got " + employee.id()
+                        + " after " + this.ids[this.count - 1]);
+            }
+            if (this.count == this.ids.length) {
+                int capacity = this.count * 2;
+                this.ids = Arrays.copyOf(this.ids, capacity);
+                this.positions = Arrays.copyOf(this.positions, capacity);
+                this.emails = Arrays.copyOf(this.emails, capacity);
+            }
+            this.ids[this.count] = employee.id();
+            this.positions[this.count] = position;
+            this.emails[this.count] = Objects.requireNonNullElse(employee.email(), "");
+            this.versionSum += Objects.requireNonNullElse(employee.version(), 0L);
+            this.count++;
+        }
+
+        /**
+         * El índice de email tiene al menos el doble de huecos que empleados, así el sondeo lineal
+         * termina en pocos pasos.
+         */
+        private void writeTo(DataOutputStream out, long createdAt, long changeSeq) throws IOException {
+            long emailSlotsWanted = Math.max(2, Integer.highestOneBit(Math.max(1, this.count)) * 4L);
+            long size = (long) out.size() + this.count * (long) (Long.BYTES + Integer.BYTES) + emailSlotsWanted * Integer.BYTES;
+            if (size > EmployeeSnapshot.MAX_SIZE) {
+                throw new IOException("Employee snapshot is larger than 2 GiB");
+            }
+            int emailSlots = (int) emailSlotsWanted;
+
+            int idsPosition = out.size();
+            for (int i = 0; i < this.count; i++) {
+                out.writeLong(this.ids[i]);
+            }
+            int offsetsPosition = out.size();
+            for (int i = 0; i < this.count; i++) {
+                out.writeInt(this.positions[i]);
+            }
+            int emailIndexPosition = out.size();
+            int[] slots = new int[emailSlots];
+            for (int i = 0; i < this.count; i++) {
+                int slot = EmployeeSnapshot.emailSlot(this.emails[i], emailSlots);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & (emailSlots - 1);
+                }
+                slots[slot] = i + 1;
+            }
+            for (int slot : slots) {
+                out.writeInt(slot);
+            }
+
+            long maxId = this.count == 0 ? 0 : this.ids[this.count - 1];
+            EmployeeSnapshot.writeHeader(this.header, this.count, emailSlots, createdAt, maxId, this.versionSum, changeSeq,
+                    idsPosition, offsetsPosition, emailIndexPosition);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.magadiflo.crud.api.app.stats;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeStatisticsView;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.exceptions.EmployeeStatisticsUnavailableException;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Estadísticas de empleados precalculadas en memoria para {@code /api/v1/employees/stats}: total, por
+ * dominio del email, por inicial del apellido y altas recientes. Leerlas no consulta la base de datos.
+ * <ul>
+ *     <li>Se mantienen al día con los {@link EmployeeChangedEvent} tras el commit. Los contadores son
+ *     {@link LongAdder}, así las escrituras simultáneas no compiten por el mismo contador.</li>
+ *     <li>El dominio y la inicial anteriores de una modificación o un borrado salen del estado anterior
+ *     que trae el evento, así no se guarda nada por empleado.</li>
+ *     <li>Se reconcilian al arrancar y cada reconcile-interval recorriendo todos los empleados con
+ *     {@link IEmployeeService#streamAllEmployees}, lo que también recoge escrituras hechas fuera de esta
+ *     aplicación. Con shards el recorrido cubre todos los shards; en una réplica snapshot, que no recibe
+ *     escrituras, solo se actualizan al reconciliar.</li>
+ * </ul>
+ * Las altas recientes se cuentan en cubos de un segundo a lo largo de rate-window y no se reconcilian.
+ */
+@Component
+public class EmployeeStatistics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeStatistics.class);
+
+    private final IEmployeeService employeeService;
+    private final CreationRate creationRate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock reconcileLock = new ReentrantLock();
+    private volatile Aggregates aggregates = new Aggregates();
+    private volatile Instant reconciledAt;
+    private Queue<EmployeeChangedEvent> pendingDuringReconcile;
+
+    public EmployeeStatistics(IEmployeeService employeeService, EmployeeProperties employeeProperties) {
+        this.employeeService = employeeService;
+        this.creationRate = new CreationRate((int) Math.max(employeeProperties.getStats().getRateWindow().toSeconds(), 1));
+    }
+
+    /**
+     * Los eventos se aplican en paralelo con el bloqueo de lectura; solo la reconciliación toma el de
+     * escritura, para cambiar los agregados. Cada evento solo suma o resta uno, y las sumas conmutan:
+     * si dos eventos del mismo id se aplican en otro orden que sus commits, el resultado es el mismo.
+     * Mientras tanto un contador puede quedar negativo, y {@link #view()} no lo muestra.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.CREATED) {
+            this.creationRate.record(System.currentTimeMillis() / 1000);
+        }
+        this.lock.readLock().lock();
+        try {
+            this.aggregates.apply(event);
+            if (this.pendingDuringReconcile != null) {
+                this.pendingDuringReconcile.add(event);
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${employees.stats.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        try {
+            this.reconcile();
+        } catch (RuntimeException e) {
+            LOG.warn("Employee statistics reconciliation failed, keeping the current aggregates", e);
+        }
+    }
+
+    /**
+     * Calcula los agregados desde cero sin bloquear las escrituras y los activa después de aplicarles
+     * los cambios confirmados mientras se calculaban. Con MySQL el recorrido lee una instantánea
+     * (REPEATABLE READ), que no incluye lo confirmado después; un cambio confirmado justo antes de la
+     * instantánea cuyo evento llega ya empezado el recorrido se cuenta dos veces, y esa desviación la
+     * corrige la reconciliación siguiente.
+     */
+    public void reconcile() {
+        this.reconcileLock.lock();
+        try {
+            this.lock.writeLock().lock();
+            try {
+                this.pendingDuringReconcile = new ConcurrentLinkedQueue<>();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+
+            Aggregates fresh = new Aggregates();
+            try {
+                this.employeeService.streamAllEmployees(fresh::put);
+            } catch (RuntimeException e) {
+                this.lock.writeLock().lock();
+                try {
+                    this.pendingDuringReconcile = null;
+                } finally {
+                    this.lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            long drift;
+            this.lock.writeLock().lock();
+            try {
+                this.pendingDuringReconcile.forEach(fresh::apply);
+                this.pendingDuringReconcile = null;
+                drift = this.aggregates.total.sum() - fresh.total.sum();
+                this.aggregates = fresh;
+                this.reconciledAt = Instant.now();
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+            LOG.info("Employee statistics reconciled with {} employees, total was off by {}", fresh.total.sum(), drift);
+        } finally {
+            this.reconcileLock.unlock();
+        }
+    }
+
+    public EmployeeStatisticsView view() {
+        Instant reconciled = this.reconciledAt;
+        if (reconciled == null) {
+            throw new EmployeeStatisticsUnavailableException();
+        }
+        Aggregates current = this.aggregates;
+        long created = this.creationRate.count(System.currentTimeMillis() / 1000);
+        int windowSeconds = this.creationRate.windowSeconds();
+        return new EmployeeStatisticsView(current.total.sum(), counts(current.byEmailDomain), counts(current.byLastNameInitial),
+                created, windowSeconds, created * 60.0 / windowSeconds, reconciled);
+    }
+
+    private static String emailDomain(String email) {
+        if (email == null) {
+            return "";
+        }
+        return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String lastNameInitial(String lastName) {
+        String trimmed = lastName == null ? "" : lastName.strip();
+        return trimmed.isEmpty() ? "" : Character.toString(trimmed.codePointAt(0)).toUpperCase(Locale.ROOT);
+    }
+
+    private static Map<String, Long> counts(ConcurrentMap<String, LongAdder> counters) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long count = counter.sum();
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+
+    private record Key(String emailDomain, String lastNameInitial) {
+
+        private static Key of(EmployeeView employee) {
+            return new Key(EmployeeStatistics.emailDomain(employee.email()), EmployeeStatistics.lastNameInitial(employee.lastName()));
+        }
+    }
+
+    private static final class Aggregates {
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> byEmailDomain = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> byLastNameInitial = new ConcurrentHashMap<>();
+
+        private void apply(EmployeeChangedEvent event) {
+            if (event.previous() != null) {
+                this.count(Key.of(event.previous()), -1);
+            }
+            if (event.employee() != null) {
+                this.count(Key.of(event.employee()), 1);
+            }
+        }
+
+        private void put(EmployeeView employee) {
+            this.count(Key.of(employee), 1);
+        }
+
+        private void count(Key key, long delta) {
+            this.total.add(delta);
+            this.byEmailDomain.computeIfAbsent(key.emailDomain(), domain -> new LongAdder()).add(delta);
+            this.byLastNameInitial.computeIfAbsent(key.lastNameInitial(), initial -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * Altas por segundo en un anillo de cubos: el cubo de un segundo se reinicia la primera vez que se
+     * usa de nuevo, una vuelta después.
+     */
+    private static final class CreationRate {
+        private final AtomicLongArray seconds;
+        private final LongAdder[] counts;
+
+        private CreationRate(int windowSeconds) {
+            this.seconds = new AtomicLongArray(windowSeconds);
+            this.counts = new LongAdder[windowSeconds];
+            for (int i = 0; i < windowSeconds; i++) {
+                this.seconds.set(i, Long.MIN_VALUE);
+                this.counts[i] = new LongAdder();
+            }
+        }
+
+        private int windowSeconds() {
+            return this.counts.length;
+        }
+
+        private void record(long second) {
+            int bucket = (int) Math.floorMod(second, (long) this.counts.length);
+            if (this.seconds.get(bucket) != second) {
+                synchronized (this.counts[bucket]) {
+                    if (this.seconds.get(bucket) != second) {
+                        this.counts[bucket].reset();
+                        this.seconds.set(bucket, second);
+                    }
+                }
+            }
+            this.counts[bucket].increment();
+        }
+
+        private long count(long now) {
+            long count = 0;
+            for (int i = 0; i < this.counts.length; i++) {
+                if (this.seconds.get(i) > now - this.counts.length) {
+                    count += this.counts[i].sum();
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.magadiflo.crud.api.app.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Exportación masiva en streaming: las filas llegan del cursor de {@link IEmployeeService#streamAllEmployees}
+ * y se escriben directamente en la salida, sin reunir la tabla en memoria. El CSV lleva cabecera y las
+ * mismas columnas que acepta EmployeeImporter, así un archivo exportado se puede volver a importar.
+ */
+@Component
+public class EmployeeExporter {
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("firstName")
+            .addColumn("lastName")
+            .addColumn("email")
+            .addColumn("version")
+            .setUseHeader(true)
+            .build();
+
+    private final IEmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public EmployeeExporter(IEmployeeService employeeService, ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writerFor(EmployeeView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.csvWriter = new CsvMapper().writerFor(EmployeeView.class)
+                .with(CSV_SCHEMA)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void export(EmployeeFormat format, OutputStream outputStream) throws IOException {
+        if (format == EmployeeFormat.CSV) {
+            this.exportCsv(outputStream);
+        } else {
+            this.exportNdjson(outputStream);
+        }
+    }
+
+    private void exportNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            this.employeeService.streamAllEmployees(employee -> {
+                try {
+                    this.ndjsonWriter.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void exportCsv(OutputStream outputStream) throws IOException {
+        try (SequenceWriter rows = this.csvWriter.writeValues(outputStream)) {
+            this.employeeService.streamAllEmployees(employee -> {
+                try {
+                    rows.write(employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
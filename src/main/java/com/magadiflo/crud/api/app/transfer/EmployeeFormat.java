@@ -0,0 +1,42 @@
+package com.magadiflo.crud.api.app.transfer;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum EmployeeFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    EmployeeFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return this.mediaType;
+    }
+
+    public String extension() {
+        return this.extension;
+    }
+
+    public static EmployeeFormat fromParam(String param) {
+        return valueOf(param.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public static EmployeeFormat fromMediaType(MediaType mediaType) {
+        for (EmployeeFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unsupported employee format %s", mediaType));
+    }
+}
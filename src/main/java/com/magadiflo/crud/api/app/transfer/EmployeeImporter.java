@@ -0,0 +1,199 @@
+package com.magadiflo.crud.api.app.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeImportProgress;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeImportInProgressException;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Importación masiva en streaming. Las filas se leen de una en una desde el cuerpo de la petición y se
+ * guardan por bloques de employees.transfer.chunk-size con {@link IEmployeeService#saveEmployees}, que
+ * valida cada fila y descarta los emails repetidos dentro del bloque o ya existentes en la base de datos.
+ * Cada bloque va en su propia transacción, así lo único que se retiene en memoria es el bloque en curso
+ * y, como mucho, max-reported-errors filas rechazadas, sea cual sea el tamaño del archivo.
+ * <p>
+ * Un registro mal formado detiene la importación: los bloques anteriores quedan guardados y el progreso
+ * indica hasta dónde se llegó.
+ */
+@Component
+public class EmployeeImporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmployeeImporter.class);
+    private static final int MAX_TRACKED_IMPORTS = 10_000;
+
+    private final IEmployeeService employeeService;
+    private final EmployeeProperties.Transfer properties;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final Cache<String, EmployeeImportProgress> imports;
+
+    public EmployeeImporter(IEmployeeService employeeService, ObjectMapper objectMapper,
+                            EmployeeProperties employeeProperties) {
+        this.employeeService = employeeService;
+        this.properties = employeeProperties.getTransfer();
+        this.ndjsonReader = objectMapper.readerFor(Employee.class);
+        this.csvReader = new CsvMapper().enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .readerFor(Employee.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.imports = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_IMPORTS)
+                .expireAfterWrite(this.properties.getProgressRetention())
+                .build();
+    }
+
+    public Optional<EmployeeImportProgress> progress(String importId) {
+        return Optional.ofNullable(this.imports.getIfPresent(importId));
+    }
+
+    /**
+     * @param importId   identificador para consultar el progreso; si es nulo se genera uno.
+     * @param totalBytes tamaño del cuerpo si se conoce (Content-Length), o un valor negativo.
+     */
+    public EmployeeImportProgress importEmployees(String importId, EmployeeFormat format, InputStream inputStream,
+                                                  long totalBytes) {
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId;
+        EmployeeImportProgress started = EmployeeImportProgress.started(id, totalBytes < 0 ? null : totalBytes);
+        this.imports.asMap().compute(id, (key, current) -> {
+            if (current != null && current.state() == EmployeeImportProgress.State.RUNNING) {
+                throw new EmployeeImportInProgressException(id);
+            }
+            return started;
+        });
+
+        CountingInputStream countingInputStream = new CountingInputStream(inputStream);
+        Chunk chunk = new Chunk(this.properties.getChunkSize(), this.properties.getMaxReportedErrors());
+        EmployeeImportProgress progress = started;
+        try {
+            JsonProcessingException malformed = null;
+            try (MappingIterator<Employee> rows = this.readerFor(format).readValues(countingInputStream)) {
+                while (rows.hasNextValue()) {
+                    chunk.employees.add(rows.nextValue());
+                    if (chunk.employees.size() == this.properties.getChunkSize()) {
+                        progress = this.flush(progress, chunk, countingInputStream.count);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                malformed = e;
+            }
+            // Con un registro defectuoso, las filas leídas antes que él se guardan igualmente antes de detenerse.
+            progress = this.flush(progress, chunk, countingInputStream.count);
+            if (malformed == null) {
+                progress = progress.completed();
+                LOG.info("Employee import {} completed: {} records, {} created, {} rejected",
+                        id, progress.records(), progress.created(), progress.rejected());
+            } else {
+                progress = progress.failed(String.format("Malformed record %d: %s", progress.records() + 1,
+                        malformed.getOriginalMessage()));
+                LOG.warn("Employee import {} stopped after {} records: {}", id, progress.records(), progress.error());
+            }
+        } catch (IOException e) {
+            this.imports.put(id, progress.failed("Employee import was interrupted"));
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            this.imports.put(id, progress.failed("Employee import failed"));
+            throw e;
+        }
+        this.imports.put(id, progress);
+        return progress;
+    }
+
+    private ObjectReader readerFor(EmployeeFormat format) {
+        return format == EmployeeFormat.CSV ? this.csvReader : this.ndjsonReader;
+    }
+
+    private EmployeeImportProgress flush(EmployeeImportProgress progress, Chunk chunk, long bytesRead) {
+        if (chunk.employees.isEmpty()) {
+            return progress.advance(progress.records(), progress.created(), progress.rejected(), bytesRead,
+                    progress.errors());
+        }
+        long offset = progress.records();
+        long created = 0;
+        long rejected = 0;
+        for (EmployeeBatchResult result : this.employeeService.saveEmployees(chunk.employees)) {
+            if (result.error() == null) {
+                created++;
+                continue;
+            }
+            rejected++;
+            if (chunk.errors.size() < chunk.maxReportedErrors) {
+                chunk.errors.add(new EmployeeBatchResult((int) Math.min(offset + result.index(), Integer.MAX_VALUE),
+                        result.id(), result.status(), result.error()));
+            }
+        }
+        EmployeeImportProgress advanced = progress.advance(offset + chunk.employees.size(), progress.created() + created,
+                progress.rejected() + rejected, bytesRead, List.copyOf(chunk.errors));
+        chunk.employees.clear();
+        this.imports.put(advanced.importId(), advanced);
+        LOG.debug("Employee import {}: {} records, {} bytes read", advanced.importId(), advanced.records(), bytesRead);
+        return advanced;
+    }
+
+    private static final class Chunk {
+        private final List<Employee> employees;
+        private final List<EmployeeBatchResult> errors = new ArrayList<>();
+        private final int maxReportedErrors;
+
+        private Chunk(int chunkSize, int maxReportedErrors) {
+            this.employees = new ArrayList<>(chunkSize);
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                this.count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                this.count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+    }
+}
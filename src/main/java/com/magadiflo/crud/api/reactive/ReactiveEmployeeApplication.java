@@ -0,0 +1,38 @@
+package com.magadiflo.crud.api.reactive;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Variante no bloqueante de la API de empleados (WebFlux + R2DBC). Vive fuera del paquete
+ * {@code app} para que cada aplicación escanee solo su propio stack; ambas pueden ejecutarse
+ * en paralelo contra el mismo esquema.
+ * <p>
+ * Las escrituras de esta aplicación no publican {@code EmployeeChangedEvent} ni escriben en el outbox:
+ * mientras las dos compartan esquema, la aplicación servlet no se entera de ellas hasta que sus propios
+ * mecanismos las recogen: su caché por id y por email puede servir el valor anterior hasta que expire
+ * (expireAfterWrite de spring.cache.caffeine.spec), el índice de búsqueda hasta la siguiente
+ * reconstrucción, las estadísticas hasta la siguiente reconciliación, y el feed de cambios no las
+ * incluye. El ETag del listado no se ve afectado: ambas lo calculan siempre desde la base de datos, y
+ * esta aplicación avanza el contador del outbox con cada escritura aunque no inserte cambios en él.
+ */
+@EnableConfigurationProperties(EmployeeProperties.class)
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class ReactiveEmployeeApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveEmployeeApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.magadiflo.crud.api.reactive.handler;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.reactive.service.IReactiveEmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+@AllArgsConstructor
+@Component
+public class EmployeeBatchHandler {
+
+    private static final ParameterizedTypeReference<List<Employee>> EMPLOYEES = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<Long>> IDS = new ParameterizedTypeReference<>() {
+    };
+
+    private final IReactiveEmployeeService employeeService;
+    private final EmployeeProperties employeeProperties;
+
+    public Mono<ServerResponse> createEmployees(ServerRequest request) {
+        return request.bodyToMono(EMPLOYEES).flatMap(employees -> this.respond(employees, this.employeeService::saveEmployees));
+    }
+
+    public Mono<ServerResponse> updateEmployees(ServerRequest request) {
+        return request.bodyToMono(EMPLOYEES).flatMap(employees -> this.respond(employees, this.employeeService::updateEmployees));
+    }
+
+    public Mono<ServerResponse> deleteEmployees(ServerRequest request) {
+        return request.bodyToMono(IDS).flatMap(ids -> this.respond(ids, this.employeeService::deleteEmployees));
+    }
+
+    private <T> Mono<ServerResponse> respond(List<T> items, Function<List<T>, Mono<List<EmployeeBatchResult>>> operation) {
+        if (items.size() > this.employeeProperties.getBatch().getMaxSize()) {
+            return ServerResponse.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return operation.apply(items).flatMap(results -> ServerResponse.ok().bodyValue(results));
+    }
+}
@@ -0,0 +1,117 @@
+package com.magadiflo.crud.api.reactive.handler;
+
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeeFields;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.resource.EmployeeETags;
+import com.magadiflo.crud.api.reactive.service.IReactiveEmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@AllArgsConstructor
+@Component
+public class EmployeeHandler {
+
+    private final IReactiveEmployeeService employeeService;
+
+    /**
+     * Las filas se escriben a medida que el driver las emite; con NDJSON cada una se envía por
+     * separado, así un cliente lento aplica backpressure hasta el resultado de R2DBC. El listado JSON
+     * lleva el mismo ETag de colección que la aplicación servlet y responde 304 con If-None-Match.
+     */
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(this.employeeService.getAllEmployees(), Employee.class);
+        }
+        return this.employeeService.getEmployeesVersion()
+                .map(EmployeeETags::of)
+                .flatMap(eTag -> {
+                    if (EmployeeETags.matches(ifNoneMatch(request), eTag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                    }
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .eTag(eTag)
+                            .body(this.employeeService.getAllEmployees(), Employee.class);
+                });
+    }
+
+    public Mono<ServerResponse> getEmployeesPage(ServerRequest request) {
+        Long afterId;
+        EmployeeFields employeeFields;
+        Integer size;
+        try {
+            afterId = request.queryParam("cursor").map(EmployeeCursor::decode).orElse(null);
+            employeeFields = EmployeeFields.parse(request.queryParam("fields").orElse(null));
+            size = request.queryParam("size").map(Integer::valueOf).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return this.employeeService.getEmployeesPage(afterId, size)
+                .flatMap(page -> ServerResponse.ok().bodyValue(employeeFields.select(page)));
+    }
+
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+        return idOf(request)
+                .flatMap(this.employeeService::getEmployeeById)
+                .flatMap(employee -> {
+                    String eTag = EmployeeETags.of(employee);
+                    if (EmployeeETags.matches(ifNoneMatch(request), eTag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+                    }
+                    return ServerResponse.ok().eTag(eTag).bodyValue(employee);
+                })
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> saveEmployee(ServerRequest request) {
+        return request.bodyToMono(Employee.class)
+                .flatMap(this.employeeService::saveEmployee)
+                .flatMap(employee -> ServerResponse.created(URI.create("/api/v1/employees/" + employee.getId()))
+                        .eTag(EmployeeETags.of(employee))
+                        .bodyValue(employee));
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        return idOf(request)
+                .flatMap(id -> request.bodyToMono(Employee.class)
+                        .flatMap(employee -> {
+                            employee.setVersion(EmployeeETags.expectedVersion(ifMatch));
+                            return this.employeeService.updateEmployee(id, employee);
+                        }))
+                .flatMap(employee -> ServerResponse.ok().eTag(EmployeeETags.of(employee)).bodyValue(employee))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        return idOf(request)
+                .flatMap(this.employeeService::deleteEmployee)
+                .flatMap(deleted -> ServerResponse.status(HttpStatus.OK).bodyValue("Employee deleted successfully!"));
+    }
+
+    private static String ifNoneMatch(ServerRequest request) {
+        return request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+    }
+
+    /**
+     * Un id que no es un número responde 400 (EmployeeRouter), igual que el @PathVariable Long de la
+     * aplicación servlet.
+     */
+    private static Mono<Long> idOf(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return Mono.fromCallable(() -> Long.valueOf(id))
+                .onErrorMap(NumberFormatException.class, e -> new ServerWebInputException(String.format("Invalid employee id %s", id), null, e));
+    }
+}
@@ -0,0 +1,44 @@
+package com.magadiflo.crud.api.reactive.handler;
+
+import com.magadiflo.crud.api.app.dto.ErrorResponse;
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeVersionMismatchException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class EmployeeRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler employeeHandler, EmployeeBatchHandler employeeBatchHandler) {
+        return RouterFunctions.route()
+                .path("/api/v1/employees:batch", builder -> builder
+                        .POST("", employeeBatchHandler::createEmployees)
+                        .PUT("", employeeBatchHandler::updateEmployees)
+                        .DELETE("", employeeBatchHandler::deleteEmployees))
+                .path("/api/v1/employees", builder -> builder
+                        .GET("", employeeHandler::getAllEmployees)
+                        .GET("/page", employeeHandler::getEmployeesPage)
+                        .GET("/{id}", employeeHandler::getEmployeeById)
+                        .POST("", employeeHandler::saveEmployee)
+                        .PUT("/{id}", employeeHandler::updateEmployee)
+                        .DELETE("/{id}", employeeHandler::deleteEmployee))
+                .onError(EmployeeEmailAlreadyExistsException.class, (e, request) -> error(HttpStatus.CONFLICT, e))
+                .onError(EmployeeVersionMismatchException.class, (e, request) -> error(HttpStatus.PRECONDITION_FAILED, e))
+                .onError(OptimisticLockingFailureException.class, (e, request) -> error(HttpStatus.CONFLICT, e))
+                .onError(ServerWebInputException.class, (e, request) -> ServerResponse.badRequest()
+                        .bodyValue(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ((ServerWebInputException) e).getReason())))
+                .build();
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, Throwable e) {
+        return ServerResponse.status(status).bodyValue(new ErrorResponse(status.value(), e.getMessage()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.magadiflo.crud.api.reactive.repository;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.entities.id.EmployeeIdStrategy;
+import com.magadiflo.crud.api.app.entities.id.TimeOrderedIdGenerator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Equivalente reactivo de {@code EmployeeIdGenerator}. Con {@link EmployeeIdStrategy#POOLED_LO} reserva
+ * bloques sobre la misma fila de {@code employee_ids} que usa Hibernate, de modo que ambas aplicaciones
+ * pueden insertar en la misma tabla sin repetir ids. Sigue el mismo contrato que el TableGenerator de
+ * Hibernate: {@code next_val} guarda el último id reservado, así que un bloque leído como {@code v} es
+ * {@code v + 1 .. v + increment-size}, y una fila que aún no existe se crea como si partiera de
+ * {@code INITIAL_VALUE - 1}.
+ */
+@Component
+public class ReactiveEmployeeIdAllocator {
+
+    private static final String SEGMENT_VALUE = "employees";
+    private static final long INITIAL_VALUE = 1;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator allocationTransaction;
+    private final int incrementSize;
+    private final TimeOrderedIdGenerator timeOrderedIdGenerator;
+    private final AtomicReference<IdBlock> currentBlock = new AtomicReference<>(IdBlock.EXHAUSTED);
+
+    public ReactiveEmployeeIdAllocator(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager,
+                                       EmployeeProperties employeeProperties) {
+        EmployeeProperties.Id id = employeeProperties.getId();
+        this.databaseClient = databaseClient;
+        this.allocationTransaction = TransactionalOperator.create(transactionManager,
+                new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        this.incrementSize = id.getIncrementSize();
+        this.timeOrderedIdGenerator = id.getStrategy() == EmployeeIdStrategy.TIME_ORDERED ?
+                new TimeOrderedIdGenerator(id.getNodeId()) : null;
+    }
+
+    public Mono<Long> nextId() {
+        if (this.timeOrderedIdGenerator != null) {
+            return Mono.fromSupplier(this.timeOrderedIdGenerator::nextId);
+        }
+        return Mono.defer(() -> {
+            IdBlock block = this.currentBlock.get();
+            long id = block.next();
+            if (id != IdBlock.NO_ID) {
+                return Mono.just(id);
+            }
+            return this.allocateBlock().flatMap(allocated -> {
+                this.currentBlock.compareAndSet(block, allocated);
+                return this.nextId();
+            });
+        });
+    }
+
+    /**
+     * Se ejecuta en su propia transacción para liberar el bloqueo de la fila de {@code employee_ids}
+     * en cuanto se reserva el bloque, y no cuando hace commit el INSERT de quien lo pidió.
+     */
+    private Mono<IdBlock> allocateBlock() {
+        Mono<Long> lastUsed = this.databaseClient.sql("SELECT next_val FROM employee_ids WHERE sequence_name = :segment FOR UPDATE")
+                .bind("segment", SEGMENT_VALUE)
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(value -> this.databaseClient.sql("UPDATE employee_ids SET next_val = :next WHERE sequence_name = :segment")
+                        .bind("next", value + this.incrementSize)
+                        .bind("segment", SEGMENT_VALUE)
+                        .then()
+                        .thenReturn(value))
+                .switchIfEmpty(Mono.defer(() -> this.databaseClient.sql("INSERT INTO employee_ids (sequence_name, next_val) VALUES (:segment, :next)")
+                        .bind("segment", SEGMENT_VALUE)
+                        .bind("next", INITIAL_VALUE - 1 + this.incrementSize)
+                        .then()
+                        .thenReturn(INITIAL_VALUE - 1)));
+        return this.allocationTransaction.transactional(lastUsed)
+                .map(value -> new IdBlock(value + 1, value + 1 + this.incrementSize));
+    }
+
+    private static final class IdBlock {
+
+        private static final long NO_ID = Long.MIN_VALUE;
+        private static final IdBlock EXHAUSTED = new IdBlock(0, 0);
+
+        private final AtomicLong next;
+        private final long hi;
+
+        private IdBlock(long lo, long hi) {
+            this.next = new AtomicLong(lo);
+            this.hi = hi;
+        }
+
+        private long next() {
+            long id = this.next.getAndIncrement();
+            return id < this.hi ? id : NO_ID;
+        }
+    }
+}
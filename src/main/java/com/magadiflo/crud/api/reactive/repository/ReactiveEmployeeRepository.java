@@ -0,0 +1,144 @@
+package com.magadiflo.crud.api.reactive.repository;
+
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.entities.EmployeeOutboxSequence;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+@AllArgsConstructor
+@Repository
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email, version FROM employees";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Employee> findAll() {
+        return this.databaseClient.sql(SELECT_EMPLOYEES + " ORDER BY id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return this.databaseClient.sql(SELECT_EMPLOYEES + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Flux<Employee> findAfterId(long afterId, int limit) {
+        return this.databaseClient.sql(SELECT_EMPLOYEES + " WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    /**
+     * Los mismos agregados que {@code IEmployeeRepository#getCollectionVersion}, así el ETag del listado
+     * coincide entre ambas aplicaciones. SUM devuelve DECIMAL en MySQL, de ahí la conversión desde Number.
+     */
+    public Mono<EmployeeCollectionVersion> getCollectionVersion() {
+        return this.databaseClient.sql("SELECT COUNT(*) AS employees, COALESCE(MAX(id), 0) AS max_id, COALESCE(SUM(version), 0) AS version_sum, " +
+                        "(SELECT COALESCE(MAX(last_seq), 0) FROM employee_outbox_sequence) AS change_seq FROM employees")
+                .map(row -> new EmployeeCollectionVersion(longOf(row.get("employees")), longOf(row.get("max_id")),
+                        longOf(row.get("version_sum")), longOf(row.get("change_seq"))))
+                .one();
+    }
+
+    /**
+     * Esta aplicación no escribe en el outbox, pero avanza su contador para que el ETag del listado cambie
+     * también con sus escrituras. Debe ejecutarse en la transacción de la escritura; el seq que se salta
+     * queda como un hueco más en el feed, igual que los que deja la compactación.
+     */
+    public Mono<Long> markChanged(long rowsChanged) {
+        if (rowsChanged == 0) {
+            return Mono.just(rowsChanged);
+        }
+        return this.databaseClient.sql("UPDATE employee_outbox_sequence SET last_seq = last_seq + 1 WHERE id = :id")
+                .bind("id", EmployeeOutboxSequence.SINGLETON_ID)
+                .then()
+                .thenReturn(rowsChanged);
+    }
+
+    public Mono<Map<String, Long>> findIdsByEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return this.databaseClient.sql("SELECT id, email FROM employees WHERE email IN (:emails)")
+                .bind("emails", emails)
+                .map(row -> Map.entry(row.get("email", String.class), row.get("id", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        return this.databaseClient.sql("INSERT INTO employees (id, first_name, last_name, email, version) VALUES (:id, :firstName, :lastName, :email, 0)")
+                .bind("id", employee.getId())
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .then()
+                .then(Mono.fromSupplier(() -> {
+                    employee.setVersion(0L);
+                    return employee;
+                }));
+    }
+
+    /**
+     * Actualiza la fila solo si aún tiene {@code expectedVersion}; así se detecta una escritura
+     * concurrente sin mantener un bloqueo entre la lectura y la escritura.
+     */
+    public Mono<Long> update(Employee employee, Long expectedVersion) {
+        return this.databaseClient.sql("UPDATE employees SET first_name = :firstName, last_name = :lastName, email = :email, version = version + 1 WHERE id = :id AND version = :version")
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .bind("id", employee.getId())
+                .bind("version", expectedVersion)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Sin comprobar la versión, igual que la actualización por lotes de la aplicación servlet.
+     */
+    public Mono<Long> updateById(Employee employee) {
+        return this.databaseClient.sql("UPDATE employees SET first_name = :firstName, last_name = :lastName, email = :email, version = version + 1 WHERE id = :id")
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .bind("id", employee.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return this.databaseClient.sql("DELETE FROM employees WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Long longOf(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.magadiflo.crud.api.reactive.service;
+
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.entities.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface IReactiveEmployeeService {
+    Flux<Employee> getAllEmployees();
+
+    Mono<EmployeeCollectionVersion> getEmployeesVersion();
+
+    Mono<EmployeePage> getEmployeesPage(Long afterId, Integer size);
+
+    Mono<Employee> getEmployeeById(Long id);
+
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Mono<Employee> updateEmployee(Long id, Employee employee);
+
+    Mono<Boolean> deleteEmployee(Long id);
+
+    Mono<List<EmployeeBatchResult>> saveEmployees(List<Employee> employees);
+
+    Mono<List<EmployeeBatchResult>> updateEmployees(List<Employee> employees);
+
+    Mono<List<EmployeeBatchResult>> deleteEmployees(List<Long> ids);
+}
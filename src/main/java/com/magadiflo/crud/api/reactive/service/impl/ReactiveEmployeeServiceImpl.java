@@ -0,0 +1,237 @@
+package com.magadiflo.crud.api.reactive.service.impl;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeVersionMismatchException;
+import com.magadiflo.crud.api.reactive.repository.ReactiveEmployeeIdAllocator;
+import com.magadiflo.crud.api.reactive.repository.ReactiveEmployeeRepository;
+import com.magadiflo.crud.api.reactive.service.IReactiveEmployeeService;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mismas reglas que EmployeeServiceImpl de la aplicación servlet, incluidos los códigos y mensajes de
+ * los lotes. Los lotes se ejecutan sentencia a sentencia dentro de una transacción: R2DBC no agrupa
+ * sentencias con parámetros distintos como el batch de JDBC. Cada escritura avanza el contador del
+ * outbox ({@link ReactiveEmployeeRepository#markChanged}) para que el ETag del listado la refleje.
+ */
+@AllArgsConstructor
+@Service
+public class ReactiveEmployeeServiceImpl implements IReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final ReactiveEmployeeIdAllocator idAllocator;
+    private final EmployeeProperties employeeProperties;
+
+    @Transactional(readOnly = true)
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return this.employeeRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Mono<EmployeeCollectionVersion> getEmployeesVersion() {
+        return this.employeeRepository.getCollectionVersion();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Mono<EmployeePage> getEmployeesPage(Long afterId, Integer size) {
+        int pageSize = this.pageSize(size);
+        return this.employeeRepository.findAfterId(afterId == null ? Long.MIN_VALUE : afterId, pageSize + 1)
+                .map(EmployeeView::of)
+                .collectList()
+                .map(employees -> {
+                    if (employees.size() <= pageSize) {
+                        return new EmployeePage(employees, null);
+                    }
+                    List<EmployeeView> content = employees.subList(0, pageSize);
+                    return new EmployeePage(content, EmployeeCursor.encode(content.get(pageSize - 1).id()));
+                });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return this.employeeRepository.findById(id);
+    }
+
+    @Transactional
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return this.idAllocator.nextId()
+                .flatMap(id -> {
+                    employee.setId(id);
+                    return this.employeeRepository.insert(employee);
+                })
+                .flatMap(saved -> this.employeeRepository.markChanged(1).thenReturn(saved))
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateEmailViolation(e, employee.getEmail()));
+    }
+
+    @Transactional
+    @Override
+    public Mono<Employee> updateEmployee(Long id, Employee employee) {
+        return this.employeeRepository.findById(id)
+                .flatMap(employeeDB -> {
+                    if (employee.getVersion() != null && !employee.getVersion().equals(employeeDB.getVersion())) {
+                        return Mono.error(new EmployeeVersionMismatchException(id, employee.getVersion(), employeeDB.getVersion()));
+                    }
+                    Long expectedVersion = employeeDB.getVersion();
+                    employeeDB.setFirstName(employee.getFirstName());
+                    employeeDB.setLastName(employee.getLastName());
+                    employeeDB.setEmail(employee.getEmail());
+                    return this.employeeRepository.update(employeeDB, expectedVersion)
+                            .flatMap(this.employeeRepository::markChanged)
+                            .flatMap(updated -> {
+                                if (updated == 0) {
+                                    return Mono.error(new OptimisticLockingFailureException(String.format("Employee %d was modified concurrently", id)));
+                                }
+                                employeeDB.setVersion(expectedVersion + 1);
+                                return Mono.just(employeeDB);
+                            });
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateEmailViolation(e, employee.getEmail()));
+    }
+
+    @Transactional
+    @Override
+    public Mono<Boolean> deleteEmployee(Long id) {
+        return this.employeeRepository.deleteById(id)
+                .flatMap(this.employeeRepository::markChanged)
+                .map(deleted -> deleted > 0);
+    }
+
+    @Transactional
+    @Override
+    public Mono<List<EmployeeBatchResult>> saveEmployees(List<Employee> employees) {
+        return this.employeeRepository.findIdsByEmails(emailsOf(employees)).flatMap(existingIds -> {
+            EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+            Set<String> batchEmails = new HashSet<>();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                if (!isComplete(employee)) {
+                    results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "firstName, lastName and email are required");
+                } else if (existingIds.containsKey(employee.getEmail()) || !batchEmails.add(employee.getEmail())) {
+                    results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.CONFLICT,
+                            String.format("Employee already exist with given email %s", employee.getEmail()));
+                } else {
+                    acceptedIndexes.add(i);
+                }
+            }
+
+            return Flux.fromIterable(acceptedIndexes)
+                    .concatMap(index -> this.saveEmployee(employees.get(index))
+                            .doOnNext(saved -> results[index] = EmployeeBatchResult.success(index, saved.getId(), HttpStatus.CREATED)))
+                    .then(Mono.fromSupplier(() -> Arrays.asList(results)));
+        });
+    }
+
+    @Transactional
+    @Override
+    public Mono<List<EmployeeBatchResult>> updateEmployees(List<Employee> employees) {
+        return this.employeeRepository.findIdsByEmails(emailsOf(employees)).flatMap(existingIds -> {
+            EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+            Set<Long> batchIds = new HashSet<>();
+            Set<String> batchEmails = new HashSet<>();
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                if (!isComplete(employee) || employee.getId() == null) {
+                    results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "id, firstName, lastName and email are required");
+                    continue;
+                }
+                Long id = employee.getId();
+                Long emailOwnerId = existingIds.get(employee.getEmail());
+                if (!batchIds.add(id)) {
+                    results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.BAD_REQUEST, String.format("Duplicate id %d in batch", id));
+                } else if ((emailOwnerId != null && !emailOwnerId.equals(id)) || !batchEmails.add(employee.getEmail())) {
+                    results[i] = EmployeeBatchResult.failure(i, id, HttpStatus.CONFLICT,
+                            String.format("Update error, employee already exist with given email %s", employee.getEmail()));
+                } else {
+                    acceptedIndexes.add(i);
+                }
+            }
+
+            return Flux.fromIterable(acceptedIndexes)
+                    .concatMap(index -> this.employeeRepository.updateById(employees.get(index))
+                            .flatMap(this.employeeRepository::markChanged)
+                            .doOnNext(updated -> results[index] = batchResult(index, employees.get(index).getId(), updated)))
+                    .then(Mono.fromSupplier(() -> Arrays.asList(results)));
+        });
+    }
+
+    @Transactional
+    @Override
+    public Mono<List<EmployeeBatchResult>> deleteEmployees(List<Long> ids) {
+        EmployeeBatchResult[] results = new EmployeeBatchResult[ids.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = EmployeeBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "id is required");
+            } else {
+                acceptedIndexes.add(i);
+            }
+        }
+
+        return Flux.fromIterable(acceptedIndexes)
+                .concatMap(index -> this.employeeRepository.deleteById(ids.get(index))
+                        .flatMap(this.employeeRepository::markChanged)
+                        .doOnNext(deleted -> results[index] = batchResult(index, ids.get(index), deleted)))
+                .then(Mono.fromSupplier(() -> Arrays.asList(results)));
+    }
+
+    private int pageSize(Integer size) {
+        EmployeeProperties.Page page = this.employeeProperties.getPage();
+        return Math.min(size == null ? page.getDefaultSize() : Math.max(size, 1), page.getMaxSize());
+    }
+
+    private static EmployeeBatchResult batchResult(int index, Long id, long rows) {
+        if (rows == 0) {
+            return EmployeeBatchResult.failure(index, id, HttpStatus.NOT_FOUND, String.format("Employee not found with given id %d", id));
+        }
+        return EmployeeBatchResult.success(index, id, HttpStatus.OK);
+    }
+
+    private static boolean isComplete(Employee employee) {
+        return employee != null && employee.getFirstName() != null && employee.getLastName() != null && employee.getEmail() != null;
+    }
+
+    private static Set<String> emailsOf(List<Employee> employees) {
+        return employees.stream()
+                .filter(Objects::nonNull)
+                .map(Employee::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static Throwable translateEmailViolation(DataIntegrityViolationException e, String email) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains(Employee.EMAIL_UNIQUE_INDEX)) {
+                return new EmployeeEmailAlreadyExistsException(email, e);
+            }
+        }
+        return e;
+    }
+}
@@ -0,0 +1,61 @@
+CREATE TABLE employees
+(
+    id         BIGINT       NOT NULL,
+    version    BIGINT,
+    email      VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE TABLE employee_ids
+(
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Igual que el TableGenerator de Hibernate (stored_last_used): next_val guarda el último id usado, así
+-- que la fila empieza en initial_value - 1 y el primer id es 1.
+INSERT INTO employee_ids (sequence_name, next_val) VALUES ('employees', 0);
+
+CREATE TABLE employee_outbox
+(
+    seq              BIGINT       NOT NULL,
+    type             VARCHAR(16)  NOT NULL,
+    employee_id      BIGINT       NOT NULL,
+    first_name       VARCHAR(255),
+    last_name        VARCHAR(255),
+    email            VARCHAR(255),
+    employee_version BIGINT,
+    changed_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+CREATE INDEX ix_employee_outbox_employee_id ON employee_outbox (employee_id, seq);
+CREATE INDEX ix_employee_outbox_changed_at ON employee_outbox (changed_at);
+
+CREATE TABLE employee_outbox_sequence
+(
+    id       INTEGER NOT NULL,
+    last_seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO employee_outbox_sequence (id, last_seq) VALUES (1, 0);
+
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(512) NOT NULL,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          INTEGER      NOT NULL,
+    content_type    VARCHAR(255),
+    headers         VARCHAR(4000),
+    body            MEDIUMBLOB,
+    created_at      DATETIME(6)  NOT NULL,
+    expires_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX ix_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,9 @@
+CREATE TABLE employee_emails
+(
+    email       VARCHAR(255) NOT NULL,
+    employee_id BIGINT,
+    reserved_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (email)
+);
+
+CREATE INDEX ix_employee_emails_employee_id ON employee_emails (employee_id);
@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS employees
+(
+    id         BIGINT       NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    version    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS employee_ids
+(
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Contador del outbox de la aplicación servlet: esta aplicación solo lo avanza, para el ETag del listado.
+CREATE TABLE IF NOT EXISTS employee_outbox_sequence
+(
+    id       INTEGER NOT NULL,
+    last_seq BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO employee_outbox_sequence (id, last_seq)
+SELECT 1, 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM employee_outbox_sequence WHERE id = 1);
@@ -0,0 +1,292 @@
+package com.magadiflo.crud.api.app.benchmark;
+
+import com.magadiflo.crud.api.app.SpringBootUnitTestingCrudRestApiApplication;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * BENCHMARK - CAPACIDAD CON MEZCLA DE TRÁFICO REALISTA
+ * ****************************************************
+ * Levanta la aplicación en un puerto aleatorio contra una H2 embebida en modo MySQL (sin depender de
+ * MySQL en localhost:3306), siembra benchmark.volumes empleados por JDBC y la somete a un modelo
+ * abierto: las peticiones salen a tasa constante (benchmark.rate por segundo) sin esperar a que
+ * terminen las anteriores, con la mezcla benchmark.mix de list (/page), get, create, update y delete.
+ * La latencia se mide desde el instante en que la petición debía salir, así una respuesta lenta no
+ * esconde las que quedaron detrás (coordinated omission).
+ * <br>
+ * Reporta throughput, errores por código y percentiles HdrHistogram por endpoint, y deja en
+ * target/capacity-baseline un resumen y la distribución .hgrm de cada endpoint como línea base.
+ * Los volúmenes grandes necesitan heap para la H2 en memoria (5M de empleados, unos 4 GB).
+ * <br>
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=EmployeeCapacityBenchmark -Dbenchmark.volumes=10000,1000000
+ * -Dbenchmark.rate=1000 -Dbenchmark.seconds=120 -DargLine=-Xmx6g
+ */
+@Tag("benchmark")
+class EmployeeCapacityBenchmark {
+
+    private static final int RATE = Integer.getInteger("benchmark.rate", 500);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("benchmark.warmup-seconds", 10);
+    private static final String MIX = System.getProperty("benchmark.mix", "list=10,get=60,create=10,update=15,delete=5");
+    private static final int PAGE_SIZE = 50;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final Path OUTPUT_DIRECTORY = Path.of("target", "capacity-baseline");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    enum Endpoint {
+        LIST, GET, CREATE, UPDATE, DELETE
+    }
+
+    static Stream<Integer> volumes() {
+        return Arrays.stream(System.getProperty("benchmark.volumes", "10000").split(","))
+                .map(String::trim)
+                .map(Integer::valueOf);
+    }
+
+    @ParameterizedTest
+    @MethodSource("volumes")
+    void measureMixedTrafficAtConstantArrivalRate(int employees) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootUnitTestingCrudRestApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:capacity" + employees + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa", "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false", "--employees.rate-limit.enabled=false")) {
+            seed(context.getBean(JdbcTemplate.class), employees);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/employees";
+
+            TrafficRun run = new TrafficRun(baseUrl, employees, parseMix(MIX));
+            run.drive(RATE, TimeUnit.SECONDS.toNanos(WARMUP_SECONDS), TimeUnit.SECONDS.toNanos(SECONDS));
+            run.report(employees, System.out);
+
+            Files.createDirectories(OUTPUT_DIRECTORY);
+            String name = "employees-" + employees + "-rate-" + RATE;
+            try (PrintStream summary = new PrintStream(Files.newOutputStream(OUTPUT_DIRECTORY.resolve(name + ".txt")))) {
+                run.report(employees, summary);
+            }
+            for (Endpoint endpoint : Endpoint.values()) {
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(
+                        OUTPUT_DIRECTORY.resolve(name + "-" + endpoint.name().toLowerCase() + ".hgrm")))) {
+                    run.latencies.get(endpoint).outputPercentileDistribution(hgrm, 1_000_000.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserta por JDBC (sin outbox ni caché, que solo ralentizarían la siembra) ids 1..employees y deja
+     * el generador de ids por encima, así los POST del benchmark no chocan con las filas sembradas.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, int employees) {
+        long start = System.nanoTime();
+        for (int from = 1; from <= employees; from += SEED_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+            for (long id = from; id < Math.min(from + SEED_BATCH_SIZE, employees + 1L); id++) {
+                rows.add(new Object[]{id, "Nombre" + id, "Apellido" + id, "seed" + id + "@gmail.com"});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, 0)", rows);
+        }
+        jdbcTemplate.update("UPDATE employee_ids SET next_val = ? WHERE sequence_name = 'employees'", employees + 1L);
+        System.out.printf("[seed] employees=%d in %.1fs%n", employees, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.valueOf(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static final class TrafficRun {
+
+        private final String baseUrl;
+        private final Endpoint[] schedule;
+        private final HttpClient client;
+        private final ExecutorService clientExecutor = Executors.newCachedThreadPool();
+        private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Map<Integer, LongAdder>> statuses = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, LongAdder> failures = new EnumMap<>(Endpoint.class);
+        private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+        private final AtomicLong deleteCursor;
+        private final AtomicLong uniqueSuffix = new AtomicLong();
+        private final AtomicLong inFlight = new AtomicLong();
+        private long measuredNanos;
+
+        private TrafficRun(String baseUrl, long employees, Map<Endpoint, Integer> weights) {
+            this.baseUrl = baseUrl;
+            this.deleteCursor = new AtomicLong(employees);
+            this.client = HttpClient.newBuilder().executor(this.clientExecutor).build();
+            List<Endpoint> schedule = new ArrayList<>();
+            weights.forEach((endpoint, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    schedule.add(endpoint);
+                }
+            });
+            this.schedule = schedule.toArray(Endpoint[]::new);
+            for (Endpoint endpoint : Endpoint.values()) {
+                this.latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+                this.statuses.put(endpoint, new ConcurrentHashMap<>());
+                this.failures.put(endpoint, new LongAdder());
+            }
+        }
+
+        /**
+         * Modelo abierto: la petición i sale en start + i * intervalo, haya o no respuestas pendientes.
+         */
+        void drive(int rate, long warmupNanos, long measureNanos) throws InterruptedException {
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            long measureFrom = start + warmupNanos;
+            long end = measureFrom + measureNanos;
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Endpoint endpoint = this.schedule[ThreadLocalRandom.current().nextInt(this.schedule.length)];
+                this.send(endpoint, intendedStart, intendedStart >= measureFrom);
+            }
+            long drainDeadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+            while (this.inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(10);
+            }
+            this.measuredNanos = measureNanos;
+            this.clientExecutor.shutdown();
+        }
+
+        private void send(Endpoint endpoint, long intendedStart, boolean measured) {
+            HttpRequest request = this.request(endpoint);
+            this.inFlight.incrementAndGet();
+            this.client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        this.inFlight.decrementAndGet();
+                        long latency = System.nanoTime() - intendedStart;
+                        if (response != null && endpoint == Endpoint.CREATE && response.statusCode() == 201) {
+                            Matcher matcher = ID.matcher(response.body());
+                            if (matcher.find()) {
+                                this.createdIds.add(Long.valueOf(matcher.group(1)));
+                            }
+                        }
+                        if (measured) {
+                            this.latencies.get(endpoint).recordValue(Math.min(latency, HIGHEST_TRACKABLE_NANOS));
+                            if (response == null) {
+                                this.failures.get(endpoint).increment();
+                            } else {
+                                this.statuses.get(endpoint).computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                            }
+                        }
+                    });
+        }
+
+        private HttpRequest request(Endpoint endpoint) {
+            return switch (endpoint) {
+                case LIST -> HttpRequest.newBuilder(URI.create(this.baseUrl + "/page?size=" + PAGE_SIZE
+                        + "&cursor=" + EmployeeCursor.encode(this.randomLiveId() - 1))).build();
+                case GET -> HttpRequest.newBuilder(URI.create(this.baseUrl + "/" + this.randomLiveId())).build();
+                case CREATE -> HttpRequest.newBuilder(URI.create(this.baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(this.employeeJson("create")))
+                        .build();
+                case UPDATE -> HttpRequest.newBuilder(URI.create(this.baseUrl + "/" + this.randomLiveId()))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(this.employeeJson("update")))
+                        .build();
+                case DELETE -> HttpRequest.newBuilder(URI.create(this.baseUrl + "/" + this.nextDeletableId())).DELETE().build();
+            };
+        }
+
+        /**
+         * Los delete consumen primero los empleados creados durante la prueba y luego el extremo alto de
+         * los sembrados; get, update y list eligen por debajo de ese extremo para no pedir ids borrados.
+         */
+        private long nextDeletableId() {
+            Long created = this.createdIds.poll();
+            return created != null ? created : this.deleteCursor.getAndDecrement();
+        }
+
+        private long randomLiveId() {
+            return ThreadLocalRandom.current().nextLong(1, Math.max(this.deleteCursor.get(), 2));
+        }
+
+        private String employeeJson(String prefix) {
+            long suffix = this.uniqueSuffix.incrementAndGet();
+            return "{\"firstName\":\"Carga\",\"lastName\":\"Prueba\",\"email\":\"" + prefix + suffix + "@gmail.com\"}";
+        }
+
+        void report(int employees, PrintStream out) {
+            double seconds = this.measuredNanos / 1_000_000_000.0;
+            out.printf("[capacity] employees=%d rate=%d/s seconds=%d mix=%s%n", employees, RATE, SECONDS, MIX);
+            out.printf("%-8s %9s %10s %9s %9s %9s %9s %9s  %s%n",
+                    "endpoint", "requests", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "statuses");
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            for (Endpoint endpoint : Endpoint.values()) {
+                Histogram histogram = this.latencies.get(endpoint);
+                total.add(histogram);
+                this.printRow(out, endpoint.name().toLowerCase(), histogram, seconds, this.statusSummary(endpoint));
+            }
+            this.printRow(out, "total", total, seconds, "");
+        }
+
+        private void printRow(PrintStream out, String name, Histogram histogram, double seconds, String statuses) {
+            out.printf("%-8s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", name, histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), histogram.getMaxValue() / 1_000_000.0, statuses);
+        }
+
+        private String statusSummary(Endpoint endpoint) {
+            StringBuilder summary = new StringBuilder();
+            this.statuses.get(endpoint).entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> summary.append(entry.getKey()).append('=').append(entry.getValue().sum()).append(' '));
+            long failed = this.failures.get(endpoint).sum();
+            if (failed > 0) {
+                summary.append("io-errors=").append(failed);
+            }
+            return summary.toString().trim();
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+}
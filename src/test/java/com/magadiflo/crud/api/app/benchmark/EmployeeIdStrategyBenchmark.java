@@ -0,0 +1,78 @@
+package com.magadiflo.crud.api.app.benchmark;
+
+import com.magadiflo.crud.api.app.SpringBootUnitTestingCrudRestApiApplication;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.entities.id.EmployeeIdStrategy;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BENCHMARK - ESTRATEGIAS DE GENERACIÓN DE ID
+ * *******************************************
+ * Compara el throughput de inserción de saveEmployee (un INSERT por transacción) y de
+ * IEmployeeRepository.saveAll (INSERT en lotes JDBC) para cada EmployeeIdStrategy, levantando
+ * un contexto por estrategia contra la base de datos configurada.
+ * <br>
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=EmployeeIdStrategyBenchmark -Dbenchmark.rows=20000
+ */
+@Tag("benchmark")
+class EmployeeIdStrategyBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int CHUNK_SIZE = 500;
+
+    @ParameterizedTest
+    @EnumSource(EmployeeIdStrategy.class)
+    void compareInsertThroughput(EmployeeIdStrategy strategy) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootUnitTestingCrudRestApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--employees.id.strategy=" + strategy, "--spring.jpa.show-sql=false")) {
+            IEmployeeService employeeService = context.getBean(IEmployeeService.class);
+            IEmployeeRepository employeeRepository = context.getBean(IEmployeeRepository.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                employeeService.saveEmployee(employee("single", i));
+            }
+            double saveEmployeeRowsPerSecond = rowsPerSecond(start);
+
+            employeeRepository.deleteAllInBatch();
+            start = System.nanoTime();
+            for (int from = 0; from < ROWS; from += CHUNK_SIZE) {
+                List<Employee> chunk = new ArrayList<>();
+                for (int i = from; i < Math.min(from + CHUNK_SIZE, ROWS); i++) {
+                    chunk.add(employee("batch", i));
+                }
+                transactionTemplate.executeWithoutResult(status -> employeeRepository.saveAll(chunk));
+            }
+            double saveAllRowsPerSecond = rowsPerSecond(start);
+
+            System.out.printf("[%s] rows=%d saveEmployee=%.0f rows/s saveAll=%.0f rows/s%n",
+                    strategy, ROWS, saveEmployeeRowsPerSecond, saveAllRowsPerSecond);
+        }
+    }
+
+    private static Employee employee(String prefix, int i) {
+        return Employee.builder()
+                .firstName("Nombre" + i)
+                .lastName("Apellido" + i)
+                .email(prefix + i + "@gmail.com")
+                .build();
+    }
+
+    private static double rowsPerSecond(long startNanos) {
+        return ROWS / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+}
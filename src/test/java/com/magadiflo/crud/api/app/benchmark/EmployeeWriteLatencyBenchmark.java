@@ -0,0 +1,86 @@
+package com.magadiflo.crud.api.app.benchmark;
+
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BENCHMARK - LATENCIA DE CREATE/UPDATE
+ * *************************************
+ * Siembra benchmark.rows empleados (1M por defecto) y mide la latencia de saveEmployee
+ * (INSERT protegido por el índice único de email) y de updateEmployee (una sola lectura).
+ * Para medir la mejora, ejecutar el mismo benchmark sobre la revisión anterior.
+ * <br>
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=EmployeeWriteLatencyBenchmark -Dbenchmark.rows=1000000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class EmployeeWriteLatencyBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int SAMPLES = Integer.getInteger("benchmark.samples", 2_000);
+    private static final int SEED_CHUNK_SIZE = 5_000;
+
+    @Autowired
+    private IEmployeeService employeeService;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.employeeRepository.deleteAllInBatch();
+        for (int from = 0; from < ROWS; from += SEED_CHUNK_SIZE) {
+            List<Employee> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = from; i < Math.min(from + SEED_CHUNK_SIZE, ROWS); i++) {
+                chunk.add(employee("seed", i));
+            }
+            this.employeeService.saveEmployees(chunk);
+        }
+    }
+
+    @Test
+    void measureCreateAndUpdateLatency() {
+        long[] createNanos = new long[SAMPLES];
+        List<Long> ids = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            Employee employee = employee("create", i);
+            long start = System.nanoTime();
+            ids.add(this.employeeService.saveEmployee(employee).getId());
+            createNanos[i] = System.nanoTime() - start;
+        }
+
+        Random random = new Random(42);
+        long[] updateNanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            Long id = ids.get(random.nextInt(ids.size()));
+            Employee changes = employee("update-" + i + "-", id.intValue());
+            long start = System.nanoTime();
+            this.employeeService.updateEmployee(id, changes);
+            updateNanos[i] = System.nanoTime() - start;
+        }
+
+        report("saveEmployee", createNanos);
+        report("updateEmployee", updateNanos);
+    }
+
+    private static Employee employee(String prefix, int i) {
+        return Employee.builder()
+                .firstName("Nombre" + i)
+                .lastName("Apellido" + i)
+                .email(prefix + i + "@gmail.com")
+                .build();
+    }
+
+    private static void report(String operation, long[] nanos) {
+        System.out.printf("[%s] rows=%d %s%n", operation, ROWS, LatencyPercentiles.of(nanos).summary());
+    }
+}
@@ -0,0 +1,27 @@
+package com.magadiflo.crud.api.app.benchmark;
+
+import java.util.Arrays;
+
+final class LatencyPercentiles {
+
+    private final long[] sortedNanos;
+
+    private LatencyPercentiles(long[] nanos) {
+        this.sortedNanos = nanos.clone();
+        Arrays.sort(this.sortedNanos);
+    }
+
+    static LatencyPercentiles of(long[] nanos) {
+        return new LatencyPercentiles(nanos);
+    }
+
+    double millis(double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * this.sortedNanos.length) - 1;
+        return this.sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    String summary() {
+        return String.format("samples=%d p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms", this.sortedNanos.length,
+                this.millis(50), this.millis(95), this.millis(99), this.millis(100));
+    }
+}
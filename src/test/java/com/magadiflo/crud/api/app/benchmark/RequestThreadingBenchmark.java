@@ -0,0 +1,92 @@
+package com.magadiflo.crud.api.app.benchmark;
+
+import com.magadiflo.crud.api.app.SpringBootUnitTestingCrudRestApiApplication;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BENCHMARK - HILOS DE PLATAFORMA VS HILOS VIRTUALES
+ * **************************************************
+ * Levanta la aplicación en un puerto aleatorio con spring.threads.virtual.enabled=false/true y
+ * lanza benchmark.concurrency clientes concurrentes contra GET /api/v1/employees/{id} (con la caché
+ * desactivada para que cada petición llegue a la base de datos, y sin rate limit ni límite de
+ * concurrencia, que rechazarían a un único cliente con esa carga). Reporta throughput y percentiles.
+ * <br>
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=RequestThreadingBenchmark -Dbenchmark.concurrency=1000
+ */
+@Tag("benchmark")
+class RequestThreadingBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 500);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50_000);
+    private static final int EMPLOYEES = 1_000;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void compareThroughputAndTailLatency(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootUnitTestingCrudRestApiApplication.class)
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.cache.type=none", "--spring.jpa.show-sql=false",
+                        "--employees.rate-limit.enabled=false", "--employees.concurrency.enabled=false")) {
+            List<Long> ids = seed(context.getBean(IEmployeeService.class));
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/employees/";
+
+            HttpClient client = HttpClient.newHttpClient();
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+
+            long start = System.nanoTime();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < REQUESTS; i = next.getAndIncrement()) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - requestStart;
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.MINUTES);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("[%s threads] concurrency=%d throughput=%.0f req/s errors=%d %s%n",
+                    virtualThreads ? "virtual" : "platform", CONCURRENCY, REQUESTS / seconds, errors.get(),
+                    LatencyPercentiles.of(latencies).summary());
+        }
+    }
+
+    private static List<Long> seed(IEmployeeService employeeService) {
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(Employee.builder().firstName("Nombre" + i).lastName("Apellido" + i).email("thread" + i + "@gmail.com").build());
+        }
+        return employeeService.saveEmployees(employees).stream().map(result -> result.id()).toList();
+    }
+}
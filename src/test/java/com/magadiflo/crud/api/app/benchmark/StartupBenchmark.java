@@ -0,0 +1,196 @@
+package com.magadiflo.crud.api.app.benchmark;
+
+import com.magadiflo.crud.api.app.SpringBootUnitTestingCrudRestApiApplication;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BENCHMARK - ARRANQUE EN FRÍO
+ * ****************************
+ * Arranca la aplicación en un proceso nuevo por ejecución, contra una base H2 embebida, y mide el
+ * tiempo desde el lanzamiento hasta el primer 200 de GET /api/v1/employees/{id} (el empleado se crea
+ * con un POST en cuanto el servidor responde) y el RSS del proceso en ese momento. Compara el modo
+ * por defecto (ddl-auto=create-drop, todo eager), el perfil fast-startup (lazy init, migración de
+ * Flyway, bootstrap diferido de JPA) y fast-startup con el archivo AppCDS generado por el perfil cds.
+ * <br>
+ * Requiere el empaquetado de CDS: mvn package -Pcds -DskipTests
+ * <br>
+ * Ejecutar con: mvn test -Pbenchmark -Dtest=StartupBenchmark -Dbenchmark.runs=5
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 3);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Path CDS_DIRECTORY = Path.of("target", "cds");
+    private static final Path CDS_ARCHIVE = CDS_DIRECTORY.resolve("application.jsa");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    enum Mode {
+        DEFAULT, FAST_STARTUP, FAST_STARTUP_CDS
+    }
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void measureTimeToFirstGetAndStartupRss(Mode mode) throws Exception {
+        Optional<Path> applicationJar = applicationJar();
+        Assumptions.assumeTrue(applicationJar.isPresent(), "Run mvn package -Pcds -DskipTests first");
+        Assumptions.assumeTrue(mode != Mode.FAST_STARTUP_CDS || Files.exists(CDS_ARCHIVE), "CDS archive not found");
+
+        long[] firstResponseNanos = new long[RUNS];
+        long[] firstGetNanos = new long[RUNS];
+        long[] rssKb = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            int port = freePort();
+            Process process = new ProcessBuilder(command(mode, applicationJar.get(), port))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long start = System.nanoTime();
+            try {
+                String baseUrl = "http://localhost:" + port + "/api/v1/employees";
+                HttpClient client = HttpClient.newHttpClient();
+
+                String id = awaitCreatedEmployee(client, baseUrl, process, start);
+                firstResponseNanos[run] = System.nanoTime() - start;
+                awaitOk(client, baseUrl + "/" + id, process, start);
+                firstGetNanos[run] = System.nanoTime() - start;
+                rssKb[run] = rssKb(process.pid());
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+
+        System.out.printf("[%s] runs=%d firstResponse(p50)=%.0fms firstGet(p50)=%.0fms firstGet(max)=%.0fms rss(p50)=%dMB%n",
+                mode, RUNS, LatencyPercentiles.of(firstResponseNanos).millis(50), LatencyPercentiles.of(firstGetNanos).millis(50),
+                LatencyPercentiles.of(firstGetNanos).millis(100), median(rssKb) / 1024);
+    }
+
+    private static List<String> command(Mode mode, Path applicationJar, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode == Mode.FAST_STARTUP_CDS) {
+            command.add("-XX:SharedArchiveFile=" + CDS_ARCHIVE);
+            command.add("-Xlog:cds=off");
+        }
+        command.add("-cp");
+        // El archivo CDS exige que el classpath del entrenamiento sea prefijo del de ejecución: H2 va al final.
+        command.add(applicationJar + File.pathSeparator + h2Jar());
+        command.add(SpringBootUnitTestingCrudRestApiApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        if (mode != Mode.DEFAULT) {
+            command.add("--spring.profiles.active=fast-startup");
+        }
+        return command;
+    }
+
+    private static String awaitCreatedEmployee(HttpClient client, String baseUrl, Process process, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Martín\",\"lastName\":\"Díaz\",\"email\":\"startup@gmail.com\"}"))
+                .build();
+        while (true) {
+            Optional<HttpResponse<String>> response = trySend(client, request, process, start);
+            if (response.isPresent()) {
+                Matcher matcher = ID.matcher(response.get().body());
+                if (response.get().statusCode() == 201 && matcher.find()) {
+                    return matcher.group(1);
+                }
+                throw new IllegalStateException("POST failed with " + response.get().statusCode() + ": " + response.get().body());
+            }
+        }
+    }
+
+    private static void awaitOk(HttpClient client, String url, Process process, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
+        while (true) {
+            Optional<HttpResponse<String>> response = trySend(client, request, process, start);
+            if (response.isPresent() && response.get().statusCode() == 200) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Vacío mientras el servidor aún no acepta conexiones.
+     */
+    private static Optional<HttpResponse<String>> trySend(HttpClient client, HttpRequest request, Process process,
+                                                          long start) throws Exception {
+        if (!process.isAlive()) {
+            throw new IllegalStateException("Application exited with code " + process.exitValue());
+        }
+        if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+            throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+        }
+        try {
+            return Optional.of(client.send(request, HttpResponse.BodyHandlers.ofString()));
+        } catch (IOException e) {
+            Thread.sleep(5);
+            return Optional.empty();
+        }
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private static Optional<Path> applicationJar() throws IOException {
+        if (!Files.isDirectory(CDS_DIRECTORY)) {
+            return Optional.empty();
+        }
+        try (var files = Files.list(CDS_DIRECTORY)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-cds.jar")).findFirst();
+        }
+    }
+
+    private static String h2Jar() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> Path.of(entry).getFileName().toString().matches("h2-.*\\.jar"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 not found on the test classpath"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,187 @@
+package com.magadiflo.crud.api.app.command;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeeCommandStatus;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeWriteQueueFullException;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class EmployeeWriteQueueTest {
+
+    private IEmployeeService employeeService;
+    private IEmployeeRepository employeeRepository;
+    private PlatformTransactionManager transactionManager;
+    private EmployeeProperties employeeProperties;
+    private final AtomicLong sequence = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        this.employeeService = Mockito.mock(IEmployeeService.class);
+        this.employeeRepository = Mockito.mock(IEmployeeRepository.class);
+        this.transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        this.employeeProperties = new EmployeeProperties();
+        this.employeeProperties.getWriteBehind().setEnabled(true);
+
+        Mockito.when(this.employeeService.saveEmployees(Mockito.anyList())).then(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.stream().anyMatch(employee -> employee.getEmail().startsWith("duplicado"))) {
+                throw new DataIntegrityViolationException("uk_employees_email");
+            }
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                results.add(EmployeeBatchResult.success(i, this.sequence.incrementAndGet(), HttpStatus.CREATED));
+            }
+            return results;
+        });
+        Mockito.when(this.employeeService.updateEmployees(Mockito.anyList())).then(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                results.add(EmployeeBatchResult.success(i, employees.get(i).getId(), HttpStatus.OK));
+            }
+            return results;
+        });
+        Mockito.when(this.employeeService.deleteEmployees(Mockito.anyList())).then(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                results.add(EmployeeBatchResult.failure(i, ids.get(i), HttpStatus.NOT_FOUND, "Employee not found"));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    @DisplayName(value = "aplica el grupo en orden de llegada con un solo commit")
+    void givenMixedCommands_whenDrain_thenApplyRunsInOrderWithinOneCommit() throws Exception {
+        // Given
+        EmployeeWriteQueue writeQueue = this.newWriteQueue();
+        EmployeeCommand createMartin = writeQueue.submit(EmployeeCommand.create(employee("martin@gmail.com")));
+        EmployeeCommand createGabriel = writeQueue.submit(EmployeeCommand.create(employee("gabriel@gmail.com")));
+        EmployeeCommand update = writeQueue.submit(EmployeeCommand.update(7L, employee("rosita@gmail.com")));
+        EmployeeCommand delete = writeQueue.submit(EmployeeCommand.delete(8L));
+
+        // When
+        writeQueue.drain();
+
+        // Then
+        InOrder inOrder = Mockito.inOrder(this.employeeService, this.employeeRepository, this.transactionManager);
+        inOrder.verify(this.employeeService).saveEmployees(Mockito.argThat(employees -> employees.size() == 2));
+        inOrder.verify(this.employeeRepository).flush();
+        inOrder.verify(this.employeeService).updateEmployees(Mockito.argThat(employees -> employees.size() == 1));
+        inOrder.verify(this.employeeService).deleteEmployees(List.of(8L));
+        inOrder.verify(this.transactionManager).commit(Mockito.any());
+        Mockito.verify(this.transactionManager, Mockito.times(1)).commit(Mockito.any());
+
+        Assertions.assertEquals(EmployeeCommandStatus.State.APPLIED, createMartin.completion().get().state());
+        Assertions.assertEquals(101L, createMartin.completion().get().id());
+        Assertions.assertEquals(102L, createGabriel.completion().get().id());
+        Assertions.assertEquals(EmployeeCommandStatus.State.APPLIED, update.completion().get().state());
+        Assertions.assertEquals(EmployeeCommandStatus.State.REJECTED, delete.completion().get().state());
+        Assertions.assertEquals(404, writeQueue.status(delete.ticket()).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName(value = "dos escrituras sobre el mismo id no se agrupan en la misma llamada")
+    void givenRepeatedId_whenDrain_thenSplitRunToKeepOrder() throws Exception {
+        // Given
+        EmployeeWriteQueue writeQueue = this.newWriteQueue();
+        writeQueue.submit(EmployeeCommand.update(7L, employee("primero@gmail.com")));
+        writeQueue.submit(EmployeeCommand.update(7L, employee("segundo@gmail.com")));
+
+        // When
+        writeQueue.drain();
+
+        // Then
+        InOrder inOrder = Mockito.inOrder(this.employeeService);
+        inOrder.verify(this.employeeService).updateEmployees(Mockito.argThat(employees ->
+                employees.size() == 1 && employees.get(0).getEmail().equals("primero@gmail.com")));
+        inOrder.verify(this.employeeService).updateEmployees(Mockito.argThat(employees ->
+                employees.size() == 1 && employees.get(0).getEmail().equals("segundo@gmail.com")));
+        Mockito.verify(this.transactionManager, Mockito.times(1)).commit(Mockito.any());
+    }
+
+    @Test
+    @DisplayName(value = "si falla el commit del grupo se aplica cada comando por separado")
+    void givenFailingCommand_whenDrain_thenApplyOthersOneByOne() throws Exception {
+        // Given
+        EmployeeWriteQueue writeQueue = this.newWriteQueue();
+        EmployeeCommand valid = writeQueue.submit(EmployeeCommand.create(employee("martin@gmail.com")));
+        EmployeeCommand duplicated = writeQueue.submit(EmployeeCommand.create(employee("duplicado@gmail.com")));
+
+        // When
+        writeQueue.drain();
+
+        // Then
+        Assertions.assertEquals(EmployeeCommandStatus.State.APPLIED, valid.completion().get().state());
+        Assertions.assertEquals(EmployeeCommandStatus.State.FAILED, duplicated.completion().get().state());
+        Assertions.assertEquals(409, duplicated.completion().get().status());
+        Mockito.verify(this.transactionManager, Mockito.times(2)).rollback(Mockito.any());
+        Mockito.verify(this.transactionManager, Mockito.times(1)).commit(Mockito.any());
+    }
+
+    @Test
+    @DisplayName(value = "cola llena - contrapresión inmediata")
+    void givenFullQueue_whenSubmit_thenThrowException() {
+        // Given
+        this.employeeProperties.getWriteBehind().setCapacity(1);
+        EmployeeWriteQueue writeQueue = this.newWriteQueue();
+        writeQueue.submit(EmployeeCommand.delete(1L));
+        EmployeeCommand rejected = EmployeeCommand.delete(2L);
+
+        // When - Then
+        Assertions.assertThrows(EmployeeWriteQueueFullException.class, () -> writeQueue.submit(rejected));
+        Assertions.assertTrue(writeQueue.status(rejected.ticket()).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "al detenerse espera a vaciar la cola aunque tarde más que ack-timeout")
+    void givenQueuedCommandsSlowerThanAckTimeout_whenStop_thenApplyAllBeforeReturning() {
+        // Given
+        this.employeeProperties.getWriteBehind().setAckTimeout(Duration.ofMillis(10));
+        Mockito.when(this.employeeService.deleteEmployees(Mockito.anyList())).then(invocation -> {
+            Thread.sleep(50);
+            List<Long> ids = invocation.getArgument(0);
+            return List.of(EmployeeBatchResult.success(0, ids.get(0), HttpStatus.NO_CONTENT));
+        });
+        EmployeeWriteQueue writeQueue = this.newWriteQueue();
+        List<EmployeeCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            commands.add(writeQueue.submit(EmployeeCommand.delete(7L)));
+        }
+        writeQueue.start();
+
+        // When
+        writeQueue.stop();
+
+        // Then
+        Assertions.assertFalse(writeQueue.isRunning());
+        commands.forEach(command -> Assertions.assertEquals(EmployeeCommandStatus.State.APPLIED, command.completion().getNow(null).state()));
+    }
+
+    private EmployeeWriteQueue newWriteQueue() {
+        return new EmployeeWriteQueue(this.employeeService, this.employeeRepository, this.transactionManager,
+                this.employeeProperties, new SimpleMeterRegistry());
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("Nombre").lastName("Apellido").email(email).build();
+    }
+}
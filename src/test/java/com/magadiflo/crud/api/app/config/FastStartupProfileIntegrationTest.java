@@ -0,0 +1,83 @@
+package com.magadiflo.crud.api.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.entities.Employee;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Perfil fast-startup sobre una base H2 vacía propia: el esquema lo crea solo la migración de Flyway
+ * (Hibernate no genera nada) y los beans fuera de la ruta caliente de EmployeeResource son lazy. El
+ * almacén de idempotencia JDBC hace que el POST pase también por idempotency_keys.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fast-startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "employees.idempotency.store=jdbc"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+class FastStartupProfileIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void givenFastStartupProfile_whenContextStarts_thenOnlyHotPathBeansAreCreated() {
+        // given - precondición o configuración
+        var beanFactory = this.context.getBeanFactory();
+
+        // when - acción o el comportamiento que vamos a probar
+        boolean employeeResourceCreated = beanFactory.containsSingleton("employeeResource");
+        boolean employeeExporterCreated = beanFactory.containsSingleton("employeeExporter");
+        boolean employeeStatisticsCreated = beanFactory.containsSingleton("employeeStatistics");
+
+        // then - verificar la salida
+        Assertions.assertTrue(employeeResourceCreated);
+        Assertions.assertFalse(employeeExporterCreated);
+        Assertions.assertTrue(employeeStatisticsCreated);
+    }
+
+    @Test
+    void givenMigratedSchema_whenCreateAndGetEmployee_thenUseEveryMigratedTable() throws Exception {
+        // given - precondición o configuración
+        Employee employee = Employee.builder().firstName("Martín").lastName("Díaz").email("fast-startup@gmail.com").build();
+        MvcResult created = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .header("Idempotency-Key", "fast-startup-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(employee)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        long id = this.objectMapper.readTree(created.getResponse().getContentAsByteArray()).get("id").asLong();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", id));
+
+        // then - verificar la salida
+        Assertions.assertEquals(1L, id);
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is("fast-startup@gmail.com")));
+        MvcResult changes = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/changes").param("wait", "0"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(changes))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[*].id", Matchers.contains((int) id)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastSeq", Matchers.is(1)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.magadiflo.crud.api.app.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Primario y réplica son dos bases de datos H2 en memoria independientes, sin replicación entre ellas,
+ * así se ve de cuál salió cada lectura: lo que solo existe en la réplica demuestra
+ * que la lectura fue a la réplica, y lo que solo existe en el primario, que fue al primario.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "employees.replicas.enabled=true",
+        "employees.replicas.datasources[0].url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "employees.replicas.datasources[0].username=sa",
+        "employees.replicas.datasources[0].password=",
+        "employees.replicas.read-your-writes-window=1m"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        this.employeeRepository.deleteAll();
+        this.replica.execute("CREATE TABLE IF NOT EXISTS employees (id BIGINT PRIMARY KEY, first_name VARCHAR(255) NOT NULL, "
+                + "last_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL, version BIGINT)");
+        this.replica.update("DELETE FROM employees");
+        this.replica.update("INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)",
+                1L, "Rosa", "Réplica", "replica@gmail.com", 0L);
+    }
+
+    @Test
+    void givenEmployeeOnlyInReplica_whenGetEmployeesPage_thenReadFromReplica() throws Exception {
+        // given - precondición o configuración
+        this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page"));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].email", Matchers.contains("replica@gmail.com")));
+    }
+
+    @Test
+    void givenClientThatJustWrote_whenGetEmployeesPage_thenReadYourWritesFromPrimary() throws Exception {
+        // given - precondición o configuración
+        Employee employee = Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build();
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .header("X-Client-Id", "cliente-que-escribe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(employee)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions writer = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page")
+                .header("X-Client-Id", "cliente-que-escribe"));
+        ResultActions otherClient = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page")
+                .header("X-Client-Id", "otro-cliente"));
+
+        // then - verificar la salida
+        writer.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].email", Matchers.contains("gabriel@gmail.com")));
+        otherClient.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].email", Matchers.contains("replica@gmail.com")));
+    }
+}
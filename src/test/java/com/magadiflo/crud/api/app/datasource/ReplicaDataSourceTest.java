@@ -0,0 +1,100 @@
+package com.magadiflo.crud.api.app.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class ReplicaDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private Connection primaryConnection;
+    private Connection replicaAConnection;
+    private Connection replicaBConnection;
+    private ReplicaDataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        this.primary = Mockito.mock(DataSource.class);
+        this.replicaA = Mockito.mock(DataSource.class);
+        this.replicaB = Mockito.mock(DataSource.class);
+        this.primaryConnection = Mockito.mock(Connection.class);
+        this.replicaAConnection = Mockito.mock(Connection.class);
+        this.replicaBConnection = Mockito.mock(Connection.class);
+        Mockito.when(this.primary.getConnection()).thenReturn(this.primaryConnection);
+        Mockito.when(this.replicaA.getConnection()).thenReturn(this.replicaAConnection);
+        Mockito.when(this.replicaB.getConnection()).thenReturn(this.replicaBConnection);
+        Mockito.when(this.replicaAConnection.isValid(Mockito.anyInt())).thenReturn(true);
+        Mockito.when(this.replicaBConnection.isValid(Mockito.anyInt())).thenReturn(true);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", this.replicaA);
+        replicas.put("replica-b", this.replicaB);
+        this.replicaDataSource = new ReplicaDataSource(this.primary, replicas, Duration.ofHours(1), Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.replicaDataSource.close();
+        ReplicaDataSource.unpin();
+    }
+
+    @Test
+    @DisplayName(value = "reparte las lecturas entre las réplicas en round-robin")
+    void givenHealthyReplicas_whenGetConnection_thenRoundRobin() throws SQLException {
+        // When - Then
+        Assertions.assertSame(this.replicaAConnection, this.replicaDataSource.getConnection());
+        Assertions.assertSame(this.replicaBConnection, this.replicaDataSource.getConnection());
+        Assertions.assertSame(this.replicaAConnection, this.replicaDataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName(value = "una réplica que rechaza la conexión se expulsa hasta el siguiente health check")
+    void givenFailingReplica_whenGetConnection_thenEjectAndReadmitAfterHealthCheck() throws SQLException {
+        // Given
+        Mockito.when(this.replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When - Then
+        Assertions.assertSame(this.replicaBConnection, this.replicaDataSource.getConnection());
+        Assertions.assertSame(this.replicaBConnection, this.replicaDataSource.getConnection());
+        Mockito.verify(this.replicaA, Mockito.times(1)).getConnection();
+
+        Mockito.doReturn(this.replicaAConnection).when(this.replicaA).getConnection();
+        this.replicaDataSource.checkHealth();
+        Assertions.assertSame(this.replicaAConnection, this.replicaDataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName(value = "sin réplicas sanas, o con el hilo fijado, lee del primario")
+    void givenNoHealthyReplicaOrPinnedThread_whenGetConnection_thenUsePrimary() throws SQLException {
+        // Given
+        Mockito.when(this.replicaBConnection.isValid(Mockito.anyInt())).thenReturn(false);
+        Mockito.when(this.replicaA.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        this.replicaDataSource.checkHealth();
+        Connection unhealthy = this.replicaDataSource.getConnection();
+        ReplicaDataSource.unpin();
+        Mockito.when(this.replicaBConnection.isValid(Mockito.anyInt())).thenReturn(true);
+        this.replicaDataSource.checkHealth();
+        ReplicaDataSource.pinToPrimary();
+        Connection pinned = this.replicaDataSource.getConnection();
+
+        // Then
+        Assertions.assertSame(this.primaryConnection, unhealthy);
+        Assertions.assertSame(this.primaryConnection, pinned);
+    }
+}
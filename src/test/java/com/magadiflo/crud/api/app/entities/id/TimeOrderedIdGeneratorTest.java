@@ -0,0 +1,51 @@
+package com.magadiflo.crud.api.app.entities.id;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    @DisplayName(value = "ids crecientes aunque el reloj retroceda")
+    void givenClockGoingBackwards_whenNextId_thenIdsKeepIncreasing() {
+        // Given
+        AtomicLong clock = new AtomicLong(TimeOrderedIdGenerator.EPOCH + 10_000);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7, clock::get);
+
+        // When
+        long first = generator.nextId();
+        clock.addAndGet(-5_000);
+        long second = generator.nextId();
+
+        // Then
+        Assertions.assertTrue(second > first);
+        Assertions.assertEquals(7, (second >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    @DisplayName(value = "ids únicos con varios hilos en el mismo milisegundo")
+    void givenConcurrentCallers_whenNextId_thenAllIdsAreUnique() {
+        // Given
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, () -> TimeOrderedIdGenerator.EPOCH + 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        IntStream.range(0, 20_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        // Then
+        Assertions.assertEquals(20_000, ids.size());
+    }
+
+    @Test
+    @DisplayName(value = "nodo fuera de rango")
+    void givenInvalidNodeId_whenCreateGenerator_thenThrowException() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1));
+    }
+}
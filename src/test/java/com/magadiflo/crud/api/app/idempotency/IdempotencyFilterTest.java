@@ -0,0 +1,143 @@
+package com.magadiflo.crud.api.app.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdempotencyFilterTest {
+
+    private static final String MARTIN = """
+            {"firstName":"Martín","lastName":"Díaz","email":"martin@gmail.com"}""";
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        EmployeeProperties.Idempotency properties = new EmployeeProperties().getIdempotency();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new IdempotencyFilter(new InMemoryIdempotencyStore(properties), properties, new ObjectMapper(),
+                this.meterRegistry);
+    }
+
+    @Test
+    @DisplayName(value = "reintento con la misma clave - repite la respuesta sin ejecutar otra vez")
+    void givenStoredResponse_whenRetryWithSameKey_thenReplayWithoutExecuting() throws Exception {
+        // Given
+        this.filter.doFilter(request("clave-1", MARTIN), new MockHttpServletResponse(), this.createdChain());
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        this.filter.doFilter(request("clave-1", MARTIN), retry, this.createdChain());
+
+        // Then
+        Assertions.assertEquals(1, this.executions.get());
+        Assertions.assertEquals(201, retry.getStatus());
+        Assertions.assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        Assertions.assertEquals("\"0\"", retry.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals("{\"id\":1}", retry.getContentAsString());
+        Assertions.assertEquals(1, this.meterRegistry.get("employees.idempotency.requests").tag("outcome", "replayed").counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "misma clave con otro cuerpo - 422")
+    void givenStoredResponse_whenSameKeyWithDifferentBody_thenReturnUnprocessableEntity() throws Exception {
+        // Given
+        this.filter.doFilter(request("clave-1", MARTIN), new MockHttpServletResponse(), this.createdChain());
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request("clave-1", MARTIN.replace("martin", "gabriel")), response, this.createdChain());
+
+        // Then
+        Assertions.assertEquals(422, response.getStatus());
+        Assertions.assertEquals(1, this.executions.get());
+    }
+
+    @Test
+    @DisplayName(value = "duplicados simultáneos - una sola ejecución")
+    void givenRequestInFlight_whenDuplicateArrives_thenWaitForTheFirstResult() throws Exception {
+        // Given
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch leave = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        Future<?> slowRequest = executor.submit(() -> {
+            this.filter.doFilter(request("clave-1", MARTIN), first, (req, res) -> {
+                inside.countDown();
+                try {
+                    leave.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                this.createdChain().doFilter(req, res);
+            });
+            return null;
+        });
+        Assertions.assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        // When
+        ExecutorService duplicateExecutor = Executors.newSingleThreadExecutor();
+        MockHttpServletResponse duplicate = new MockHttpServletResponse();
+        Future<?> duplicateRequest = duplicateExecutor.submit(() -> {
+            this.filter.doFilter(request("clave-1", MARTIN), duplicate, this.createdChain());
+            return null;
+        });
+        Thread.sleep(100);
+        leave.countDown();
+        slowRequest.get(5, TimeUnit.SECONDS);
+        duplicateRequest.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        duplicateExecutor.shutdown();
+
+        // Then
+        Assertions.assertEquals(1, this.executions.get());
+        Assertions.assertEquals(201, first.getStatus());
+        Assertions.assertEquals(201, duplicate.getStatus());
+        Assertions.assertEquals(first.getContentAsString(), duplicate.getContentAsString());
+        Assertions.assertEquals("true", duplicate.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    /**
+     * Simula el controlador: lee el cuerpo y responde 201 con un id nuevo en cada ejecución.
+     */
+    private FilterChain createdChain() {
+        return (request, response) -> {
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Assertions.assertTrue(body.contains("@gmail.com"));
+            int id = this.executions.incrementAndGet();
+            HttpServletResponse created = (HttpServletResponse) response;
+            created.setStatus(201);
+            created.setHeader(HttpHeaders.ETAG, "\"0\"");
+            created.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            created.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employees");
+        request.addHeader("Idempotency-Key", key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
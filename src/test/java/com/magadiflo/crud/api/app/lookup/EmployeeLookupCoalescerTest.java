@@ -0,0 +1,230 @@
+package com.magadiflo.crud.api.app.lookup;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+class EmployeeLookupCoalescerTest {
+
+    private static final long EXISTING_EMPLOYEES = 40;
+
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private EmployeeProperties employeeProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeLookupCoalescer coalescer;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        this.employeeJdbcRepository = Mockito.mock(EmployeeJdbcRepository.class);
+        this.employeeProperties = new EmployeeProperties();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.callers = Executors.newFixedThreadPool(32);
+        Mockito.when(this.employeeJdbcRepository.findViewsByIds(Mockito.anyCollection())).then(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id <= EXISTING_EMPLOYEES).map(EmployeeLookupCoalescerTest::view).toList();
+        });
+        Mockito.when(this.employeeJdbcRepository.findViewById(Mockito.anyLong())).then(invocation -> {
+            long id = invocation.getArgument(0);
+            return id <= EXISTING_EMPLOYEES ? Optional.of(view(id)) : Optional.empty();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName(value = "búsquedas simultáneas del mismo id - una sola consulta")
+    void givenLookupInFlight_whenSameIdIsRequested_thenShareTheQuery() throws Exception {
+        // Given
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch leave = new CountDownLatch(1);
+        Mockito.when(this.employeeJdbcRepository.findViewsByIds(Mockito.anyCollection())).then(invocation -> {
+            inside.countDown();
+            leave.await();
+            return List.of(view(7));
+        });
+        this.coalescer = this.newCoalescer();
+        Future<Optional<EmployeeView>> first = this.callers.submit(() -> this.coalescer.findViewById(7L));
+        Assertions.assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<Future<Optional<EmployeeView>>> duplicates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            duplicates.add(this.callers.submit(() -> this.coalescer.findViewById(7L)));
+        }
+        awaitCount(() -> this.meterRegistry.get("employees.lookup.requests").tag("outcome", "coalesced").counter().count(), 20);
+        leave.countDown();
+
+        // Then
+        Assertions.assertEquals(view(7), first.get(5, TimeUnit.SECONDS).orElseThrow());
+        for (Future<Optional<EmployeeView>> duplicate : duplicates) {
+            Assertions.assertEquals(view(7), duplicate.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        Mockito.verify(this.employeeJdbcRepository, Mockito.times(1)).findViewsByIds(Mockito.anyCollection());
+        Assertions.assertEquals(21.0, this.coalescer.coalescingRatio());
+    }
+
+    @Test
+    @DisplayName(value = "ids distintos dentro de la ventana - un solo WHERE id IN (...)")
+    void givenDistinctIdsWithinWindow_whenLookup_thenLoadThemInOneQuery() throws Exception {
+        // Given
+        this.employeeProperties.getLookup().setWindow(Duration.ofMillis(500));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch leave = new CountDownLatch(1);
+        Mockito.when(this.employeeJdbcRepository.findViewsByIds(Mockito.anyCollection())).then(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(EXISTING_EMPLOYEES)) {
+                inside.countDown();
+                leave.await();
+            }
+            return ids.stream().map(EmployeeLookupCoalescerTest::view).toList();
+        });
+        this.coalescer = this.newCoalescer();
+        // Una búsqueda en curso: el lote siguiente no puede darse por aislado y espera la ventana.
+        Future<Optional<EmployeeView>> inFlight = this.callers.submit(() -> this.coalescer.findViewById(EXISTING_EMPLOYEES));
+        Assertions.assertTrue(inside.await(5, TimeUnit.SECONDS));
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<Optional<EmployeeView>>> lookups = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            long employeeId = id;
+            lookups.add(this.callers.submit(() -> {
+                start.await();
+                return this.coalescer.findViewById(employeeId);
+            }));
+        }
+        start.countDown();
+
+        // Then
+        for (int i = 0; i < lookups.size(); i++) {
+            Assertions.assertEquals(view(i + 1), lookups.get(i).get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        leave.countDown();
+        Assertions.assertEquals(view(EXISTING_EMPLOYEES), inFlight.get(5, TimeUnit.SECONDS).orElseThrow());
+        Mockito.verify(this.employeeJdbcRepository, Mockito.times(1))
+                .findViewsByIds(Mockito.argThat(ids -> ids.size() == 10));
+        Assertions.assertEquals(10, this.meterRegistry.get("employees.lookup.batch.size").summary().max());
+    }
+
+    @Test
+    @DisplayName(value = "una búsqueda sin otras en curso - no espera la ventana")
+    void givenNoOtherLookup_whenLookup_thenQueryWithoutWaitingForTheWindow() {
+        // Given
+        this.employeeProperties.getLookup().setWindow(Duration.ofSeconds(5));
+        this.coalescer = this.newCoalescer();
+
+        // When
+        long start = System.nanoTime();
+        Optional<EmployeeView> employee = this.coalescer.findViewById(3L);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        Assertions.assertEquals(view(3), employee.orElseThrow());
+        Assertions.assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "elapsed: " + elapsed);
+        Mockito.verify(this.employeeJdbcRepository, Mockito.times(1)).findViewsByIds(List.of(3L));
+    }
+
+    @Test
+    @DisplayName(value = "prueba de estrés - cada llamada recibe su empleado y se hacen menos consultas que búsquedas")
+    void givenManyConcurrentCallers_whenLookupRandomIds_thenEveryCallerGetsItsOwnEmployee() throws Exception {
+        // Given
+        this.coalescer = this.newCoalescer();
+        int callers = 32;
+        int lookupsPerCaller = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int c = 0; c < callers; c++) {
+            results.add(this.callers.submit(() -> {
+                start.await();
+                int checked = 0;
+                for (int i = 0; i < lookupsPerCaller; i++) {
+                    long id = ThreadLocalRandom.current().nextLong(1, EXISTING_EMPLOYEES + 11);
+                    Optional<EmployeeView> employee = this.coalescer.findViewById(id);
+                    if (id <= EXISTING_EMPLOYEES) {
+                        Assertions.assertEquals(view(id), employee.orElseThrow());
+                    } else {
+                        Assertions.assertTrue(employee.isEmpty());
+                    }
+                    checked++;
+                }
+                return checked;
+            }));
+        }
+        start.countDown();
+
+        // Then
+        int checked = 0;
+        for (Future<Integer> result : results) {
+            checked += result.get(60, TimeUnit.SECONDS);
+        }
+        Assertions.assertEquals(callers * lookupsPerCaller, checked);
+        double queries = this.meterRegistry.get("employees.lookup.queries").counter().count();
+        Assertions.assertTrue(queries < checked, "queries: " + queries);
+        Assertions.assertTrue(this.coalescer.coalescingRatio() > 1);
+    }
+
+    @Test
+    @DisplayName(value = "dentro de una transacción - consulta directa para ver las escrituras propias")
+    void givenActiveTransaction_whenLookup_thenQueryDirectly() {
+        // Given
+        this.coalescer = this.newCoalescer();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        Optional<EmployeeView> employee;
+        try {
+            employee = this.coalescer.findViewById(3L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        Assertions.assertEquals(view(3), employee.orElseThrow());
+        Mockito.verify(this.employeeJdbcRepository).findViewById(3L);
+        Mockito.verify(this.employeeJdbcRepository, Mockito.never()).findViewsByIds(Mockito.anyCollection());
+    }
+
+    private EmployeeLookupCoalescer newCoalescer() {
+        return new EmployeeLookupCoalescer(this.employeeJdbcRepository, Mockito.mock(PlatformTransactionManager.class),
+                this.employeeProperties, this.meterRegistry);
+    }
+
+    private static void awaitCount(DoubleSupplier count, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsDouble() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static EmployeeView view(long id) {
+        return new EmployeeView(id, "Nombre" + id, "Apellido" + id, "empleado" + id + "@gmail.com", 0L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.magadiflo.crud.api.app.ratelimit;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private SimpleMeterRegistry meterRegistry;
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeProperties.EndpointLimit getAll = new EmployeeProperties.EndpointLimit();
+        getAll.setMethod("GET");
+        getAll.setPath("/api/v1/employees");
+        getAll.setPermitsPerSecond(2);
+        getAll.setBurst(3);
+        EmployeeProperties.RateLimit properties = new EmployeeProperties.RateLimit();
+        properties.setPermitsPerSecond(1000);
+        properties.setBurst(1000);
+        properties.getEndpoints().add(getAll);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.rateLimiter = new ClientRateLimiter(properties, this.meterRegistry, this.now::get);
+    }
+
+    @Test
+    @DisplayName(value = "deja pasar la ráfaga y después una petición por intervalo")
+    void givenBurstExhausted_whenTryAcquire_thenWaitForNextToken() {
+        // When - Then
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(0, this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees"));
+        }
+        long wait = this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees");
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+
+        this.now.addAndGet(wait);
+        Assertions.assertEquals(0, this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees"));
+        Assertions.assertTrue(this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees") > 0);
+        Assertions.assertEquals(2, this.meterRegistry.get("employees.rate-limit.decisions")
+                .tag("endpoint", "GET /api/v1/employees").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "cada cliente y cada endpoint tienen su propio cubo")
+    void givenExhaustedBucket_whenOtherClientOrEndpoint_thenAllow() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees");
+        }
+
+        // When - Then
+        Assertions.assertTrue(this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees") > 0);
+        Assertions.assertEquals(0, this.rateLimiter.tryAcquire("otro-cliente", "GET", "/api/v1/employees"));
+        Assertions.assertEquals(0, this.rateLimiter.tryAcquire("cliente", "GET", "/api/v1/employees/7"));
+        Assertions.assertEquals(0, this.rateLimiter.tryAcquire("cliente", "POST", "/api/v1/employees"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.magadiflo.crud.api.app.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class LoadSheddingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeProperties employeeProperties;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.employeeProperties = new EmployeeProperties();
+        this.employeeProperties.getConcurrency().setInitialLimit(1);
+        this.employeeProperties.getConcurrency().setMinLimit(1);
+        this.employeeProperties.getConcurrency().setAdjustInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (this.concurrencyLimiter != null) {
+            this.concurrencyLimiter.close();
+        }
+    }
+
+    @Test
+    @DisplayName(value = "cliente sin tokens - 429 con Retry-After")
+    void givenExhaustedRateLimit_whenFilter_thenReturnTooManyRequests() throws Exception {
+        // Given
+        this.employeeProperties.getRateLimit().setPermitsPerSecond(0.5);
+        this.employeeProperties.getRateLimit().setBurst(1);
+        LoadSheddingFilter filter = this.newFilter();
+        filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(), response, chain);
+
+        // Then
+        Assertions.assertEquals(429, response.getStatus());
+        Assertions.assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        Assertions.assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName(value = "cambiar X-Client-Id en cada petición no da una ráfaga nueva")
+    void givenRotatingClientIdHeader_whenFilter_thenSameAddressSharesBucket() throws Exception {
+        // Given
+        this.employeeProperties.getRateLimit().setPermitsPerSecond(0.5);
+        this.employeeProperties.getRateLimit().setBurst(2);
+        LoadSheddingFilter filter = this.newFilter();
+        int[] statuses = new int[4];
+
+        // When
+        for (int i = 0; i < statuses.length; i++) {
+            MockHttpServletRequest request = request();
+            request.addHeader("X-Client-Id", "cliente-" + i);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            statuses[i] = response.getStatus();
+        }
+        MockHttpServletRequest otherAddress = request();
+        otherAddress.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+        filter.doFilter(otherAddress, otherResponse, new MockFilterChain());
+
+        // Then
+        Assertions.assertArrayEquals(new int[]{200, 200, 429, 429}, statuses);
+        Assertions.assertEquals(200, otherResponse.getStatus());
+    }
+
+    @Test
+    @DisplayName(value = "límite de concurrencia alcanzado - 503")
+    void givenConcurrencyLimitReached_whenFilter_thenReturnServiceUnavailable() throws Exception {
+        // Given
+        LoadSheddingFilter filter = this.newFilter();
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch leave = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> slowRequest = executor.submit(() -> {
+            filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+                inside.countDown();
+                try {
+                    leave.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return null;
+        });
+        Assertions.assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        // When
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request(), shed, new MockFilterChain());
+        leave.countDown();
+        slowRequest.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        MockHttpServletResponse afterRelease = new MockHttpServletResponse();
+        filter.doFilter(request(), afterRelease, new MockFilterChain());
+
+        // Then
+        Assertions.assertEquals(503, shed.getStatus());
+        Assertions.assertEquals(200, afterRelease.getStatus());
+        Assertions.assertEquals(1, this.meterRegistry.get("employees.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName(value = "el límite baja cuando crece la espera del pool y sube cuando se normaliza")
+    void givenPoolWait_whenAdjust_thenDecreaseMultiplicativelyAndIncreaseAdditively() {
+        // Given
+        this.employeeProperties.getConcurrency().setInitialLimit(100);
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(this.employeeProperties.getConcurrency(), this.meterRegistry);
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", "HikariPool-1").register(this.meterRegistry);
+
+        // When - Then
+        acquire.record(Duration.ofMillis(50));
+        this.concurrencyLimiter.adjust();
+        Assertions.assertEquals(90, this.concurrencyLimiter.limit());
+
+        acquire.record(Duration.ofMillis(1));
+        this.concurrencyLimiter.adjust();
+        Assertions.assertEquals(91, this.concurrencyLimiter.limit());
+    }
+
+    private LoadSheddingFilter newFilter() {
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(this.employeeProperties.getConcurrency(), this.meterRegistry);
+        return new LoadSheddingFilter(new ClientRateLimiter(this.employeeProperties.getRateLimit(), this.meterRegistry),
+                this.concurrencyLimiter, new ObjectMapper());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/employees");
+    }
+}
@@ -0,0 +1,123 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.config.CacheConfig;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.lookup.EmployeeLookupCoalescer;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Una lectura que falla en la caché carga la fila y se queda parada antes de guardarla; mientras tanto
+ * una actualización confirma y guarda la versión nueva. El put tardío de la lectura no debe dejar en la
+ * caché la versión anterior.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EmployeeCacheIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @Autowired
+    private IEmployeeService employeeService;
+    @Autowired
+    private CacheManager cacheManager;
+    @SpyBean
+    private EmployeeLookupCoalescer employeeLookupCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        this.employeeRepository.deleteAll();
+        this.cacheManager.getCacheNames().forEach(name -> this.cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void givenSlowCacheMiss_whenEmployeeUpdatedBeforeReadFinishes_thenCacheKeepsNewVersion() throws Exception {
+        // given - precondición o configuración
+        Employee employee = this.employeeRepository.save(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        Mockito.doAnswer(invocation -> {
+            Object view = invocation.callRealMethod();
+            if (first.compareAndSet(true, false)) {
+                loaded.countDown();
+                Assertions.assertTrue(written.await(10, TimeUnit.SECONDS));
+            }
+            return view;
+        }).when(this.employeeLookupCoalescer).findViewById(ArgumentMatchers.any());
+
+        // when - acción o el comportamiento que vamos a probar
+        CompletableFuture<Optional<EmployeeView>> slowRead = CompletableFuture.supplyAsync(
+                () -> this.employeeService.getEmployeeById(employee.getId()));
+        Assertions.assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        this.employeeService.updateEmployee(employee.getId(), Employee.builder()
+                .firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").version(employee.getVersion()).build());
+        written.countDown();
+        Optional<EmployeeView> staleView = slowRead.get(10, TimeUnit.SECONDS);
+        ResponseEntity<EmployeeView> response = this.testRestTemplate.getForEntity("/api/v1/employees/{id}", EmployeeView.class, employee.getId());
+
+        // then - verificar la salida
+        Assertions.assertEquals("martin@gmail.com", staleView.orElseThrow().email());
+        EmployeeView cached = this.cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID).get(employee.getId(), EmployeeView.class);
+        Assertions.assertNotNull(cached);
+        Assertions.assertEquals("gabriel@gmail.com", cached.email());
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals("gabriel@gmail.com", response.getBody().email());
+        Assertions.assertEquals("W/\"" + (employee.getVersion() + 1) + "\"", response.getHeaders().getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void givenSlowCacheMiss_whenEmployeeDeletedBeforeReadFinishes_thenCacheDoesNotServeDeletedEmployee() throws Exception {
+        // given - precondición o configuración
+        Employee employee = this.employeeRepository.save(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        Mockito.doAnswer(invocation -> {
+            Object view = invocation.callRealMethod();
+            if (first.compareAndSet(true, false)) {
+                loaded.countDown();
+                Assertions.assertTrue(written.await(10, TimeUnit.SECONDS));
+            }
+            return view;
+        }).when(this.employeeLookupCoalescer).findViewById(ArgumentMatchers.any());
+
+        // when - acción o el comportamiento que vamos a probar
+        CompletableFuture<Optional<EmployeeView>> slowRead = CompletableFuture.supplyAsync(
+                () -> this.employeeService.getEmployeeById(employee.getId()));
+        Assertions.assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        this.employeeService.deleteEmployee(employee.getId());
+        written.countDown();
+        slowRead.get(10, TimeUnit.SECONDS);
+        Cache.ValueWrapper cached = this.cacheManager.getCache(CacheConfig.EMPLOYEES_BY_ID).get(employee.getId());
+        ResponseEntity<String> response = this.testRestTemplate.getForEntity("/api/v1/employees/{id}", String.class, employee.getId());
+
+        // then - verificar la salida
+        Assertions.assertNull(cached);
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
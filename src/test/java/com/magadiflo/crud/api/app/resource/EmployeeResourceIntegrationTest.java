@@ -1,22 +1,48 @@
 package com.magadiflo.crud.api.app.resource;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.magadiflo.crud.api.app.changes.EmployeeChangeCompactor;
+import com.magadiflo.crud.api.app.dto.EmployeeChange;
 import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.repository.EmployeeChangeJdbcRepository;
 import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.search.EmployeeSearchIndex;
+import com.magadiflo.crud.api.app.stats.EmployeeStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 /**
  * PRUEBAS DE INTEGRACIÓN
@@ -71,10 +97,29 @@ class EmployeeResourceIntegrationTest {
     private IEmployeeRepository employeeRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+    @Autowired
+    private EmployeeChangeJdbcRepository employeeChangeJdbcRepository;
+    @Autowired
+    private EmployeeChangeCompactor employeeChangeCompactor;
+    @Autowired
+    private EmployeeStatistics employeeStatistics;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeEach
     void setUp() {
         this.employeeRepository.deleteAll();
+        this.cacheManager.getCacheNames().forEach(name -> this.cacheManager.getCache(name).clear());
+        this.employeeSearchIndex.rebuild();
+        this.employeeStatistics.reconcile();
     }
 
     @Test
@@ -98,6 +143,169 @@ class EmployeeResourceIntegrationTest {
 
     }
 
+    @Test
+    void givenListOfEmployees_whenGetAllEmployeesAsSmile_thenReturnBinaryEmployeesList() throws Exception {
+        // given - precondición o configuración
+        this.employeeRepository.saveAll(Arrays.asList(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build()
+        ));
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")
+                .accept("application/x-jackson-smile"));
+
+        // then - verificar la salida
+        byte[] body = response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode employees = new ObjectMapper(new SmileFactory()).readTree(body);
+        Assertions.assertEquals(2, employees.size());
+        Assertions.assertEquals("martin@gmail.com", employees.get(0).get("email").asText());
+    }
+
+    @Test
+    void givenEmployeeAsCbor_whenCreateEmployee_thenReturnSavedEmployeeAsCbor() throws Exception {
+        // given - precondición o configuración
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+        Employee employee = Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .contentType("application/cbor")
+                .accept("application/cbor")
+                .content(cborMapper.writeValueAsBytes(employee)));
+
+        // then - verificar la salida
+        byte[] body = response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode savedEmployee = cborMapper.readTree(body);
+        Assertions.assertTrue(savedEmployee.get("id").isNumber());
+        Assertions.assertEquals("martin@gmail.com", savedEmployee.get("email").asText());
+    }
+
+    @Test
+    void givenLargeListOfEmployees_whenGetAllEmployeesAcceptingGzip_thenReturnCompressedJson() throws IOException {
+        // given - precondición o configuración
+        List<Employee> listOfEmployees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            listOfEmployees.add(Employee.builder().firstName("Nombre" + i).lastName("Apellido" + i).email("empleado" + i + "@gmail.com").build());
+        }
+        this.employeeRepository.saveAll(listOfEmployees);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // when - acción o el comportamiento que vamos a probar
+        ResponseEntity<byte[]> response = this.testRestTemplate.exchange("/api/v1/employees", HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+
+        // then - verificar la salida
+        Assertions.assertEquals(200, response.getStatusCode().value());
+        Assertions.assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            JsonNode employees = this.objectMapper.readTree(gzip);
+            Assertions.assertEquals(listOfEmployees.size(), employees.size());
+        }
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetEmployeesPageWithFields_thenReturnSparseViews() throws Exception {
+        // given - precondición o configuración
+        Employee martin = this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        this.employeeRepository.save(Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page")
+                .param("fields", "id,firstName"));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(martin.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].firstName", Matchers.is("Martín")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].version").doesNotExist());
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetEmployeesPage_thenWalkAllPagesWithCursor() throws Exception {
+        // given - precondición o configuración
+        List<Employee> listOfEmployees = Arrays.asList(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Alejandra").lastName("Casanova").email("alejandra@gmail.com").build(),
+                Employee.builder().firstName("Rosita").lastName("Pardo").email("rosita@gmail.com").build(),
+                Employee.builder().firstName("Eli").lastName("Tello").email("eli@gmail.com").build()
+        );
+        this.employeeRepository.saveAll(listOfEmployees);
+
+        // when - acción o el comportamiento que vamos a probar
+        String firstPage = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page").param("size", "3"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(3)))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = this.objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page")
+                .param("cursor", nextCursor)
+                .param("size", "3"));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].email", Matchers.is("eli@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void givenUnchangedEmployees_whenGetAllEmployeesWithETag_thenReturnNotModifiedUntilUpdate() throws Exception {
+        // given - precondición o configuración
+        Employee employee = this.employeeRepository.save(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions notModified = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+        employee.setFirstName("Mart");
+        this.employeeRepository.save(employee);
+        ResultActions modified = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // then - verificar la salida
+        notModified.andExpect(MockMvcResultMatchers.status().isNotModified());
+        modified.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].firstName", Matchers.is("Mart")));
+    }
+
+    @Test
+    void givenDeleteAndInsertBelowMaxId_whenGetAllEmployeesWithETag_thenReturnModified() throws Exception {
+        // given - precondición o configuración
+        Employee deleted = this.employeeRepository.save(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        this.employeeRepository.save(Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build());
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when - acción o el comportamiento que vamos a probar
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{id}", deleted.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        // Alta con un id por debajo del máximo, como la de otro nodo con un bloque de ids anterior:
+        // count, maxId y versionSum vuelven a ser los mismos.
+        this.jdbcTemplate.update("INSERT INTO employees (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, 0)",
+                deleted.getId(), "Alejandra", "Casanova", "alejandra@gmail.com");
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email", Matchers.is("alejandra@gmail.com")));
+    }
+
     // Escenario positivo
     @Test
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
@@ -141,6 +349,36 @@ class EmployeeResourceIntegrationTest {
         response.andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
+    @Test
+    void givenCachedEmployee_whenUpdateEmployee_thenGetEmployeeByIdReturnsNewData() throws Exception {
+        // given - precondición o configuración
+        Employee employee = Employee.builder()
+                .firstName("Martín")
+                .lastName("Díaz")
+                .email("magadiflo@gmail.com")
+                .build();
+        this.employeeRepository.save(employee);
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        Employee employeeWithNewData = Employee.builder()
+                .firstName("Gaspi")
+                .lastName("Florecilla")
+                .email("gaspi_florecilla@gmail.com")
+                .build();
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(employeeWithNewData)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employee.getId()));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is(employeeWithNewData.getEmail())));
+        Assertions.assertNull(this.cacheManager.getCache("employeesByEmail").get(employee.getEmail()));
+    }
+
     @Test
     void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
         // given - precondición o configuración
@@ -162,6 +400,31 @@ class EmployeeResourceIntegrationTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is(employee.getEmail())));
     }
 
+    @Test
+    void givenExistingEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+        // given - precondición o configuración
+        Employee employee = Employee.builder()
+                .firstName("Martín")
+                .lastName("Díaz")
+                .email("magadiflo@gmail.com")
+                .build();
+        this.employeeRepository.save(employee);
+        Employee duplicated = Employee.builder()
+                .firstName("Gaspi")
+                .lastName("Florecilla")
+                .email(employee.getEmail())
+                .build();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(duplicated)));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isConflict());
+        Assertions.assertEquals(1, this.employeeRepository.count());
+    }
+
     @Test
     void givenEmployeeWithNewData_whenUpdateEmployee_thenReturnEmployeeWithNewDadaObject() throws Exception {
         // given - precondición o configuración
@@ -191,6 +454,36 @@ class EmployeeResourceIntegrationTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is(employeeWithNewData.getEmail())));
     }
 
+    @Test
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+        // given - precondición o configuración
+        Employee employeeBD = this.employeeRepository.save(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("magadiflo@gmail.com").build());
+        Employee employeeWithNewData = Employee.builder()
+                .firstName("Gaspi")
+                .lastName("Florecilla")
+                .email("gaspi_florecilla@gmail.com")
+                .build();
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employeeBD.getId()))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"" + employeeBD.getVersion() + "\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employeeBD.getId())
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(employeeWithNewData)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"" + (employeeBD.getVersion() + 1) + "\""));
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employeeBD.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + employeeBD.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(employeeWithNewData)));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
     @Test
     void deleteEmployee() throws Exception {
         // given - precondición o configuración
@@ -208,4 +501,389 @@ class EmployeeResourceIntegrationTest {
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$").value("Employee deleted successfully!"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenEmployeesWithDuplicatedEmails_whenCreateEmployeesBatch_thenReturnResultPerItem() throws Exception {
+        // given - precondición o configuración
+        this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        List<Employee> batch = Arrays.asList(
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabo").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Eli").lastName("Tello").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(batch)));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].status", Matchers.contains(201, 409, 409, 400)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", Matchers.notNullValue()));
+        Assertions.assertEquals(2, this.employeeRepository.count());
+    }
+
+    @Test
+    void givenSavedEmployees_whenUpdateAndDeleteEmployeesBatch_thenReturnResultPerItem() throws Exception {
+        // given - precondición o configuración
+        Employee martin = this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        Employee gabriel = this.employeeRepository.save(Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build());
+        List<Employee> batch = Arrays.asList(
+                Employee.builder().id(martin.getId()).firstName("Mart").lastName("Díaz").email("mart@gmail.com").build(),
+                Employee.builder().id(gabriel.getId()).firstName("Gabriel").lastName("Flores").email("mart@gmail.com").build(),
+                Employee.builder().id(gabriel.getId() + 100).firstName("Eli").lastName("Tello").email("eli@gmail.com").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions updateResponse = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(batch)));
+        ResultActions deleteResponse = this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(Arrays.asList(gabriel.getId(), gabriel.getId() + 100))));
+
+        // then - verificar la salida
+        updateResponse.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].status", Matchers.contains(200, 409, 404)));
+        deleteResponse.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].status", Matchers.contains(200, 404)));
+        Assertions.assertEquals("mart@gmail.com", this.employeeRepository.findById(martin.getId()).orElseThrow().getEmail());
+        Assertions.assertFalse(this.employeeRepository.existsById(gabriel.getId()));
+    }
+
+    @Test
+    void givenReconciledStatistics_whenUpdateAndDeleteEmployeesBatch_thenStatisticsDiscountPreviousState() throws Exception {
+        // given - precondición o configuración
+        Employee martin = this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        Employee gabriel = this.employeeRepository.save(Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build());
+        this.employeeStatistics.reconcile();
+        List<Employee> batch = List.of(
+                Employee.builder().id(martin.getId()).firstName("Martín").lastName("Zapata").email("martin@correo.es").build());
+
+        // when - acción o el comportamiento que vamos a probar
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(batch)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(List.of(gabriel.getId()))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/stats"));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byEmailDomain.['correo.es']", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byEmailDomain.['gmail.com']").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byLastNameInitial.Z", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byLastNameInitial.D").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byLastNameInitial.F").doesNotExist());
+    }
+
+    @Test
+    void givenCsvWithDuplicatedEmails_whenImportEmployees_thenReturnSummaryAndProgress() throws Exception {
+        // given - precondición o configuración
+        this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        String csv = """
+                firstName,lastName,email
+                Gabriel,Flores,gabriel@gmail.com
+                Martín,Díaz,martin@gmail.com
+                Gabo,Flores,gabriel@gmail.com
+
+                Eli,Tello,eli@gmail.com
+                """;
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees/import")
+                .header("Import-Id", "importacion-csv")
+                .contentType("text/csv")
+                .content(csv));
+        ResultActions progress = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/import/{importId}", "importacion-csv"));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", Matchers.is("COMPLETED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.records", Matchers.is(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejected", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[*].index", Matchers.contains(1, 2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[*].status", Matchers.contains(409, 409)));
+        progress.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", Matchers.is("COMPLETED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bytesRead", Matchers.is(csv.getBytes(StandardCharsets.UTF_8).length)));
+        Assertions.assertEquals(3, this.employeeRepository.count());
+    }
+
+    @Test
+    void givenMalformedNdjson_whenImportEmployees_thenKeepPreviousRecordsAndReturnBadRequest() throws Exception {
+        // given - precondición o configuración
+        String ndjson = """
+                {"firstName":"Gabriel","lastName":"Flores","email":"gabriel@gmail.com"}
+                {"firstName":"Martín","lastName":"Díaz","email":"martin@gmail.com"}
+                {"firstName":"Eli","lastName":
+                """;
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.header().exists("Import-Id"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", Matchers.is("FAILED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error", Matchers.startsWith("Malformed record 3")));
+        Assertions.assertEquals(2, this.employeeRepository.count());
+    }
+
+    @Test
+    void givenSavedEmployees_whenExportEmployeesAsCsv_thenStreamFileThatCanBeImportedAgain() throws Exception {
+        // given - precondición o configuración
+        Employee martin = this.employeeRepository.save(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        Employee gabriel = this.employeeRepository.save(Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build());
+
+        // when - acción o el comportamiento que vamos a probar
+        MvcResult export = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/export").param("format", "csv"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(export));
+        String csv = export.getResponse().getContentAsString();
+        this.employeeRepository.deleteAll();
+        ResultActions reimport = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees/import")
+                .contentType("text/csv")
+                .content(csv));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, Matchers.containsString("employees.csv")));
+        Assertions.assertEquals(String.join("\n",
+                "id,firstName,lastName,email,version",
+                String.format("%d,Martín,Díaz,martin@gmail.com,0", martin.getId()),
+                String.format("%d,Gabriel,Flores,gabriel@gmail.com,0", gabriel.getId()),
+                ""), csv);
+        reimport.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created", Matchers.is(2)));
+        Assertions.assertEquals(2, this.employeeRepository.count());
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeById_thenRecordServiceAndJdbcMetrics() throws Exception {
+        // given - precondición o configuración
+        Employee employee = this.employeeRepository.save(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+
+        // when - acción o el comportamiento que vamos a probar
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // then - verificar la salida
+        Timer serviceTimer = this.meterRegistry.find("employees.service").tag("method", "getEmployeeById").timer();
+        DistributionSummary statements = this.meterRegistry.find("employees.jdbc.request.statements")
+                .tags("method", "GET", "uri", "/api/v1/employees/{id}")
+                .summary();
+        Assertions.assertNotNull(serviceTimer);
+        Assertions.assertTrue(serviceTimer.count() >= 1);
+        Assertions.assertNotNull(statements);
+        Assertions.assertTrue(statements.max() >= 1);
+        Assertions.assertNotNull(this.meterRegistry.find("hikaricp.connections.acquire").timer());
+        Assertions.assertNotNull(this.meterRegistry.find("hibernate.statements").tag("status", "prepared").functionCounter());
+    }
+
+    @Test
+    void givenEmployeesCreatedThroughApi_whenSearchEmployees_thenIndexFollowsWrites() throws Exception {
+        // given - precondición o configuración
+        for (Employee employee : List.of(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Martina").lastName("Flores").email("martina@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Casanova").email("gabriel@gmail.com").build())) {
+            this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(this.objectMapper.writeValueAsString(employee)))
+                    .andExpect(MockMvcResultMatchers.status().isCreated());
+        }
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions prefix = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search")
+                .param("q", "mart")
+                .param("size", "1"));
+        ResultActions fuzzy = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search")
+                .param("q", "casanobva")
+                .param("mode", "fuzzy"));
+
+        // then - verificar la salida
+        prefix.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email", Matchers.is("martin@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").exists());
+        fuzzy.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].email", Matchers.is("gabriel@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.truncated").doesNotExist());
+    }
+
+    @Test
+    void givenWritesThroughApi_whenGetStatistics_thenAggregatesFollowWritesWithoutQueries() throws Exception {
+        // given - precondición o configuración
+        List<Long> ids = new ArrayList<>();
+        for (Employee employee : List.of(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@correo.es").build(),
+                Employee.builder().firstName("Alejandra").lastName("Duarte").email("alejandra@gmail.com").build())) {
+            MvcResult created = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(this.objectMapper.writeValueAsString(employee)))
+                    .andExpect(MockMvcResultMatchers.status().isCreated())
+                    .andReturn();
+            ids.add(this.objectMapper.readTree(created.getResponse().getContentAsByteArray()).get("id").asLong());
+        }
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{id}", ids.get(1)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/stats"));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.total", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byEmailDomain.['gmail.com']", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byEmailDomain.['correo.es']").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.byLastNameInitial.D", Matchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.createdInRateWindow", Matchers.greaterThanOrEqualTo(3)));
+        DistributionSummary statements = this.meterRegistry.find("employees.jdbc.request.statements")
+                .tags("method", "GET", "uri", "/api/v1/employees/stats")
+                .summary();
+        Assertions.assertNotNull(statements);
+        Assertions.assertEquals(0, statements.max());
+    }
+
+    @Test
+    void givenWritesThroughApi_whenGetChanges_thenReturnChangesInCommitOrder() throws Exception {
+        // given - precondición o configuración
+        long since = this.employeeChangeJdbcRepository.lastSeq();
+        Employee martin = Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build();
+        MvcResult created = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(martin)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        long id = this.objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        martin.setEmail("martin.diaz@gmail.com");
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(martin)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when - acción o el comportamiento que vamos a probar
+        MvcResult changes = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/changes")
+                        .param("since", String.valueOf(since))
+                        .param("wait", "0"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(changes));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.size()", Matchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[*].type", Matchers.contains("CREATED", "UPDATED", "DELETED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[*].seq", Matchers.contains(
+                        (int) since + 1, (int) since + 2, (int) since + 3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].employee.email", Matchers.is("martin.diaz@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[2].employee").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastSeq", Matchers.is((int) since + 3)));
+    }
+
+    @Test
+    void givenWaitingConsumer_whenEmployeeIsCreated_thenLongPollReturnsTheChange() throws Exception {
+        // given - precondición o configuración
+        long since = this.employeeChangeJdbcRepository.lastSeq();
+        MvcResult poll = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/changes")
+                        .param("since", String.valueOf(since))
+                        .param("wait", "10"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // when - acción o el comportamiento que vamos a probar
+        Employee gabriel = Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build();
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(gabriel)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(poll));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.size()", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type", Matchers.is("CREATED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].employee.email", Matchers.is("gabriel@gmail.com")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.lastSeq", Matchers.is((int) since + 1)));
+    }
+
+    @Test
+    void givenOldChanges_whenCompact_thenKeepOnlyLatestChangePerEmployee() throws Exception {
+        // given - precondición o configuración
+        long since = this.employeeChangeJdbcRepository.lastSeq();
+        MvcResult created = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(
+                                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build())))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        long id = this.objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(
+                                Employee.builder().firstName("Martín").lastName("Díaz").email("martin.diaz@gmail.com").build())))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        MvcResult removed = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(
+                                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build())))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        long removedId = this.objectMapper.readTree(removed.getResponse().getContentAsString()).get("id").asLong();
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{id}", removedId))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // when - acción o el comportamiento que vamos a probar
+        this.employeeChangeCompactor.compact(Instant.now().plusSeconds(1));
+
+        // then - verificar la salida
+        List<EmployeeChange> changes = this.employeeChangeJdbcRepository.findAfterSeq(since, 10);
+        Assertions.assertEquals(1, changes.size());
+        Assertions.assertEquals(since + 2, changes.get(0).seq());
+        Assertions.assertEquals(id, changes.get(0).id());
+        Assertions.assertEquals("martin.diaz@gmail.com", changes.get(0).employee().email());
+    }
+
+    @Test
+    void givenIdempotencyKey_whenRetryCreateEmployee_thenReplayOriginalResponse() throws Exception {
+        // given - precondición o configuración
+        String martin = this.objectMapper.writeValueAsString(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        MvcResult first = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .header("Idempotency-Key", "alta-martin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(martin))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions retry = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .header("Idempotency-Key", "alta-martin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(martin));
+
+        // then - verificar la salida
+        retry.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string("Idempotent-Replayed", "true"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(MockMvcResultMatchers.content().json(first.getResponse().getContentAsString(StandardCharsets.UTF_8), true));
+        Assertions.assertEquals(1, this.employeeRepository.count());
+    }
+}
@@ -1,7 +1,20 @@
 package com.magadiflo.crud.api.app.resource;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.command.EmployeeCommand;
+import com.magadiflo.crud.api.app.command.EmployeeWriteQueue;
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeCommandStatus;
+import com.magadiflo.crud.api.app.dto.EmployeeCursor;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
 import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.exceptions.EmployeeEmailAlreadyExistsException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSearchUnavailableException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeVersionMismatchException;
+import com.magadiflo.crud.api.app.exceptions.EmployeeWriteQueueFullException;
+import com.magadiflo.crud.api.app.search.EmployeeSearchField;
+import com.magadiflo.crud.api.app.search.EmployeeSearchMode;
 import com.magadiflo.crud.api.app.service.IEmployeeService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -12,8 +25,10 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -22,6 +37,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * PRUEBAS UNITARIAS - CRUD API REST
@@ -75,6 +91,9 @@ class EmployeeResourceUnitTest {
     @MockBean
     private IEmployeeService employeeService;
 
+    @MockBean
+    private EmployeeWriteQueue employeeWriteQueue;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -89,7 +108,8 @@ class EmployeeResourceUnitTest {
                 Employee.builder().firstName("Rosita").lastName("Pardo").email("rosita@gmail.com").build(),
                 Employee.builder().firstName("Eli").lastName("Tello").email("eli@gmail.com").build()
         );
-        Mockito.when(this.employeeService.getAllEmployees()).thenReturn(listOfEmployees);
+        Mockito.when(this.employeeService.getAllEmployees()).thenReturn(listOfEmployees.stream().map(EmployeeView::of).toList());
+        Mockito.when(this.employeeService.getEmployeesVersion()).thenReturn(new EmployeeCollectionVersion(5L, 5L, 0L, 5L));
 
         // When - acción o el comportamiento que vamos a probar
         ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees"));
@@ -101,6 +121,135 @@ class EmployeeResourceUnitTest {
         Mockito.verify(this.employeeService, Mockito.times(1)).getAllEmployees();
     }
 
+    @Test
+    @DisplayName(value = "obtener todos los empleados sin cambios - 304")
+    void givenMatchingETag_whenGetAllEmployees_thenReturnNotModifiedWithoutLoadingEmployees() throws Exception {
+        // Given
+        Mockito.when(this.employeeService.getEmployeesVersion()).thenReturn(new EmployeeCollectionVersion(5L, 12L, 3L, 9L));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"5-12-3-9\""));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"5-12-3-9\""));
+        Mockito.verify(this.employeeService, Mockito.never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName(value = "obtener empleados paginados por cursor")
+    void givenCursor_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+        // Given
+        List<Employee> content = Arrays.asList(
+                Employee.builder().id(11L).firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().id(12L).firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build()
+        );
+        String nextCursor = EmployeeCursor.encode(12L);
+        Mockito.when(this.employeeService.getEmployeesPage(10L, 2)).thenReturn(new EmployeePage(content.stream().map(EmployeeView::of).toList(), nextCursor));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page")
+                .param("cursor", EmployeeCursor.encode(10L))
+                .param("size", "2"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.size()", Matchers.is(content.size())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is(nextCursor)));
+        Mockito.verify(this.employeeService, Mockito.times(1)).getEmployeesPage(10L, 2);
+    }
+
+    @Test
+    @DisplayName(value = "obtener empleados paginados - cursor inválido")
+    void givenInvalidCursor_whenGetEmployeesPage_thenReturnBadRequest() throws Exception {
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/page")
+                .param("cursor", "no-es-un-cursor"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        Mockito.verifyNoInteractions(this.employeeService);
+    }
+
+    @Test
+    @DisplayName(value = "buscar empleados por prefijo en un campo")
+    void givenQuery_whenSearchEmployees_thenReturnMatchingPage() throws Exception {
+        // Given
+        List<Employee> content = List.of(Employee.builder().id(11L).firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        Mockito.when(this.employeeService.searchEmployees("mar", EmployeeSearchMode.PREFIX, EmployeeSearchField.FIRST_NAME, null, 20))
+                .thenReturn(new EmployeePage(content.stream().map(EmployeeView::of).toList(), null));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search")
+                .param("q", "mar")
+                .param("field", "firstName")
+                .param("size", "20"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id", Matchers.is(11)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName(value = "buscar empleados - modo o campo inválido")
+    void givenInvalidModeOrField_whenSearchEmployees_thenReturnBadRequest() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search").param("q", "mar").param("mode", "regex"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search").param("q", "mar").param("field", "salary"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        Mockito.verifyNoInteractions(this.employeeService);
+    }
+
+    @Test
+    @DisplayName(value = "buscar empleados mientras carga el índice - 503")
+    void givenIndexLoading_whenSearchEmployees_thenReturnServiceUnavailable() throws Exception {
+        // Given
+        Mockito.when(this.employeeService.searchEmployees("mar", EmployeeSearchMode.FUZZY, null, null, null))
+                .thenThrow(new EmployeeSearchUnavailableException());
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search")
+                .param("q", "mar")
+                .param("mode", "fuzzy"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    @Test
+    @DisplayName(value = "obtener todos los empleados en streaming (NDJSON)")
+    void givenListOfEmployees_whenStreamAllEmployees_thenReturnOneJsonPerLine() throws Exception {
+        // Given
+        List<Employee> listOfEmployees = Arrays.asList(
+                Employee.builder().id(1L).firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().id(2L).firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build()
+        );
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeView> consumer = invocation.getArgument(0);
+            listOfEmployees.stream().map(EmployeeView::of).forEach(consumer);
+            return null;
+        }).when(this.employeeService).streamAllEmployees(Mockito.any());
+
+        // When
+        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult));
+
+        // Then
+        String[] lines = response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(listOfEmployees.size(), lines.length);
+        Assertions.assertEquals(listOfEmployees.get(1).getEmail(),
+                this.objectMapper.readValue(lines[1], Employee.class).getEmail());
+        Mockito.verify(this.employeeService, Mockito.never()).getAllEmployees();
+    }
+
     @Test
     @DisplayName(value = "obtener empleado por id - escenario positivo")
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
@@ -111,7 +260,7 @@ class EmployeeResourceUnitTest {
                 .lastName("Díaz")
                 .email("martin@gmail.com")
                 .build();
-        Mockito.when(this.employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(employee));
+        Mockito.when(this.employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(EmployeeView.of(employee)));
 
         // When
         ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employeeId));
@@ -124,6 +273,60 @@ class EmployeeResourceUnitTest {
         Mockito.verify(this.employeeService, Mockito.times(1)).getEmployeeById(employeeId);
     }
 
+    @Test
+    @DisplayName(value = "obtener empleado por id con fieldset parcial")
+    void givenFields_whenGetEmployeeById_thenReturnOnlyRequestedFields() throws Exception {
+        // Given
+        Long employeeId = 1L;
+        EmployeeView employee = new EmployeeView(employeeId, "Martín", "Díaz", "martin@gmail.com", 2L);
+        Mockito.when(this.employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(employee));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employeeId)
+                .param("fields", "id,email"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"2\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is(employee.email())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @DisplayName(value = "obtener empleados - campo desconocido en fieldset")
+    void givenUnknownField_whenGetEmployees_thenReturnBadRequest() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", 1L).param("fields", "id,salary"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees").param("fields", "salary"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        Mockito.verifyNoInteractions(this.employeeService);
+    }
+
+    @Test
+    @DisplayName(value = "obtener empleado por id sin cambios - 304")
+    void givenMatchingETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+        // Given
+        Long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("Martín")
+                .lastName("Díaz")
+                .email("martin@gmail.com")
+                .version(4L)
+                .build();
+        Mockito.when(this.employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(EmployeeView.of(employee)));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"4\""));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     @DisplayName(value = "obtener empleado por id - escenario negativo")
     void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() throws Exception {
@@ -174,6 +377,86 @@ class EmployeeResourceUnitTest {
                 .saveEmployee(Mockito.any(Employee.class));
     }
 
+    @Test
+    @DisplayName(value = "guardar empleado en modo write-behind con Prefer: respond-async - 202")
+    void givenWriteBehindAndRespondAsync_whenCreateEmployee_thenReturnAcceptedWithStatusHandle() throws Exception {
+        // Given
+        Employee employee = Employee.builder().firstName("Martín").lastName("Díaz").email("martin@email.com").build();
+        Mockito.when(this.employeeWriteQueue.isEnabled()).thenReturn(true);
+        Mockito.when(this.employeeWriteQueue.submit(Mockito.any(EmployeeCommand.class))).then(invocation -> invocation.getArgument(0));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(employee)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string("Preference-Applied", "respond-async"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, Matchers.startsWith("/api/v1/employees/commands/")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.type", Matchers.is("CREATE")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state", Matchers.is("PENDING")));
+        Mockito.verify(this.employeeWriteQueue, Mockito.never()).await(Mockito.any());
+        Mockito.verifyNoInteractions(this.employeeService);
+    }
+
+    @Test
+    @DisplayName(value = "guardar empleado en modo write-behind esperando el ack durable")
+    void givenWriteBehind_whenCreateEmployee_thenWaitForAckAndReturnCreatedEmployee() throws Exception {
+        // Given
+        Employee employee = Employee.builder().firstName("Martín").lastName("Díaz").email("martin@email.com").build();
+        Mockito.when(this.employeeWriteQueue.isEnabled()).thenReturn(true);
+        Mockito.when(this.employeeWriteQueue.submit(Mockito.any(EmployeeCommand.class))).then(invocation -> invocation.getArgument(0));
+        Mockito.when(this.employeeWriteQueue.await(Mockito.any(EmployeeCommand.class))).then(invocation -> {
+            EmployeeCommand command = invocation.getArgument(0);
+            return new EmployeeCommandStatus(command.ticket(), command.type(), EmployeeCommandStatus.State.APPLIED, 1L, 201, null);
+        });
+        Mockito.when(this.employeeService.getEmployeeById(1L))
+                .thenReturn(Optional.of(new EmployeeView(1L, "Martín", "Díaz", "martin@email.com", 0L)));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(employee)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"0\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is(employee.getEmail())));
+        Mockito.verify(this.employeeService, Mockito.never()).saveEmployee(Mockito.any(Employee.class));
+    }
+
+    @Test
+    @DisplayName(value = "eliminar empleado con la cola de escritura llena - 503")
+    void givenFullWriteQueue_whenDeleteEmployee_thenReturnServiceUnavailable() throws Exception {
+        // Given
+        Mockito.when(this.employeeWriteQueue.isEnabled()).thenReturn(true);
+        Mockito.when(this.employeeWriteQueue.submit(Mockito.any(EmployeeCommand.class))).thenThrow(new EmployeeWriteQueueFullException());
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{id}", 1L));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+        Mockito.verifyNoInteractions(this.employeeService);
+    }
+
+    @Test
+    @DisplayName(value = "consultar el estado de un comando desconocido - 404")
+    void givenUnknownTicket_whenGetCommandStatus_thenReturnNotFound() throws Exception {
+        // Given
+        Mockito.when(this.employeeWriteQueue.status("desconocido")).thenReturn(Optional.empty());
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/commands/{ticket}", "desconocido"));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
     @Test
     @DisplayName(value = "actualizar empleado")
     void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() throws Exception {
@@ -192,9 +475,14 @@ class EmployeeResourceUnitTest {
                 .email("martin@email.com")
                 .build();
 
-        Mockito.when(this.employeeService.getEmployeeById(employeeId)).thenReturn(Optional.of(employeeBD));
-        Mockito.when(this.employeeService.updateEmployee(Mockito.any(Employee.class)))
-                .then(invocation -> invocation.getArgument(0));
+        Mockito.when(this.employeeService.updateEmployee(Mockito.eq(employeeId), Mockito.any(Employee.class)))
+                .then(invocation -> {
+                    Employee changes = invocation.getArgument(1);
+                    employeeBD.setFirstName(changes.getFirstName());
+                    employeeBD.setLastName(changes.getLastName());
+                    employeeBD.setEmail(changes.getEmail());
+                    return Optional.of(employeeBD);
+                });
         // When
         ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -208,8 +496,110 @@ class EmployeeResourceUnitTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.lastName").value(updateEmployee.getLastName()))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email").value(updateEmployee.getEmail()));
 
-        Mockito.verify(this.employeeService, Mockito.times(1)).getEmployeeById(employeeId);
-        Mockito.verify(this.employeeService, Mockito.times(1)).updateEmployee(Mockito.any(Employee.class));
+        Mockito.verify(this.employeeService, Mockito.never()).getEmployeeById(employeeId);
+        Mockito.verify(this.employeeService, Mockito.times(1)).updateEmployee(Mockito.eq(employeeId), Mockito.any(Employee.class));
+    }
+
+    @Test
+    @DisplayName(value = "guardar empleado con email existente")
+    void givenExistingEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+        // Given
+        Employee employee = Employee.builder()
+                .firstName("Martín")
+                .lastName("Díaz")
+                .email("martin@email.com")
+                .build();
+        Mockito.when(this.employeeService.saveEmployee(Mockito.any(Employee.class)))
+                .thenThrow(new EmployeeEmailAlreadyExistsException(employee.getEmail(), null));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(employee)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName(value = "actualizar empleado con If-Match")
+    void givenIfMatchHeader_whenUpdateEmployee_thenPassExpectedVersionToService() throws Exception {
+        // Given
+        Long employeeId = 1L;
+        Employee updateEmployee = Employee.builder()
+                .firstName("Mart")
+                .lastName("Díaz")
+                .email("martin@email.com")
+                .build();
+        Mockito.when(this.employeeService.updateEmployee(Mockito.eq(employeeId), Mockito.any(Employee.class)))
+                .then(invocation -> {
+                    Employee changes = invocation.getArgument(1);
+                    return Optional.of(Employee.builder()
+                            .id(employeeId)
+                            .firstName(changes.getFirstName())
+                            .lastName(changes.getLastName())
+                            .email(changes.getEmail())
+                            .version(changes.getVersion() + 1)
+                            .build());
+                });
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(updateEmployee)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"3\""));
+        Mockito.verify(this.employeeService, Mockito.times(1))
+                .updateEmployee(Mockito.eq(employeeId), Mockito.argThat(employee -> employee.getVersion() == 2L));
+    }
+
+    @Test
+    @DisplayName(value = "actualizar empleado con versión obsoleta - 412")
+    void givenStaleIfMatchHeader_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+        // Given
+        Long employeeId = 1L;
+        Employee updateEmployee = Employee.builder()
+                .firstName("Mart")
+                .lastName("Díaz")
+                .email("martin@email.com")
+                .build();
+        Mockito.when(this.employeeService.updateEmployee(Mockito.eq(employeeId), Mockito.any(Employee.class)))
+                .thenThrow(new EmployeeVersionMismatchException(employeeId, 1L, 2L));
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(updateEmployee)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName(value = "actualizar empleado inexistente")
+    void givenInvalidEmployeeId_whenUpdateEmployee_thenReturnNotFound() throws Exception {
+        // Given
+        Long employeeId = 1L;
+        Employee updateEmployee = Employee.builder()
+                .firstName("Mart")
+                .lastName("Díaz")
+                .email("martin@email.com")
+                .build();
+        Mockito.when(this.employeeService.updateEmployee(Mockito.eq(employeeId), Mockito.any(Employee.class)))
+                .thenReturn(Optional.empty());
+
+        // When
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(updateEmployee)));
+
+        // Then
+        response.andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
     @Test
@@ -0,0 +1,75 @@
+package com.magadiflo.crud.api.app.resource;
+
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.repository.IEmployeeRepository;
+import com.magadiflo.crud.api.app.transfer.EmployeeExporter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * El timeout asíncrono del contenedor se reduce a un segundo para no esperar los 30 segundos reales de
+ * Tomcat: una exportación que tarda más que eso debe terminar igualmente, porque manda
+ * employees.stream.timeout.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EmployeeStreamingIntegrationTest {
+
+    private static final long CONTAINER_ASYNC_TIMEOUT_MILLIS = 1000;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+    @Autowired
+    private IEmployeeRepository employeeRepository;
+    @SpyBean
+    private EmployeeExporter employeeExporter;
+
+    @BeforeEach
+    void setUp() {
+        this.employeeRepository.deleteAll();
+    }
+
+    @Test
+    void givenExportSlowerThanContainerAsyncTimeout_whenExportEmployees_thenStreamCompletes() throws Exception {
+        // given - precondición o configuración
+        this.employeeRepository.saveAll(List.of(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build()));
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(CONTAINER_ASYNC_TIMEOUT_MILLIS * 3);
+            return invocation.callRealMethod();
+        }).when(this.employeeExporter).export(ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResponseEntity<String> response = this.testRestTemplate.getForEntity("/api/v1/employees/export?format=ndjson", String.class);
+
+        // then - verificar la salida
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertNotNull(response.getBody());
+        Assertions.assertEquals(2, response.getBody().lines().count());
+        Assertions.assertTrue(response.getBody().contains("gabriel@gmail.com"));
+    }
+
+    @TestConfiguration
+    static class ShortContainerAsyncTimeout {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.magadiflo.crud.api.app.search;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.exceptions.EmployeeSearchUnavailableException;
+import com.magadiflo.crud.api.app.repository.EmployeeJdbcRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+class EmployeeSearchIndexTest {
+
+    private static final Set<EmployeeSearchField> ALL_FIELDS = EnumSet.allOf(EmployeeSearchField.class);
+
+    private EmployeeJdbcRepository employeeJdbcRepository;
+    private EmployeeSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        this.employeeJdbcRepository = Mockito.mock(EmployeeJdbcRepository.class);
+        this.searchIndex = new EmployeeSearchIndex(this.employeeJdbcRepository, Mockito.mock(PlatformTransactionManager.class),
+                new EmployeeProperties());
+        this.givenEmployeesInTable(
+                new EmployeeView(1L, "Martín", "Díaz", "martin.diaz@gmail.com", 0L),
+                new EmployeeView(2L, "Gabriel", "Flores", "gabriel@gmail.com", 0L),
+                new EmployeeView(3L, "Martina", "Casanova", "martina@gmail.com", 0L)
+        );
+        this.searchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName(value = "búsqueda por prefijo sin distinguir tildes ni mayúsculas")
+    void givenPrefixWithoutAccent_whenPrefixSearch_thenMatchAccentedNames() {
+        // When
+        List<EmployeeView> employees = this.searchIndex.prefixSearch("MART", ALL_FIELDS, Long.MIN_VALUE, 10);
+
+        // Then
+        Assertions.assertEquals(List.of(1L, 3L), ids(employees));
+    }
+
+    @Test
+    @DisplayName(value = "búsqueda por prefijo con varios términos y limitada a un campo")
+    void givenSeveralTokens_whenPrefixSearch_thenAllTokensMustMatch() {
+        Assertions.assertEquals(List.of(1L), ids(this.searchIndex.prefixSearch("mar dia", ALL_FIELDS, Long.MIN_VALUE, 10)));
+        Assertions.assertEquals(List.of(), ids(this.searchIndex.prefixSearch("gmail", EnumSet.of(EmployeeSearchField.FIRST_NAME), Long.MIN_VALUE, 10)));
+        Assertions.assertEquals(List.of(1L), ids(this.searchIndex.prefixSearch("martin.d", EnumSet.of(EmployeeSearchField.EMAIL), Long.MIN_VALUE, 10)));
+    }
+
+    @Test
+    @DisplayName(value = "búsqueda por prefijo paginada por id")
+    void givenAfterId_whenPrefixSearch_thenContinueAfterThatId() {
+        // When
+        List<EmployeeView> firstPage = this.searchIndex.prefixSearch("gmail", ALL_FIELDS, Long.MIN_VALUE, 2);
+        List<EmployeeView> secondPage = this.searchIndex.prefixSearch("gmail", ALL_FIELDS, firstPage.get(1).id(), 2);
+
+        // Then
+        Assertions.assertEquals(List.of(1L, 2L), ids(firstPage));
+        Assertions.assertEquals(List.of(3L), ids(secondPage));
+    }
+
+    @Test
+    @DisplayName(value = "búsqueda aproximada tolera errores de escritura")
+    void givenMisspelledName_whenFuzzySearch_thenReturnBestMatchFirst() {
+        // When
+        EmployeeSearchIndex.FuzzyMatches matches = this.searchIndex.fuzzySearch("gabrel", ALL_FIELDS, 0, 10);
+
+        // Then
+        Assertions.assertFalse(matches.employees().isEmpty());
+        Assertions.assertEquals(2L, matches.employees().get(0).id());
+        Assertions.assertFalse(matches.truncated());
+    }
+
+    @Test
+    @DisplayName(value = "búsqueda aproximada con más candidatos que el límite - verifica los primeros ids y avisa")
+    void givenMoreCandidatesThanLimit_whenFuzzySearch_thenVerifyLowestIdsAndReportTruncated() {
+        // Given
+        EmployeeProperties properties = new EmployeeProperties();
+        properties.getSearch().setMaxFuzzyCandidates(1);
+        EmployeeSearchIndex limited = new EmployeeSearchIndex(this.employeeJdbcRepository, Mockito.mock(PlatformTransactionManager.class),
+                properties);
+        limited.rebuild();
+
+        // When
+        EmployeeSearchIndex.FuzzyMatches matches = limited.fuzzySearch("martin", ALL_FIELDS, 0, 10);
+
+        // Then
+        Assertions.assertEquals(List.of(1L), ids(matches.employees()));
+        Assertions.assertTrue(matches.truncated());
+        Assertions.assertEquals(List.of(1L, 3L), ids(this.searchIndex.fuzzySearch("martin", ALL_FIELDS, 0, 10).employees()));
+        Assertions.assertFalse(this.searchIndex.fuzzySearch("martin", ALL_FIELDS, 0, 10).truncated());
+    }
+
+    @Test
+    @DisplayName(value = "el índice sigue los cambios confirmados")
+    void givenChangeEvents_whenSearch_thenIndexReflectsThem() {
+        // When
+        this.searchIndex.onEmployeeChanged(EmployeeChangedEvent.updated(
+                new EmployeeView(2L, "Gabriel", "Flores", "gabriel@gmail.com", 0L),
+                Employee.builder().id(2L).firstName("Gabriela").lastName("Martell").email("gabriela@gmail.com").build()));
+        this.searchIndex.onEmployeeChanged(EmployeeChangedEvent.deleted(
+                new EmployeeView(3L, "Martina", "Casanova", "martina@gmail.com", 0L)));
+
+        // Then
+        Assertions.assertEquals(List.of(1L, 2L), ids(this.searchIndex.prefixSearch("mart", ALL_FIELDS, Long.MIN_VALUE, 10)));
+        Assertions.assertEquals(List.of(), ids(this.searchIndex.prefixSearch("flores", ALL_FIELDS, Long.MIN_VALUE, 10)));
+    }
+
+    @Test
+    @DisplayName(value = "búsqueda antes de la primera carga - no disponible")
+    void givenIndexNotLoaded_whenSearch_thenThrowException() {
+        EmployeeSearchIndex notLoaded = new EmployeeSearchIndex(this.employeeJdbcRepository, Mockito.mock(PlatformTransactionManager.class),
+                new EmployeeProperties());
+
+        Assertions.assertThrows(EmployeeSearchUnavailableException.class,
+                () -> notLoaded.prefixSearch("mart", ALL_FIELDS, Long.MIN_VALUE, 10));
+    }
+
+    private void givenEmployeesInTable(EmployeeView... employees) {
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeView> consumer = invocation.getArgument(1);
+            List.of(employees).forEach(consumer);
+            return null;
+        }).when(this.employeeJdbcRepository).streamAll(Mockito.anyInt(), Mockito.any());
+    }
+
+    private static List<Long> ids(List<EmployeeView> employees) {
+        return employees.stream().map(EmployeeView::id).toList();
+    }
+}
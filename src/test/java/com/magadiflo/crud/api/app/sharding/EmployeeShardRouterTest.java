@@ -0,0 +1,68 @@
+package com.magadiflo.crud.api.app.sharding;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeShardRouterTest {
+
+    @Test
+    @DisplayName(value = "por rango, cada shard asigna su bloque de ids y el id vuelve a su shard")
+    void givenRangeStrategy_whenEncodeId_thenShardOfReturnsSameShard() {
+        // Given
+        EmployeeShardRouter router = new EmployeeShardRouter(EmployeeShardStrategy.RANGE, 3, 100);
+
+        // When
+        long first = router.encode(0, 1);
+        long second = router.encode(1, 1);
+        long last = router.encode(2, 99);
+
+        // Then
+        Assertions.assertEquals(1, first);
+        Assertions.assertEquals(101, second);
+        Assertions.assertEquals(299, last);
+        Assertions.assertEquals(0, router.shardOf(first));
+        Assertions.assertEquals(1, router.shardOf(second));
+        Assertions.assertEquals(2, router.shardOf(last));
+        Assertions.assertEquals(-1, router.shardOf(300));
+        Assertions.assertEquals(-1, router.shardOf(-1));
+        Assertions.assertThrows(IllegalStateException.class, () -> router.encode(1, 100));
+    }
+
+    @Test
+    @DisplayName(value = "por hash, los ids de los shards se intercalan y el id vuelve a su shard")
+    void givenHashStrategy_whenEncodeId_thenShardOfReturnsSameShard() {
+        // Given
+        EmployeeShardRouter router = new EmployeeShardRouter(EmployeeShardStrategy.HASH, 3, 100);
+
+        // When
+        long[] ids = {router.encode(0, 1), router.encode(1, 1), router.encode(2, 1), router.encode(0, 2)};
+
+        // Then
+        Assertions.assertArrayEquals(new long[]{3, 4, 5, 6}, ids);
+        for (int i = 0; i < ids.length; i++) {
+            Assertions.assertEquals(i % 3, router.shardOf(ids[i]));
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> router.encode(2, Long.MAX_VALUE / 3));
+    }
+
+    @Test
+    @DisplayName(value = "el shard de un email es estable y está dentro del rango de shards")
+    void givenEmails_whenShardForEmail_thenReturnStableShardInRange() {
+        // Given
+        EmployeeShardRouter router = new EmployeeShardRouter(EmployeeShardStrategy.RANGE, 4, 100);
+        boolean[] used = new boolean[4];
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            String email = "employee" + i + "@gmail.com";
+            int shard = router.shardForEmail(email);
+
+            // Then
+            Assertions.assertTrue(shard >= 0 && shard < 4);
+            Assertions.assertEquals(shard, router.shardForEmail(email));
+            used[shard] = true;
+        }
+        Assertions.assertArrayEquals(new boolean[]{true, true, true, true}, used);
+    }
+}
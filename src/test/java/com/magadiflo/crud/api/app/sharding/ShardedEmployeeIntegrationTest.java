@@ -0,0 +1,178 @@
+package com.magadiflo.crud.api.app.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Perfil sharded sobre tres bases H2 vacías: el shard 0 (directorio) y dos más. Cada shard tiene su
+ * propia tabla employees creada por Flyway.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "employees.shards.datasources[0].url=jdbc:h2:mem:shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "employees.shards.datasources[0].username=sa",
+        "employees.shards.datasources[1].url=jdbc:h2:mem:shard2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "employees.shards.datasources[1].username=sa"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("sharded")
+class ShardedEmployeeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IEmployeeService employeeService;
+    @Autowired
+    private EmployeeShardRouter shardRouter;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void givenNewEmployees_whenSaveEmployee_thenEachRowLivesOnlyInTheShardEncodedInItsId() throws SQLException {
+        // given - precondición o configuración
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            employees.add(Employee.builder().firstName("Martín" + i).lastName("Díaz").email("placement" + i + "@gmail.com").build());
+        }
+
+        // when - acción o el comportamiento que vamos a probar
+        List<Long> ids = employees.stream().map(employee -> this.employeeService.saveEmployee(employee).getId()).toList();
+
+        // then - verificar la salida
+        Set<Integer> usedShards = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            long id = ids.get(i);
+            int shard = this.shardRouter.shardOf(id);
+            Assertions.assertEquals(this.shardRouter.shardForEmail(employees.get(i).getEmail()), shard);
+            for (int s = 0; s < this.shardRouter.shardCount(); s++) {
+                Assertions.assertEquals(s == shard ? 1 : 0, this.countById(s, id));
+            }
+            Assertions.assertEquals(id, this.employeeService.getEmployeeById(id).orElseThrow().id());
+            Assertions.assertEquals(id, this.employeeService.getEmployeeByEmail(employees.get(i).getEmail()).orElseThrow().id());
+            usedShards.add(shard);
+        }
+        Assertions.assertTrue(usedShards.size() > 1);
+    }
+
+    @Test
+    void givenEmployeesOnSeveralShards_whenGetEmployeesPage_thenMergeAllShardsOrderedById() {
+        // given - precondición o configuración
+        Set<Long> created = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(this.employeeService.saveEmployee(Employee.builder()
+                    .firstName("Gabriel" + i).lastName("Flores").email("page" + i + "@gmail.com").build()).getId());
+        }
+
+        // when - acción o el comportamiento que vamos a probar
+        List<Long> paged = new ArrayList<>();
+        Long afterId = null;
+        EmployeePage page;
+        do {
+            page = this.employeeService.getEmployeesPage(afterId, 3);
+            page.content().forEach(employee -> paged.add(employee.id()));
+            afterId = page.content().isEmpty() ? afterId : page.content().get(page.content().size() - 1).id();
+        } while (page.nextCursor() != null);
+
+        // then - verificar la salida
+        Assertions.assertTrue(paged.containsAll(created));
+        Assertions.assertEquals(paged.stream().sorted().distinct().toList(), paged);
+        Assertions.assertEquals(this.employeeService.getAllEmployees().stream().map(EmployeeView::id).toList(), paged);
+        Assertions.assertEquals(paged.size(), this.employeeService.getEmployeesVersion().count());
+    }
+
+    @Test
+    void givenEmailOwnedOnAnotherShard_whenUpdateAndCreateEmployee_thenRespondConflict() throws Exception {
+        // given - precondición o configuración
+        Employee first = this.employeeService.saveEmployee(Employee.builder().firstName("Martina").lastName("Casanova").email("conflict-a@gmail.com").build());
+        Employee second = this.employeeService.saveEmployee(Employee.builder().firstName("Alicia").lastName("Pérez").email("conflict-b@gmail.com").build());
+        Employee update = Employee.builder().firstName("Alicia").lastName("Pérez").email("conflict-a@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", second.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(update)));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isConflict());
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(update)))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", first.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is("conflict-a@gmail.com")));
+    }
+
+    @Test
+    void givenExistingEmployee_whenUpdateAndDeleteEmployee_thenRouteToItsShardAndReleaseEmails() throws Exception {
+        // given - precondición o configuración
+        Employee employee = this.employeeService.saveEmployee(Employee.builder().firstName("Gabriel").lastName("Flores").email("route-old@gmail.com").build());
+        int shard = this.shardRouter.shardOf(employee.getId());
+        Employee update = Employee.builder().firstName("Gabriel").lastName("Flores").email("route-new@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/employees/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(update)));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is("route-new@gmail.com")));
+        Employee reused = this.employeeService.saveEmployee(Employee.builder().firstName("Otro").lastName("Flores").email("route-old@gmail.com").build());
+        Assertions.assertNotEquals(employee.getId(), reused.getId());
+
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+        Assertions.assertEquals(0, this.countById(shard, employee.getId()));
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        this.employeeService.saveEmployee(Employee.builder().firstName("Nuevo").lastName("Flores").email("route-new@gmail.com").build());
+    }
+
+    @Test
+    void givenShardsEnabled_whenGetChanges_thenReturnServiceUnavailable() throws Exception {
+        // given - precondición o configuración
+        this.employeeService.saveEmployee(Employee.builder().firstName("Rosita").lastName("Pardo").email("changes@gmail.com").build());
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions poll = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/changes").param("since", "0"));
+        ResultActions stream = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+
+        // then - verificar la salida
+        poll.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.containsString("employees.shards")));
+        stream.andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+    }
+
+    private int countById(int shard, long id) throws SQLException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource.unwrap(ShardRoutingDataSource.class).shard(shard));
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE id = ?", Integer.class, id);
+        return count == null ? 0 : count;
+    }
+}
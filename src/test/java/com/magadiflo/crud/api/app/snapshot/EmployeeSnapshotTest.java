@@ -0,0 +1,112 @@
+package com.magadiflo.crud.api.app.snapshot;
+
+import com.magadiflo.crud.api.app.dto.EmployeeCollectionVersion;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class EmployeeSnapshotTest {
+
+    private static final List<EmployeeView> EMPLOYEES = List.of(
+            new EmployeeView(3L, "Martín", "Díaz", "martin.diaz@gmail.com", 2L),
+            new EmployeeView(7L, "Gabriel", "Flores", "gabriel@gmail.com", 0L),
+            new EmployeeView(12L, "Zoë", "Ñúñez", "zoë.ñúñez@correo.es", 1L),
+            new EmployeeView(40L, "Emoji", "Prueba", "😀@gmail.com", 5L)
+    );
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName(value = "escribe el snapshot y lo lee por id y por email, con caracteres no ASCII")
+    void givenWrittenSnapshot_whenFindByIdAndEmail_thenReturnSameEmployees() throws IOException {
+        // Given
+        Path path = this.directory.resolve("employees.snapshot");
+        int written = EmployeeSnapshotWriter.write(path, 1000L, 17L, consumer -> EMPLOYEES.forEach(consumer));
+
+        // When
+        EmployeeSnapshot snapshot = EmployeeSnapshot.open(path);
+
+        // Then
+        Assertions.assertEquals(4, written);
+        Assertions.assertEquals(4, snapshot.size());
+        Assertions.assertEquals(1000L, snapshot.createdAt());
+        Assertions.assertEquals(1000L, EmployeeSnapshot.readCreatedAt(path));
+        for (EmployeeView employee : EMPLOYEES) {
+            Assertions.assertEquals(Optional.of(employee), snapshot.findById(employee.id()));
+            Assertions.assertEquals(Optional.of(employee), snapshot.findByEmail(employee.email()));
+        }
+        Assertions.assertEquals(Optional.empty(), snapshot.findById(8L));
+        Assertions.assertEquals(Optional.empty(), snapshot.findByEmail("zoe.nunez@correo.es"));
+        Assertions.assertEquals(Optional.empty(), snapshot.findByEmail("gabriel@gmail.co"));
+        Assertions.assertEquals(new EmployeeCollectionVersion(4L, 40L, 8L, 17L), snapshot.version());
+    }
+
+    @Test
+    @DisplayName(value = "pagina por id y recorre todos los empleados en orden")
+    void givenWrittenSnapshot_whenFindAfterId_thenReturnNextPage() throws IOException {
+        // Given
+        Path path = this.directory.resolve("employees.snapshot");
+        EmployeeSnapshotWriter.write(path, 1000L, 0L, consumer -> EMPLOYEES.forEach(consumer));
+        EmployeeSnapshot snapshot = EmployeeSnapshot.open(path);
+
+        // When
+        List<EmployeeView> firstPage = snapshot.findAfterId(Long.MIN_VALUE, 2);
+        List<EmployeeView> secondPage = snapshot.findAfterId(7L, 2);
+        List<EmployeeView> all = new ArrayList<>();
+        snapshot.forEach(all::add);
+
+        // Then
+        Assertions.assertEquals(EMPLOYEES.subList(0, 2), firstPage);
+        Assertions.assertEquals(EMPLOYEES.subList(2, 4), secondPage);
+        Assertions.assertEquals(List.of(), snapshot.findAfterId(40L, 2));
+        Assertions.assertEquals(EMPLOYEES, all);
+    }
+
+    @Test
+    @DisplayName(value = "un snapshot vacío no encuentra nada")
+    void givenEmptySnapshot_whenFind_thenReturnEmpty() throws IOException {
+        // Given
+        Path path = this.directory.resolve("employees.snapshot");
+        EmployeeSnapshotWriter.write(path, 1000L, 0L, consumer -> {
+        });
+
+        // When
+        EmployeeSnapshot snapshot = EmployeeSnapshot.open(path);
+
+        // Then
+        Assertions.assertEquals(0, snapshot.size());
+        Assertions.assertEquals(Optional.empty(), snapshot.findById(1L));
+        Assertions.assertEquals(Optional.empty(), snapshot.findByEmail("martin.diaz@gmail.com"));
+        Assertions.assertEquals(new EmployeeCollectionVersion(0L, 0L, 0L, 0L), snapshot.version());
+    }
+
+    @Test
+    @DisplayName(value = "un empleado fuera de orden aborta la escritura y conserva el snapshot anterior")
+    void givenUnorderedEmployees_whenWrite_thenKeepPreviousSnapshot() throws IOException {
+        // Given
+        Path path = this.directory.resolve("employees.snapshot");
+        EmployeeSnapshotWriter.write(path, 1000L, 0L, consumer -> EMPLOYEES.forEach(consumer));
+
+        // When
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EmployeeSnapshotWriter.write(path, 2000L, 0L, consumer -> {
+            consumer.accept(EMPLOYEES.get(1));
+            consumer.accept(EMPLOYEES.get(0));
+        }));
+
+        // Then
+        Assertions.assertEquals(1000L, EmployeeSnapshot.readCreatedAt(path));
+        try (var files = Files.list(this.directory)) {
+            Assertions.assertEquals(List.of(path), files.toList());
+        }
+    }
+}
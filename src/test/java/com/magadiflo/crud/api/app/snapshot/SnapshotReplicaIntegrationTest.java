@@ -0,0 +1,89 @@
+package com.magadiflo.crud.api.app.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Perfil snapshot-replica: las lecturas salen del snapshot escrito antes de arrancar el contexto y la
+ * aplicación nunca abre el pool de conexiones.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("snapshot-replica")
+class SnapshotReplicaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void snapshotProperties(DynamicPropertyRegistry registry) throws IOException {
+        Path path = Files.createTempDirectory("employees-snapshot").resolve("employees.snapshot");
+        List<EmployeeView> employees = List.of(
+                new EmployeeView(1L, "Martín", "Díaz", "martin.diaz@gmail.com", 0L),
+                new EmployeeView(2L, "Gabriel", "Flores", "gabriel@gmail.com", 3L));
+        EmployeeSnapshotWriter.write(path, System.currentTimeMillis(), 0L, consumer -> employees.forEach(consumer));
+        registry.add("employees.snapshot.path", path::toString);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:snapshot-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    @Test
+    void givenSnapshot_whenGetEmployeeByIdAndSearch_thenServeFromSnapshotWithoutDatabase() throws Exception {
+        // given - precondición o configuración
+        long id = 2L;
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", id));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "W/\"3\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email", Matchers.is("gabriel@gmail.com")));
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/search").param("q", "mart"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].id", Matchers.contains(1)));
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employees/{id}", 3L))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        Assertions.assertNull(this.dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean());
+    }
+
+    @Test
+    void givenSnapshot_whenCreateEmployee_thenRespondMethodNotAllowed() throws Exception {
+        // given - precondición o configuración
+        Employee employee = Employee.builder().firstName("Martina").lastName("Casanova").email("martina@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(employee)));
+
+        // then - verificar la salida
+        response.andExpect(MockMvcResultMatchers.status().isMethodNotAllowed())
+                .andExpect(MockMvcResultMatchers.header().string("Allow", "GET, HEAD"));
+    }
+}
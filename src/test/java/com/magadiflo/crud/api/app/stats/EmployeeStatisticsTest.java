@@ -0,0 +1,124 @@
+package com.magadiflo.crud.api.app.stats;
+
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.dto.EmployeeStatisticsView;
+import com.magadiflo.crud.api.app.dto.EmployeeView;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.events.EmployeeChangedEvent;
+import com.magadiflo.crud.api.app.exceptions.EmployeeStatisticsUnavailableException;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+class EmployeeStatisticsTest {
+
+    private IEmployeeService employeeService;
+    private EmployeeStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        this.employeeService = Mockito.mock(IEmployeeService.class);
+        this.statistics = new EmployeeStatistics(this.employeeService, new EmployeeProperties());
+        this.givenEmployeesInTable(
+                new EmployeeView(1L, "Martín", "Díaz", "martin.diaz@gmail.com", 0L),
+                new EmployeeView(2L, "Gabriel", "Flores", "gabriel@GMAIL.com", 0L),
+                new EmployeeView(3L, "Martina", "casanova", "martina@correo.es", 0L)
+        );
+        this.statistics.reconcile();
+    }
+
+    @Test
+    @DisplayName(value = "agrupa por dominio del email y por inicial del apellido sin distinguir mayúsculas")
+    void givenReconciledStatistics_whenView_thenCountByDomainAndInitial() {
+        // When
+        EmployeeStatisticsView view = this.statistics.view();
+
+        // Then
+        Assertions.assertEquals(3, view.total());
+        Assertions.assertEquals(Map.of("gmail.com", 2L, "correo.es", 1L), view.byEmailDomain());
+        Assertions.assertEquals(Map.of("D", 1L, "F", 1L, "C", 1L), view.byLastNameInitial());
+        Assertions.assertEquals(0, view.createdInRateWindow());
+        Assertions.assertEquals(60, view.rateWindowSeconds());
+        Assertions.assertNotNull(view.reconciledAt());
+    }
+
+    @Test
+    @DisplayName(value = "las altas, modificaciones y borrados confirmados actualizan los contadores")
+    void givenChangeEvents_whenView_thenCountersFollowThem() {
+        // When
+        this.statistics.onEmployeeChanged(EmployeeChangedEvent.created(
+                Employee.builder().id(4L).firstName("Alicia").lastName("Pérez").email("alicia@correo.es").build()));
+        this.statistics.onEmployeeChanged(EmployeeChangedEvent.updated(
+                new EmployeeView(2L, "Gabriel", "Flores", "gabriel@GMAIL.com", 0L),
+                Employee.builder().id(2L).firstName("Gabriel").lastName("Campos").email("gabriel@correo.es").build()));
+        this.statistics.onEmployeeChanged(EmployeeChangedEvent.deleted(
+                new EmployeeView(1L, "Martín", "Díaz", "martin.diaz@gmail.com", 0L)));
+        EmployeeStatisticsView view = this.statistics.view();
+
+        // Then
+        Assertions.assertEquals(3, view.total());
+        Assertions.assertEquals(Map.of("correo.es", 3L), view.byEmailDomain());
+        Assertions.assertEquals(Map.of("C", 2L, "P", 1L), view.byLastNameInitial());
+        Assertions.assertEquals(1, view.createdInRateWindow());
+        Assertions.assertEquals(1.0, view.creationsPerMinute());
+    }
+
+    @Test
+    @DisplayName(value = "eventos del mismo id aplicados en otro orden que sus commits - mismo resultado")
+    void givenEventsOfSameIdOutOfOrder_whenView_thenCountersMatchCommitOrder() {
+        // Given
+        EmployeeView created = new EmployeeView(4L, "Alicia", "Pérez", "alicia@correo.es", 0L);
+        Employee renamed = Employee.builder().id(4L).firstName("Alicia").lastName("Zapata").email("alicia@gmail.com").version(1L).build();
+
+        // When
+        this.statistics.onEmployeeChanged(EmployeeChangedEvent.deleted(EmployeeView.of(renamed)));
+        this.statistics.onEmployeeChanged(EmployeeChangedEvent.updated(created, renamed));
+        this.statistics.onEmployeeChanged(EmployeeChangedEvent.created(
+                Employee.builder().id(4L).firstName("Alicia").lastName("Pérez").email("alicia@correo.es").version(0L).build()));
+        EmployeeStatisticsView view = this.statistics.view();
+
+        // Then
+        Assertions.assertEquals(3, view.total());
+        Assertions.assertEquals(Map.of("gmail.com", 2L, "correo.es", 1L), view.byEmailDomain());
+        Assertions.assertEquals(Map.of("D", 1L, "F", 1L, "C", 1L), view.byLastNameInitial());
+    }
+
+    @Test
+    @DisplayName(value = "la reconciliación corrige los cambios hechos fuera de la aplicación")
+    void givenWritesOutsideApplication_whenReconcile_thenCountersMatchTable() {
+        // Given
+        this.givenEmployeesInTable(new EmployeeView(7L, "Rosita", "Pardo", "rosita@gmail.com", 0L));
+
+        // When
+        this.statistics.reconcile();
+        EmployeeStatisticsView view = this.statistics.view();
+
+        // Then
+        Assertions.assertEquals(1, view.total());
+        Assertions.assertEquals(Map.of("gmail.com", 1L), view.byEmailDomain());
+        Assertions.assertEquals(Map.of("P", 1L), view.byLastNameInitial());
+    }
+
+    @Test
+    @DisplayName(value = "estadísticas antes de la primera reconciliación - no disponibles")
+    void givenStatisticsNotReconciled_whenView_thenThrowException() {
+        EmployeeStatistics notLoaded = new EmployeeStatistics(this.employeeService, new EmployeeProperties());
+
+        Assertions.assertThrows(EmployeeStatisticsUnavailableException.class, notLoaded::view);
+    }
+
+    private void givenEmployeesInTable(EmployeeView... employees) {
+        Mockito.doAnswer(invocation -> {
+            Consumer<EmployeeView> consumer = invocation.getArgument(0);
+            List.of(employees).forEach(consumer);
+            return null;
+        }).when(this.employeeService).streamAllEmployees(Mockito.any());
+    }
+}
@@ -0,0 +1,394 @@
+package com.magadiflo.crud.api.reactive.handler;
+
+import com.magadiflo.crud.api.app.dto.EmployeeBatchResult;
+import com.magadiflo.crud.api.app.dto.EmployeePage;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.reactive.ReactiveEmployeeApplication;
+import com.magadiflo.crud.api.reactive.service.IReactiveEmployeeService;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mismos escenarios que EmployeeResourceIntegrationTest pero contra la aplicación reactiva
+ * (WebFlux + R2DBC). En lugar de MockMvc se usa el WebTestClient, que hace peticiones reales
+ * al servidor (Netty) levantado en un puerto aleatorio.
+ */
+@ActiveProfiles("reactive")
+@SpringBootTest(classes = ReactiveEmployeeApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class EmployeeHandlerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private IReactiveEmployeeService employeeService;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        this.databaseClient.sql("DELETE FROM employees").then().block();
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() {
+        // given - precondición o configuración
+        List<Employee> listOfEmployees = this.saveAll(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Alejandra").lastName("Casanova").email("alejandra@gmail.com").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees").exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(listOfEmployees.size())
+                .jsonPath("$[0].email").isEqualTo("martin@gmail.com");
+    }
+
+    @Test
+    void givenListOfEmployees_whenStreamAllEmployees_thenReturnOneJsonObjectPerLine() {
+        // given - precondición o configuración
+        this.saveAll(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class)
+                .hasSize(2)
+                .value(employees -> employees.get(1).getEmail(), Matchers.is("gabriel@gmail.com"));
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetEmployeesPageFollowingCursor_thenReturnAllEmployeesInPages() {
+        // given - precondición o configuración
+        this.saveAll(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Alejandra").lastName("Casanova").email("alejandra@gmail.com").build(),
+                Employee.builder().firstName("Rosa").lastName("Pérez").email("rosa@gmail.com").build(),
+                Employee.builder().firstName("Eli").lastName("Torres").email("eli@gmail.com").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        EmployeePage firstPage = this.webTestClient.get().uri("/api/v1/employees/page?size=3").exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeePage.class).returnResult().getResponseBody();
+
+        // then - verificar la salida
+        Assertions.assertNotNull(firstPage);
+        Assertions.assertEquals(3, firstPage.content().size());
+        Assertions.assertNotNull(firstPage.nextCursor());
+        this.webTestClient.get().uri("/api/v1/employees/page?size=3&cursor={cursor}", firstPage.nextCursor()).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.size()").isEqualTo(2)
+                .jsonPath("$.content[1].email").isEqualTo("eli@gmail.com")
+                .jsonPath("$.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetEmployeesPage_thenReturn400() {
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees/page?cursor=!!!").exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenCollectionETag_whenGetAllEmployeesWithIfNoneMatch_thenReturn304UntilAnEmployeeChanges() {
+        // given - precondición o configuración
+        Employee employee = this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build()).get(0);
+        String eTag = this.webTestClient.get().uri("/api/v1/employees").exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class).getResponseHeaders().getETag();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag);
+        this.employeeService.updateEmployee(employee.getId(),
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin.diaz@gmail.com").build()).block();
+        this.webTestClient.get().uri("/api/v1/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
+        // given - precondición o configuración
+        Employee employee = this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build()).get(0);
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees/{id}", employee.getId()).exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(employee.getId())
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    @Test
+    void givenEmployeeETag_whenGetEmployeeByIdWithIfNoneMatch_thenReturn304() {
+        // given - precondición o configuración
+        Employee employee = this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build()).get(0);
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees/{id}", employee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"0\"")
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "W/\"0\"");
+    }
+
+    @Test
+    void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() {
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.get().uri("/api/v1/employees/{id}", 1000L).exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenNonNumericEmployeeId_whenGetUpdateOrDeleteEmployee_thenReturn400() {
+        // given - precondición o configuración
+        Employee employee = Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec get = this.webTestClient.get().uri("/api/v1/employees/{id}", "abc").exchange();
+        WebTestClient.ResponseSpec put = this.webTestClient.put().uri("/api/v1/employees/{id}", "abc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+        WebTestClient.ResponseSpec delete = this.webTestClient.delete().uri("/api/v1/employees/{id}", "abc").exchange();
+
+        // then - verificar la salida
+        get.expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Invalid employee id abc");
+        put.expectStatus().isBadRequest();
+        delete.expectStatus().isBadRequest();
+    }
+
+    @Test
+    void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+        // given - precondición o configuración
+        Employee employee = Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.post().uri("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    void givenDuplicatedEmail_whenCreateEmployee_thenReturnConflict() {
+        // given - precondición o configuración
+        this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        Employee duplicated = Employee.builder().firstName("Gabriel").lastName("Flores").email("martin@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.post().uri("/api/v1/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(duplicated)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409);
+    }
+
+    @Test
+    void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployeeObject() {
+        // given - precondición o configuración
+        Employee savedEmployee = this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build()).get(0);
+        Employee updatedEmployee = Employee.builder().firstName("Martín Gaspar").lastName("Díaz Flores").email("martin.diaz@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.put().uri("/api/v1/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail())
+                .jsonPath("$.version").isEqualTo(1);
+    }
+
+    @Test
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() {
+        // given - precondición o configuración
+        Employee savedEmployee = this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build()).get(0);
+        String staleETag = this.webTestClient.get().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class).getResponseHeaders().getETag();
+        this.employeeService.updateEmployee(savedEmployee.getId(),
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin.diaz@gmail.com").build()).block();
+        Employee updatedEmployee = Employee.builder().firstName("Martín Gaspar").lastName("Díaz Flores").email("martin.gaspar@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.put().uri("/api/v1/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, staleETag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(412);
+        this.webTestClient.get().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("martin.diaz@gmail.com");
+    }
+
+    @Test
+    void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() {
+        // given - precondición o configuración
+        Employee updatedEmployee = Employee.builder().firstName("Martín Gaspar").lastName("Díaz Flores").email("martin.diaz@gmail.com").build();
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.put().uri("/api/v1/employees/{id}", 1000L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+        // given - precondición o configuración
+        Employee savedEmployee = this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build()).get(0);
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.delete().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Employee deleted successfully!");
+        this.webTestClient.get().uri("/api/v1/employees/{id}", savedEmployee.getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void givenBatchWithDuplicatedEmails_whenCreateEmployees_thenReturnResultPerItem() {
+        // given - precondición o configuración
+        this.saveAll(Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build());
+        List<Employee> batch = List.of(
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Martina").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriela").lastName("Flores").email("gabriel@gmail.com").build(),
+                Employee.builder().firstName("Alejandra").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.post().uri("/api/v1/employees:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectBodyList(EmployeeBatchResult.class)
+                .value(results -> results.stream().map(EmployeeBatchResult::status).toList(), Matchers.contains(201, 409, 409, 400));
+        this.webTestClient.get().uri("/api/v1/employees").exchange()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(2);
+    }
+
+    @Test
+    void givenBatch_whenUpdateAndDeleteEmployees_thenReturnResultPerItem() {
+        // given - precondición o configuración
+        List<Employee> saved = this.saveAll(
+                Employee.builder().firstName("Martín").lastName("Díaz").email("martin@gmail.com").build(),
+                Employee.builder().firstName("Gabriel").lastName("Flores").email("gabriel@gmail.com").build()
+        );
+        List<Employee> updates = List.of(
+                Employee.builder().id(saved.get(0).getId()).firstName("Martín").lastName("Díaz").email("martin.diaz@gmail.com").build(),
+                Employee.builder().id(saved.get(1).getId()).firstName("Gabriel").lastName("Flores").email("martin.diaz@gmail.com").build(),
+                Employee.builder().id(1000L).firstName("Nadie").lastName("Nadie").email("nadie@gmail.com").build()
+        );
+
+        // when - acción o el comportamiento que vamos a probar
+        WebTestClient.ResponseSpec response = this.webTestClient.put().uri("/api/v1/employees:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updates)
+                .exchange();
+
+        // then - verificar la salida
+        response.expectStatus().isOk()
+                .expectBodyList(EmployeeBatchResult.class)
+                .value(results -> results.stream().map(EmployeeBatchResult::status).toList(), Matchers.contains(200, 409, 404));
+        this.webTestClient.get().uri("/api/v1/employees/{id}", saved.get(0).getId()).exchange()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("martin.diaz@gmail.com")
+                .jsonPath("$.version").isEqualTo(1);
+        this.webTestClient.method(HttpMethod.DELETE).uri("/api/v1/employees:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Arrays.asList(saved.get(0).getId(), 1000L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeBatchResult.class)
+                .value(results -> results.stream().map(EmployeeBatchResult::status).toList(), Matchers.contains(200, 404));
+        this.webTestClient.get().uri("/api/v1/employees/{id}", saved.get(0).getId()).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private List<Employee> saveAll(Employee... employees) {
+        return Flux.just(employees)
+                .concatMap(this.employeeService::saveEmployee)
+                .collectList()
+                .block();
+    }
+}
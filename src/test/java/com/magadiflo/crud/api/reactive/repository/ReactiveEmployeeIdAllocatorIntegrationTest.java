@@ -0,0 +1,78 @@
+package com.magadiflo.crud.api.reactive.repository;
+
+import com.magadiflo.crud.api.app.SpringBootUnitTestingCrudRestApiApplication;
+import com.magadiflo.crud.api.app.config.EmployeeProperties;
+import com.magadiflo.crud.api.app.entities.Employee;
+import com.magadiflo.crud.api.app.service.IEmployeeService;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * La aplicación servlet (Hibernate) y el asignador reactivo comparten la misma base H2: JDBC y R2DBC
+ * abren la misma base en memoria por su nombre. Con bloques de tres ids cada aplicación agota su bloque
+ * cada pocas altas, así las reservas de ambas se alternan sobre la fila de employee_ids.
+ */
+@SpringBootTest(classes = SpringBootUnitTestingCrudRestApiApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:shared-ids;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "employees.id.increment-size=3"
+})
+class ReactiveEmployeeIdAllocatorIntegrationTest {
+
+    private static final String R2DBC_URL = "r2dbc:h2:mem:///shared-ids;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private IEmployeeService employeeService;
+    @Autowired
+    private EmployeeProperties employeeProperties;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenHibernateAndReactiveInsertsOnOneSchema_whenInterleaved_thenIdsNeverRepeat() {
+        // given - precondición o configuración
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(R2DBC_URL).mutate()
+                .option(ConnectionFactoryOptions.USER, "sa")
+                .option(ConnectionFactoryOptions.PASSWORD, "")
+                .build());
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+        ReactiveEmployeeIdAllocator idAllocator = new ReactiveEmployeeIdAllocator(databaseClient,
+                new R2dbcTransactionManager(connectionFactory), this.employeeProperties);
+        ReactiveEmployeeRepository reactiveRepository = new ReactiveEmployeeRepository(databaseClient);
+
+        // when - acción o el comportamiento que vamos a probar
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(this.employeeService.saveEmployee(Employee.builder()
+                    .firstName("Martín").lastName("Díaz").email("servlet" + i + "@gmail.com").build()).getId());
+            Employee reactive = Employee.builder().firstName("Gabriel").lastName("Flores").email("reactive" + i + "@gmail.com").build();
+            ids.add(idAllocator.nextId()
+                    .flatMap(id -> {
+                        reactive.setId(id);
+                        return reactiveRepository.insert(reactive);
+                    })
+                    .map(Employee::getId)
+                    .block());
+        }
+
+        // then - verificar la salida
+        Assertions.assertEquals(ids.size(), new HashSet<>(ids).size());
+        Assertions.assertEquals(1L, ids.get(0));
+        Assertions.assertEquals(ids.size(), this.jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE email LIKE 'servlet%' OR email LIKE 'reactive%'", Integer.class));
+    }
+}